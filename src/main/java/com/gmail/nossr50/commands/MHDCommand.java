@@ -2,6 +2,7 @@ package com.gmail.nossr50.commands;
 
 import com.gmail.nossr50.config.Config;
 import com.gmail.nossr50.database.FlatfileDatabaseManager;
+import com.gmail.nossr50.database.IndexedFlatfileDatabaseManager;
 import com.gmail.nossr50.database.SQLDatabaseManager;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.mcMMO;
@@ -36,6 +37,15 @@ public class MHDCommand implements TabExecutor {
             sender.sendMessage("Mob health reset");
             return true;
         }
+        if (mcMMO.getDatabaseManager() instanceof IndexedFlatfileDatabaseManager) {
+            IndexedFlatfileDatabaseManager m = (IndexedFlatfileDatabaseManager) mcMMO.getDatabaseManager();
+            m.resetMobHealthSettings();
+            for (McMMOPlayer player : UserManager.getPlayers()) {
+                player.getProfile().setMobHealthbarType(Config.getInstance().getMobHealthbarDefault());
+            }
+            sender.sendMessage("Mob health reset");
+            return true;
+        }
         return false;
     }
 
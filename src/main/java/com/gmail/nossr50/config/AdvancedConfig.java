@@ -12,8 +12,11 @@ import java.util.List;
 public class AdvancedConfig extends AutoUpdateConfigLoader {
     private static AdvancedConfig instance;
 
+    private volatile CompiledValues compiled;
+
     private AdvancedConfig() {
         super("advanced.yml");
+        loadKeys();
         validate();
     }
 
@@ -31,6 +34,10 @@ public class AdvancedConfig extends AutoUpdateConfigLoader {
         List<String> reason = new ArrayList<>();
 
         /* GENERAL */
+        if (getDuplicateNotificationWindow() < 0) {
+            reason.add("Feedback.DuplicateNotificationWindow should be at least 0!");
+        }
+
         if (getAbilityLength() < 1) {
             reason.add("Skills.General.Ability.Length.<mode>.IncreaseLevel should be at least 1!");
         }
@@ -330,6 +337,10 @@ public class AdvancedConfig extends AutoUpdateConfigLoader {
             reason.add("Skills.Swords.Rupture.BaseTicks should be at least 1!");
         }
 
+        if (getRuptureMaxBleedsPerTick() < 1) {
+            reason.add("Skills.Swords.Rupture.MaxBleedsPerTick should be at least 1!");
+        }
+
         if (getMaximumProbability(SubSkillType.SWORDS_COUNTER_ATTACK) < 1) {
             reason.add("Skills.Swords.CounterAttack.ChanceMax should be at least 1!");
         }
@@ -471,8 +482,13 @@ public class AdvancedConfig extends AutoUpdateConfigLoader {
         return noErrorsInConfig(reason);
     }
 
+    /**
+     * Compiles the sub skill, notification and rupture values
+     */
     @Override
-    protected void loadKeys() {}
+    protected void loadKeys() {
+        compiled = new CompiledValues();
+    }
 
     /* GENERAL */
 
@@ -517,8 +533,7 @@ public class AdvancedConfig extends AutoUpdateConfigLoader {
      * @return the level at which this skills max benefits will be reached on the curve
      */
     public int getMaxBonusLevel(SubSkillType subSkillType) {
-        String keyPath = subSkillType.getAdvConfigAddress() + ".MaxBonusLevel.";
-        return mcMMO.isRetroModeEnabled() ? config.getInt(keyPath+"RetroMode", 1000) : config.getInt(keyPath+"Standard", 100);
+        return mcMMO.isRetroModeEnabled() ? compiled.retroMaxBonusLevels[subSkillType.ordinal()] : compiled.standardMaxBonusLevels[subSkillType.ordinal()];
     }
 
     public int getMaxBonusLevel(AbstractSubSkill abstractSubSkill) {
@@ -526,8 +541,7 @@ public class AdvancedConfig extends AutoUpdateConfigLoader {
     }
 
     public double getMaximumProbability(SubSkillType subSkillType) {
-
-        return config.getDouble(subSkillType.getAdvConfigAddress() + ".ChanceMax", 100.0D);
+        return compiled.maximumProbabilities[subSkillType.ordinal()];
     }
 
     public double getMaximumProbability(AbstractSubSkill abstractSubSkill)
@@ -544,12 +558,20 @@ public class AdvancedConfig extends AutoUpdateConfigLoader {
 
     public boolean doesNotificationUseActionBar(NotificationType notificationType)
     {
-        return config.getBoolean("Feedback.ActionBarNotifications."+notificationType.toString()+".Enabled", true);
+        return compiled.notificationUsesActionBar[notificationType.ordinal()];
     }
 
     public boolean doesNotificationSendCopyToChat(NotificationType notificationType)
     {
-        return config.getBoolean("Feedback.ActionBarNotifications."+notificationType.toString()+".SendCopyOfMessageToChat", false);
+        return compiled.notificationSendsCopyToChat[notificationType.ordinal()];
+    }
+
+    /**
+     * @return the number of ticks during which the same notification isn't sent again to a player, 0 to always send it
+     */
+    public int getDuplicateNotificationWindow()
+    {
+        return compiled.duplicateNotificationWindow;
     }
 
     public boolean useTitlesForXPEvent()
@@ -790,11 +812,12 @@ public class AdvancedConfig extends AutoUpdateConfigLoader {
     public int getSmeltingVanillaXPBoostMultiplier(int rank) { return config.getInt("Skills.Smelting.VanillaXPMultiplier.Rank_" + rank); }
 
     /* SWORDS */
-    public double getRuptureDamagePlayer() { return config.getDouble("Skills.Swords.Rupture.DamagePlayer", 1.0); }
-    public double getRuptureDamageMobs() { return config.getDouble("Skills.Swords.Rupture.DamageMobs", 2.0); }
+    public double getRuptureDamagePlayer() { return compiled.ruptureDamagePlayer; }
+    public double getRuptureDamageMobs() { return compiled.ruptureDamageMobs; }
 
-    public int getRuptureMaxTicks() { return config.getInt("Skills.Swords.Rupture.MaxTicks", 8); }
-    public int getRuptureBaseTicks() { return config.getInt("Skills.Swords.Rupture.BaseTicks", 2); }
+    public int getRuptureMaxTicks() { return compiled.ruptureMaxTicks; }
+    public int getRuptureBaseTicks() { return compiled.ruptureBaseTicks; }
+    public int getRuptureMaxBleedsPerTick() { return compiled.ruptureMaxBleedsPerTick; }
 
     public double getCounterModifier() { return config.getDouble("Skills.Swords.CounterAttack.DamageModifier", 2.0D); }
 
@@ -850,4 +873,33 @@ public class AdvancedConfig extends AutoUpdateConfigLoader {
     public String getPlayerUnleashMessage() { return config.getString("Kraken.Unleashed_Message.Player", ""); }
     public String getPlayerDefeatMessage() { return config.getString("Kraken.Defeated_Message.Killed", ""); }
     public String getPlayerEscapeMessage() { return config.getString("Kraken.Defeated_Message.Escape", ""); }
+
+    private final class CompiledValues {
+        private final int[] standardMaxBonusLevels = new int[SubSkillType.values().length];
+        private final int[] retroMaxBonusLevels = new int[SubSkillType.values().length];
+        private final double[] maximumProbabilities = new double[SubSkillType.values().length];
+        private final boolean[] notificationUsesActionBar = new boolean[NotificationType.values().length];
+        private final boolean[] notificationSendsCopyToChat = new boolean[NotificationType.values().length];
+        private final int duplicateNotificationWindow = config.getInt("Feedback.DuplicateNotificationWindow", 20);
+        private final double ruptureDamagePlayer = config.getDouble("Skills.Swords.Rupture.DamagePlayer", 1.0);
+        private final double ruptureDamageMobs = config.getDouble("Skills.Swords.Rupture.DamageMobs", 2.0);
+        private final int ruptureMaxTicks = config.getInt("Skills.Swords.Rupture.MaxTicks", 8);
+        private final int ruptureBaseTicks = config.getInt("Skills.Swords.Rupture.BaseTicks", 2);
+        private final int ruptureMaxBleedsPerTick = config.getInt("Skills.Swords.Rupture.MaxBleedsPerTick", 100);
+
+        private CompiledValues() {
+            for (SubSkillType subSkillType : SubSkillType.values()) {
+                String address = subSkillType.getAdvConfigAddress();
+                standardMaxBonusLevels[subSkillType.ordinal()] = config.getInt(address + ".MaxBonusLevel.Standard", 100);
+                retroMaxBonusLevels[subSkillType.ordinal()] = config.getInt(address + ".MaxBonusLevel.RetroMode", 1000);
+                maximumProbabilities[subSkillType.ordinal()] = config.getDouble(address + ".ChanceMax", 100.0D);
+            }
+
+            for (NotificationType notificationType : NotificationType.values()) {
+                String path = "Feedback.ActionBarNotifications." + notificationType.toString();
+                notificationUsesActionBar[notificationType.ordinal()] = config.getBoolean(path + ".Enabled", true);
+                notificationSendsCopyToChat[notificationType.ordinal()] = config.getBoolean(path + ".SendCopyOfMessageToChat", false);
+            }
+        }
+    }
 }
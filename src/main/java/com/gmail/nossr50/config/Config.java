@@ -18,8 +18,11 @@ import java.util.Set;
 public class Config extends AutoUpdateConfigLoader {
     private static Config instance;
 
+    private volatile CompiledValues compiled;
+
     private Config() {
         super("config.yml");
+        loadKeys();
         validate();
     }
 
@@ -31,9 +34,12 @@ public class Config extends AutoUpdateConfigLoader {
         return instance;
     }
 
+    /**
+     * Compiles the per skill and per ability values
+     */
     @Override
     protected void loadKeys() {
-
+        compiled = new CompiledValues();
     }
 
     @Override
@@ -46,6 +52,10 @@ public class Config extends AutoUpdateConfigLoader {
             reason.add("General.Save_Interval should be greater than 0!");
         }
 
+        if (getSaveBatchSize() <= 0) {
+            reason.add("General.Save_Batch_Size should be greater than 0!");
+        }
+
         /* MySQL Settings */
         for (PoolIdentifier identifier : PoolIdentifier.values()) {
             if (getMySQLMaxConnections(identifier) <= 0) {
@@ -62,6 +72,10 @@ public class Config extends AutoUpdateConfigLoader {
         }
 
         /* Scoreboards */
+        if (getScoreboardUpdateInterval() < 1) {
+            reason.add("Scoreboard.Update_Interval should be at least 1!");
+        }
+
         /*if (getRankScoreboardTime() != -1 && getRankScoreboardTime() <= 0) {
             reason.add("Scoreboard.Types.Rank.Display_Time should be greater than 0, or -1!");
         }
@@ -182,6 +196,10 @@ public class Config extends AutoUpdateConfigLoader {
             reason.add("Abilities.Limits.Tree_Feller_Threshold should be greater than 0!");
         }
 
+        if (getTreeFellerBlocksPerTick() < 0) {
+            reason.add("Abilities.Limits.Tree_Feller_Blocks_Per_Tick should be at least 0!");
+        }
+
         if (getFishingLureModifier() < 0) {
             reason.add("Abilities.Fishing.Lure_Modifier should be at least 0!");
         }
@@ -254,6 +272,7 @@ public class Config extends AutoUpdateConfigLoader {
     public boolean getShowProfileLoadedMessage() { return config.getBoolean("General.Show_Profile_Loaded", true); }
     public boolean getDonateMessageEnabled() { return config.getBoolean("Commands.mcmmo.Donate_Message", true); }
     public int getSaveInterval() { return config.getInt("General.Save_Interval", 10); }
+    public int getSaveBatchSize() { return config.getInt("General.Save_Batch_Size", 50); }
     public boolean getStatsTrackingEnabled() { return config.getBoolean("General.Stats_Tracking", true); }
     public boolean getUpdateCheckEnabled() { return config.getBoolean("General.Update_Check", true); }
     public boolean getPreferBeta() { return config.getBoolean("General.Prefer_Beta", false); }
@@ -288,6 +307,7 @@ public class Config extends AutoUpdateConfigLoader {
     public boolean getShowStatsAfterLogin() { return config.getBoolean("Scoreboard.Show_Stats_After_Login", false); }
     public boolean getScoreboardRainbows() { return config.getBoolean("Scoreboard.Rainbows", false); }
     public boolean getShowAbilityNames() { return config.getBoolean("Scoreboard.Ability_Names", true); }
+    public int getScoreboardUpdateInterval() { return config.getInt("Scoreboard.Update_Interval", 10); }
 
     public boolean getRankUseChat() { return config.getBoolean("Scoreboard.Types.Rank.Print", false); }
     public boolean getRankUseBoard() { return config.getBoolean("Scoreboard.Types.Rank.Board", true); }
@@ -324,6 +344,9 @@ public class Config extends AutoUpdateConfigLoader {
     public boolean getKeepDailyLastWeek() { return config.getBoolean("Backups.Keep.Daily_Last_Week", true); }
     public boolean getKeepWeeklyPastMonth() { return config.getBoolean("Backups.Keep.Weekly_Past_Months", true); }
 
+    /* Flatfile */
+    public boolean getFlatfileIndexedStorage() { return config.getBoolean("Flatfile.Indexed_Storage", false); }
+
     /* mySQL */
     public boolean getUseMySQL() { return config.getBoolean("MySQL.Enabled", false); }
     public String getMySQLTablePrefix() { return config.getString("MySQL.Database.TablePrefix", "mcmmo_"); }
@@ -443,24 +466,25 @@ public class Config extends AutoUpdateConfigLoader {
     public boolean getAbilitiesOnlyActivateWhenSneaking() { return config.getBoolean("Abilities.Activation.Only_Activate_When_Sneaking", false); }
     public boolean getAbilitiesGateEnabled() { return config.getBoolean("Abilities.Activation.Level_Gate_Abilities"); }
 
-    public int getCooldown(SuperAbilityType ability) { return config.getInt("Abilities.Cooldowns." + ability.toString()); }
-    public int getMaxLength(SuperAbilityType ability) { return config.getInt("Abilities.Max_Seconds." + ability.toString()); }
+    public int getCooldown(SuperAbilityType ability) { return compiled.cooldowns[ability.ordinal()]; }
+    public int getMaxLength(SuperAbilityType ability) { return compiled.maxLengths[ability.ordinal()]; }
 
     /* Durability Settings */
     public int getAbilityToolDamage() { return config.getInt("Abilities.Tools.Durability_Loss", 1); }
 
     /* Thresholds */
     public int getTreeFellerThreshold() { return config.getInt("Abilities.Limits.Tree_Feller_Threshold", 1000); }
+    public int getTreeFellerBlocksPerTick() { return config.getInt("Abilities.Limits.Tree_Feller_Blocks_Per_Tick", 0); }
 
     /*
      * SKILL SETTINGS
      */
     public boolean getDoubleDropsEnabled(PrimarySkillType skill, Material material) {
         //TODO: Temporary measure to fix an exploit caused by a yet to be fixed Spigot bug (as of 7/3/2020)
-        if(material.toString().equalsIgnoreCase("LILY_PAD"))
+        if(material == Material.LILY_PAD)
             return false;
 
-        return config.getBoolean("Bonus_Drops." + StringUtils.getCapitalized(skill.toString()) + "." + StringUtils.getPrettyItemString(material).replace(" ", "_"));
+        return compiled.doubleDrops[skill.ordinal()][material.ordinal()];
     }
 
     public boolean getDoubleDropsDisabled(PrimarySkillType skill) {
@@ -556,8 +580,7 @@ public class Config extends AutoUpdateConfigLoader {
     }
 
     public int getLevelCap(PrimarySkillType skill) {
-        int cap = config.getInt("Skills." + StringUtils.getCapitalized(skill.toString()) + ".Level_Cap");
-        return (cap <= 0) ? Integer.MAX_VALUE : cap;
+        return compiled.levelCaps[skill.ordinal()];
     }
 
 
@@ -568,8 +591,8 @@ public class Config extends AutoUpdateConfigLoader {
     public boolean getTruncateSkills() { return config.getBoolean("General.TruncateSkills", false); }
 
     /* PVP & PVE Settings */
-    public boolean getPVPEnabled(PrimarySkillType skill) { return config.getBoolean("Skills." + StringUtils.getCapitalized(skill.toString()) + ".Enabled_For_PVP", true); }
-    public boolean getPVEEnabled(PrimarySkillType skill) { return config.getBoolean("Skills." + StringUtils.getCapitalized(skill.toString()) + ".Enabled_For_PVE", true); }
+    public boolean getPVPEnabled(PrimarySkillType skill) { return compiled.pvpEnabled[skill.ordinal()]; }
+    public boolean getPVEEnabled(PrimarySkillType skill) { return compiled.pveEnabled[skill.ordinal()]; }
     
     //public float getMasterVolume() { return (float) config.getDouble("Sounds.MasterVolume", 1.0); }
 
@@ -577,4 +600,46 @@ public class Config extends AutoUpdateConfigLoader {
     public boolean playerJoinEventInfo() { return config.getBoolean("General.EventInfoOnPlayerJoin", true);}
     public boolean adminNotifications() { return config.getBoolean("General.AdminNotifications", true);}
 
+    private final class CompiledValues {
+        private final int[] levelCaps = new int[PrimarySkillType.values().length];
+        private final boolean[] pvpEnabled = new boolean[PrimarySkillType.values().length];
+        private final boolean[] pveEnabled = new boolean[PrimarySkillType.values().length];
+        private final boolean[][] doubleDrops = new boolean[PrimarySkillType.values().length][];
+        private final int[] cooldowns = new int[SuperAbilityType.values().length];
+        private final int[] maxLengths = new int[SuperAbilityType.values().length];
+
+        private CompiledValues() {
+            Material[] materials = Material.values();
+            String[] materialNames = new String[materials.length];
+
+            for (Material material : materials) {
+                materialNames[material.ordinal()] = StringUtils.getPrettyItemString(material).replace(" ", "_");
+            }
+
+            for (PrimarySkillType skill : PrimarySkillType.values()) {
+                String skillName = StringUtils.getCapitalized(skill.toString());
+                int cap = config.getInt("Skills." + skillName + ".Level_Cap");
+
+                levelCaps[skill.ordinal()] = (cap <= 0) ? Integer.MAX_VALUE : cap;
+                pvpEnabled[skill.ordinal()] = config.getBoolean("Skills." + skillName + ".Enabled_For_PVP", true);
+                pveEnabled[skill.ordinal()] = config.getBoolean("Skills." + skillName + ".Enabled_For_PVE", true);
+
+                boolean[] skillDoubleDrops = new boolean[materials.length];
+                ConfigurationSection section = config.getConfigurationSection("Bonus_Drops." + skillName);
+
+                if (section != null) {
+                    for (int i = 0; i < materials.length; i++) {
+                        skillDoubleDrops[i] = section.getBoolean(materialNames[i]);
+                    }
+                }
+
+                doubleDrops[skill.ordinal()] = skillDoubleDrops;
+            }
+
+            for (SuperAbilityType ability : SuperAbilityType.values()) {
+                cooldowns[ability.ordinal()] = config.getInt("Abilities.Cooldowns." + ability.toString());
+                maxLengths[ability.ordinal()] = config.getInt("Abilities.Max_Seconds." + ability.toString());
+            }
+        }
+    }
 }
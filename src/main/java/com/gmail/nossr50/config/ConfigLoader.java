@@ -43,6 +43,12 @@ public abstract class ConfigLoader {
         config = YamlConfiguration.loadConfiguration(configFile);
     }
 
+    /**
+     * Reads the keys of the file, called once it is loaded and again whenever it is replaced.
+     * <p>
+     * Values looked up on every block break, hit or XP gain are best read here into fields or arrays indexed by enum
+     * ordinal, so their getters don't have to build and resolve a path every time.
+     */
     protected abstract void loadKeys();
 
     protected boolean validateKeys() {
@@ -12,6 +12,8 @@ public class HiddenConfig {
     private boolean chunkletsEnabled;
     private int conversionRate;
     private boolean useEnchantmentBuffs;
+    private boolean memoryMappedRegionFiles;
+    private boolean crashConsistentRegionFiles;
 
     public HiddenConfig(String fileName) {
         this.fileName = fileName;
@@ -33,6 +35,8 @@ public class HiddenConfig {
             chunkletsEnabled = config.getBoolean("Options.Chunklets", true);
             conversionRate = config.getInt("Options.ConversionRate", 1);
             useEnchantmentBuffs = config.getBoolean("Options.EnchantmentBuffs", true);
+            memoryMappedRegionFiles = config.getBoolean("Options.MemoryMappedRegionFiles", false);
+            crashConsistentRegionFiles = config.getBoolean("Options.CrashConsistentRegionFiles", false);
         }
     }
 
@@ -47,4 +51,12 @@ public class HiddenConfig {
     public boolean useEnchantmentBuffs() {
         return useEnchantmentBuffs;
     }
+
+    public boolean getMemoryMappedRegionFiles() {
+        return memoryMappedRegionFiles;
+    }
+
+    public boolean getCrashConsistentRegionFiles() {
+        return crashConsistentRegionFiles;
+    }
 }
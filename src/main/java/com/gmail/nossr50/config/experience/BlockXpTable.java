@@ -0,0 +1,124 @@
+package com.gmail.nossr50.config.experience;
+
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import com.gmail.nossr50.util.text.StringUtils;
+import org.bukkit.Material;
+import org.bukkit.block.data.Ageable;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.Arrays;
+
+/**
+ * The XP a skill gives for each material, read from experience.yml once instead of on every block.
+ * <p>
+ * Values are resolved with the same precedence as the config paths: the explicit name, then the friendly name
+ * (with a Ripe or Ungrown suffix for crops, which depends on the age of the block), then the wildcard.
+ */
+final class BlockXpTable {
+    private static final Material[] MATERIALS = Material.values();
+    private static final String[] CONFIG_NAMES = new String[MATERIALS.length];
+    private static final Material[] CROPS = {
+            Material.CHORUS_FLOWER,
+            Material.COCOA,
+            Material.WHEAT,
+            Material.BEETROOTS,
+            Material.CARROTS,
+            Material.POTATOES,
+            Material.NETHER_WART
+    };
+    private static final int[] CROP_INDEXES = new int[MATERIALS.length];
+
+    static {
+        for (Material material : MATERIALS) {
+            CONFIG_NAMES[material.ordinal()] = StringUtils.getExplicitConfigMaterialString(material);
+        }
+
+        Arrays.fill(CROP_INDEXES, -1);
+
+        for (int i = 0; i < CROPS.length; i++) {
+            CROP_INDEXES[CROPS[i].ordinal()] = i;
+        }
+    }
+
+    private final int[] xp = new int[MATERIALS.length];
+    private final boolean[] hasXp = new boolean[MATERIALS.length];
+    private final int[] ripeXp = new int[CROPS.length];
+    private final boolean[] ripeHasXp = new boolean[CROPS.length];
+    private final int[] ungrownXp = new int[CROPS.length];
+    private final boolean[] ungrownHasXp = new boolean[CROPS.length];
+
+    BlockXpTable(FileConfiguration config, PrimarySkillType skill) {
+        String baseString = "Experience_Values." + StringUtils.getCapitalized(skill.toString()) + ".";
+
+        for (Material material : MATERIALS) {
+            String name = baseString + CONFIG_NAMES[material.ordinal()];
+            String wildcardName = name + "|*";
+
+            // The explicit and friendly names of a material are the same
+            resolve(config, xp, hasXp, material.ordinal(), name, wildcardName);
+        }
+
+        for (int i = 0; i < CROPS.length; i++) {
+            String name = baseString + CONFIG_NAMES[CROPS[i].ordinal()];
+            String wildcardName = name + "|*";
+
+            resolve(config, ripeXp, ripeHasXp, i, name, name + "_Ripe", wildcardName);
+            resolve(config, ungrownXp, ungrownHasXp, i, name, name + "_Ungrown", wildcardName);
+        }
+    }
+
+    private static void resolve(FileConfiguration config, int[] values, boolean[] present, int index, String... paths) {
+        for (String path : paths) {
+            if (config.contains(path)) {
+                values[index] = config.getInt(path);
+                present[index] = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return true if the XP of a block of this material depends on its block data
+     */
+    static boolean isAgeDependent(Material material) {
+        return CROP_INDEXES[material.ordinal()] != -1;
+    }
+
+    int getXp(Material material) {
+        return xp[material.ordinal()];
+    }
+
+    boolean hasXp(Material material) {
+        return hasXp[material.ordinal()];
+    }
+
+    int getXp(BlockData data) {
+        int cropIndex = CROP_INDEXES[data.getMaterial().ordinal()];
+
+        if (cropIndex == -1) {
+            return getXp(data.getMaterial());
+        }
+
+        return isRipe(data) ? ripeXp[cropIndex] : ungrownXp[cropIndex];
+    }
+
+    boolean hasXp(BlockData data) {
+        int cropIndex = CROP_INDEXES[data.getMaterial().ordinal()];
+
+        if (cropIndex == -1) {
+            return hasXp(data.getMaterial());
+        }
+
+        return isRipe(data) ? ripeHasXp[cropIndex] : ungrownHasXp[cropIndex];
+    }
+
+    private static boolean isRipe(BlockData data) {
+        if (data instanceof Ageable) {
+            Ageable ageData = (Ageable) data;
+            return ageData.getAge() == ageData.getMaximumAge();
+        }
+
+        return false;
+    }
+}
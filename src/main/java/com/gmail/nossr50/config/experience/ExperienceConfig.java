@@ -20,8 +20,11 @@ import java.util.List;
 public class ExperienceConfig extends AutoUpdateConfigLoader {
     private static ExperienceConfig instance;
 
+    private volatile CompiledValues compiled;
+
     private ExperienceConfig() {
         super("experience.yml");
+        loadKeys();
         validate();
     }
 
@@ -33,8 +36,13 @@ public class ExperienceConfig extends AutoUpdateConfigLoader {
         return instance;
     }
 
+    /**
+     * Compiles the formula, combat and taming XP values
+     */
     @Override
-    protected void loadKeys() {}
+    protected void loadKeys() {
+        compiled = new CompiledValues();
+    }
 
     @Override
     protected boolean validateKeys() {
@@ -162,35 +170,39 @@ public class ExperienceConfig extends AutoUpdateConfigLoader {
     public boolean getCumulativeCurveEnabled() { return config.getBoolean("Experience_Formula.Cumulative_Curve", false); }
 
     /* Curve values */
-    public double getMultiplier(FormulaType type) { return config.getDouble("Experience_Formula." + StringUtils.getCapitalized(type.toString()) + "_Values.multiplier"); }
-    public int getBase(FormulaType type) { return config.getInt("Experience_Formula." + StringUtils.getCapitalized(type.toString()) + "_Values.base"); }
-    public double getExponent(FormulaType type) { return config.getDouble("Experience_Formula." + StringUtils.getCapitalized(type.toString()) + "_Values.exponent"); }
+    public double getMultiplier(FormulaType type) { return compiled.formulaMultipliers[type.ordinal()]; }
+    public int getBase(FormulaType type) { return compiled.formulaBases[type.ordinal()]; }
+    public double getExponent(FormulaType type) { return compiled.formulaExponents[type.ordinal()]; }
 
     /* Global modifier */
-    public double getExperienceGainsGlobalMultiplier() { return config.getDouble("Experience_Formula.Multiplier.Global", 1.0); }
-    public void setExperienceGainsGlobalMultiplier(double value) { config.set("Experience_Formula.Multiplier.Global", value); }
+    public double getExperienceGainsGlobalMultiplier() { return compiled.globalMultiplier; }
+
+    public void setExperienceGainsGlobalMultiplier(double value) {
+        config.set("Experience_Formula.Multiplier.Global", value);
+        loadKeys();
+    }
 
     /* PVP modifier */
-    public double getPlayerVersusPlayerXP() { return config.getDouble("Experience_Formula.Multiplier.PVP", 1.0); }
+    public double getPlayerVersusPlayerXP() { return compiled.playerVersusPlayerXP; }
 
     /* Spawned Mob modifier */
-    public double getSpawnedMobXpMultiplier() { return config.getDouble("Experience_Formula.Mobspawners.Multiplier", 0.0); }
-    public double getEggXpMultiplier() { return config.getDouble("Experience_Formula.Eggs.Multiplier", 0.0); }
-    public double getTamedMobXpMultiplier() { return config.getDouble("Experience_Formula.Player_Tamed.Multiplier", 0.0); }
-    public double getNetherPortalXpMultiplier() { return config.getDouble("Experience_Formula.Nether_Portal.Multiplier", 0.0); }
-    public double getBredMobXpMultiplier() { return config.getDouble("Experience_Formula.Breeding.Multiplier", 1.0); }
+    public double getSpawnedMobXpMultiplier() { return compiled.spawnedMobXpMultiplier; }
+    public double getEggXpMultiplier() { return compiled.eggXpMultiplier; }
+    public double getTamedMobXpMultiplier() { return compiled.tamedMobXpMultiplier; }
+    public double getNetherPortalXpMultiplier() { return compiled.netherPortalXpMultiplier; }
+    public double getBredMobXpMultiplier() { return compiled.bredMobXpMultiplier; }
 
     /* Skill modifiers */
-    public double getFormulaSkillModifier(PrimarySkillType skill) { return config.getDouble("Experience_Formula.Modifier." + StringUtils.getCapitalized(skill.toString())); }
+    public double getFormulaSkillModifier(PrimarySkillType skill) { return compiled.formulaSkillModifiers[skill.ordinal()]; }
 
     /* Custom XP perk */
-    public double getCustomXpPerkBoost() { return config.getDouble("Experience_Formula.Custom_XP_Perk.Boost", 1.25); }
+    public double getCustomXpPerkBoost() { return compiled.customXpPerkBoost; }
 
     /* Diminished Returns */
-    public float getDiminishedReturnsCap() { return (float) config.getDouble("Dimished_Returns.Guaranteed_Minimum_Percentage", 0.05D); }
-    public boolean getDiminishedReturnsEnabled() { return config.getBoolean("Diminished_Returns.Enabled", false); }
-    public int getDiminishedReturnsThreshold(PrimarySkillType skill) { return config.getInt("Diminished_Returns.Threshold." + StringUtils.getCapitalized(skill.toString()), 20000); }
-    public int getDiminishedReturnsTimeInterval() { return config.getInt("Diminished_Returns.Time_Interval", 10); }
+    public float getDiminishedReturnsCap() { return compiled.diminishedReturnsCap; }
+    public boolean getDiminishedReturnsEnabled() { return compiled.diminishedReturnsEnabled; }
+    public int getDiminishedReturnsThreshold(PrimarySkillType skill) { return compiled.diminishedReturnsThresholds[skill.ordinal()]; }
+    public int getDiminishedReturnsTimeInterval() { return compiled.diminishedReturnsTimeInterval; }
 
     /* Conversion */
     public double getExpModifier() { return config.getDouble("Conversion.Exp_Modifier", 1); }
@@ -203,107 +215,73 @@ public class ExperienceConfig extends AutoUpdateConfigLoader {
     public boolean getExperienceGainsPlayerVersusPlayerEnabled() { return config.getBoolean("Experience_Values.PVP.Rewards", true); }
 
     /* Combat XP Multipliers */
-    public double getCombatXP(EntityType entity) { return config.getDouble("Experience_Values.Combat.Multiplier." + StringUtils.getPrettyEntityTypeString(entity).replace(" ", "_")); }
-    public double getAnimalsXP(EntityType entity) { return config.getDouble("Experience_Values.Combat.Multiplier." + StringUtils.getPrettyEntityTypeString(entity).replace(" ", "_"), getAnimalsXP()); }
-    public double getAnimalsXP() { return config.getDouble("Experience_Values.Combat.Multiplier.Animals", 1.0); }
-    public boolean hasCombatXP(EntityType entity) {return config.contains("Experience_Values.Combat.Multiplier." + StringUtils.getPrettyEntityTypeString(entity).replace(" ", "_")); }
+    public double getCombatXP(EntityType entity) { return compiled.combatXP[entity.ordinal()]; }
+    public double getAnimalsXP(EntityType entity) { return hasCombatXP(entity) ? getCombatXP(entity) : getAnimalsXP(); }
+    public double getAnimalsXP() { return compiled.animalsXP; }
+    public boolean hasCombatXP(EntityType entity) { return compiled.hasCombatXP[entity.ordinal()]; }
 
     /* Materials  */
     public int getXp(PrimarySkillType skill, Material material)
     {
         //TODO: Temporary measure to fix an exploit caused by a yet to be fixed Spigot bug (as of 7/3/2020)
-        if(material.toString().equalsIgnoreCase("LILY_PAD"))
+        if(material == Material.LILY_PAD)
             return 0;
 
-        String baseString = "Experience_Values." + StringUtils.getCapitalized(skill.toString()) + ".";
-        String explicitString = baseString + StringUtils.getExplicitConfigMaterialString(material);
-        if (config.contains(explicitString))
-            return config.getInt(explicitString);
-        String friendlyString = baseString + StringUtils.getFriendlyConfigMaterialString(material);
-        if (config.contains(friendlyString))
-            return config.getInt(friendlyString);
-        String wildcardString = baseString + StringUtils.getWildcardConfigMaterialString(material);
-        if (config.contains(wildcardString))
-            return config.getInt(wildcardString);
-        return 0;
+        return compiled.blockXP[skill.ordinal()].getXp(material);
     }
 
     /* Materials  */
     public int getXp(PrimarySkillType skill, BlockState blockState)
     {
-        Material data = blockState.getType();
-
-        String baseString = "Experience_Values." + StringUtils.getCapitalized(skill.toString()) + ".";
-        String explicitString = baseString + StringUtils.getExplicitConfigMaterialString(data);
-        if (config.contains(explicitString))
-            return config.getInt(explicitString);
-        String friendlyString = baseString + StringUtils.getFriendlyConfigMaterialString(data);
-        if (config.contains(friendlyString))
-            return config.getInt(friendlyString);
-        String wildcardString = baseString + StringUtils.getWildcardConfigMaterialString(data);
-        if (config.contains(wildcardString))
-            return config.getInt(wildcardString);
-        return 0;
+        return compiled.blockXP[skill.ordinal()].getXp(blockState.getType());
     }
 
     /* Materials  */
     public int getXp(PrimarySkillType skill, Block block)
     {
-        Material data = block.getType();
-
-        String baseString = "Experience_Values." + StringUtils.getCapitalized(skill.toString()) + ".";
-        String explicitString = baseString + StringUtils.getExplicitConfigMaterialString(data);
-        if (config.contains(explicitString))
-            return config.getInt(explicitString);
-        String friendlyString = baseString + StringUtils.getFriendlyConfigMaterialString(data);
-        if (config.contains(friendlyString))
-            return config.getInt(friendlyString);
-        String wildcardString = baseString + StringUtils.getWildcardConfigMaterialString(data);
-        if (config.contains(wildcardString))
-            return config.getInt(wildcardString);
-        return 0;
+        return compiled.blockXP[skill.ordinal()].getXp(block.getType());
     }
 
     /* Materials  */
     public int getXp(PrimarySkillType skill, BlockData data)
     {
-        String baseString = "Experience_Values." + StringUtils.getCapitalized(skill.toString()) + ".";
-        String explicitString = baseString + StringUtils.getExplicitConfigBlockDataString(data);
-        if (config.contains(explicitString))
-            return config.getInt(explicitString);
-        String friendlyString = baseString + StringUtils.getFriendlyConfigBlockDataString(data);
-        if (config.contains(friendlyString))
-            return config.getInt(friendlyString);
-        String wildcardString = baseString + StringUtils.getWildcardConfigBlockDataString(data);
-        if (config.contains(wildcardString))
-            return config.getInt(wildcardString);
-        return 0;
+        return compiled.blockXP[skill.ordinal()].getXp(data);
     }
 
     public boolean doesBlockGiveSkillXP(PrimarySkillType skill, Material data)
     {
-        String baseString = "Experience_Values." + StringUtils.getCapitalized(skill.toString()) + ".";
-        String explicitString = baseString + StringUtils.getExplicitConfigMaterialString(data);
-        if (config.contains(explicitString))
-            return true;
-        String friendlyString = baseString + StringUtils.getFriendlyConfigMaterialString(data);
-        if (config.contains(friendlyString))
-            return true;
-        String wildcardString = baseString + StringUtils.getWildcardConfigMaterialString(data);
-        return config.contains(wildcardString);
+        return compiled.blockXP[skill.ordinal()].hasXp(data);
     }
 
     public boolean doesBlockGiveSkillXP(PrimarySkillType skill, BlockData data)
     {
-        String baseString = "Experience_Values." + StringUtils.getCapitalized(skill.toString()) + ".";
-        String explicitString = baseString + StringUtils.getExplicitConfigBlockDataString(data);
-        if (config.contains(explicitString))
-            return true;
-        String friendlyString = baseString + StringUtils.getFriendlyConfigBlockDataString(data);
-        if (config.contains(friendlyString))
-            return true;
-        String wildcardString = baseString + StringUtils.getWildcardConfigBlockDataString(data);
-        return config.contains(wildcardString);
+        return compiled.blockXP[skill.ordinal()].hasXp(data);
+    }
+
+    /**
+     * Same as {@link #doesBlockGiveSkillXP(PrimarySkillType, BlockData)}, only reading the block data of crops
+     */
+    public boolean doesBlockGiveSkillXP(PrimarySkillType skill, BlockState blockState)
+    {
+        Material material = blockState.getType();
+
+        if (BlockXpTable.isAgeDependent(material))
+            return doesBlockGiveSkillXP(skill, blockState.getBlockData());
+
+        return doesBlockGiveSkillXP(skill, material);
+    }
+
+    /**
+     * Same as {@link #doesBlockGiveSkillXP(PrimarySkillType, BlockData)}, only reading the block data of crops
+     */
+    public boolean doesBlockGiveSkillXP(PrimarySkillType skill, Block block)
+    {
+        Material material = block.getType();
+
+        if (BlockXpTable.isAgeDependent(material))
+            return doesBlockGiveSkillXP(skill, block.getBlockData());
+
+        return doesBlockGiveSkillXP(skill, material);
     }
 
     /*
@@ -374,13 +352,66 @@ public class ExperienceConfig extends AutoUpdateConfigLoader {
 
     /* Repair */
     public double getRepairXPBase() { return config.getDouble("Experience_Values.Repair.Base", 1000.0); }
-    public double getRepairXP(MaterialType repairMaterialType) { return config.getDouble("Experience_Values.Repair." + StringUtils.getCapitalized(repairMaterialType.toString())); }
+    public double getRepairXP(MaterialType repairMaterialType) { return compiled.repairXP[repairMaterialType.ordinal()]; }
 
     /* Taming */
     public int getTamingXP(EntityType type)
     {
-        return config.getInt("Experience_Values.Taming.Animal_Taming." + StringUtils.getPrettyEntityTypeString(type));
+        return compiled.tamingXP[type.ordinal()];
     }
 
     public boolean preventStoneLavaFarming() { return config.getBoolean("ExploitFix.LavaStoneAndCobbleFarming", true);}
+
+    private final class CompiledValues {
+        private final double[] formulaMultipliers = new double[FormulaType.values().length];
+        private final int[] formulaBases = new int[FormulaType.values().length];
+        private final double[] formulaExponents = new double[FormulaType.values().length];
+        private final double globalMultiplier = config.getDouble("Experience_Formula.Multiplier.Global", 1.0);
+        private final double playerVersusPlayerXP = config.getDouble("Experience_Formula.Multiplier.PVP", 1.0);
+        private final double spawnedMobXpMultiplier = config.getDouble("Experience_Formula.Mobspawners.Multiplier", 0.0);
+        private final double eggXpMultiplier = config.getDouble("Experience_Formula.Eggs.Multiplier", 0.0);
+        private final double tamedMobXpMultiplier = config.getDouble("Experience_Formula.Player_Tamed.Multiplier", 0.0);
+        private final double netherPortalXpMultiplier = config.getDouble("Experience_Formula.Nether_Portal.Multiplier", 0.0);
+        private final double bredMobXpMultiplier = config.getDouble("Experience_Formula.Breeding.Multiplier", 1.0);
+        private final double[] formulaSkillModifiers = new double[PrimarySkillType.values().length];
+        private final double customXpPerkBoost = config.getDouble("Experience_Formula.Custom_XP_Perk.Boost", 1.25);
+        private final float diminishedReturnsCap = (float) config.getDouble("Dimished_Returns.Guaranteed_Minimum_Percentage", 0.05D);
+        private final boolean diminishedReturnsEnabled = config.getBoolean("Diminished_Returns.Enabled", false);
+        private final int[] diminishedReturnsThresholds = new int[PrimarySkillType.values().length];
+        private final int diminishedReturnsTimeInterval = config.getInt("Diminished_Returns.Time_Interval", 10);
+        private final double[] combatXP = new double[EntityType.values().length];
+        private final boolean[] hasCombatXP = new boolean[EntityType.values().length];
+        private final double animalsXP = config.getDouble("Experience_Values.Combat.Multiplier.Animals", 1.0);
+        private final int[] tamingXP = new int[EntityType.values().length];
+        private final double[] repairXP = new double[MaterialType.values().length];
+        private final BlockXpTable[] blockXP = new BlockXpTable[PrimarySkillType.values().length];
+
+        private CompiledValues() {
+            for (FormulaType type : FormulaType.values()) {
+                String path = "Experience_Formula." + StringUtils.getCapitalized(type.toString()) + "_Values.";
+                formulaMultipliers[type.ordinal()] = config.getDouble(path + "multiplier");
+                formulaBases[type.ordinal()] = config.getInt(path + "base");
+                formulaExponents[type.ordinal()] = config.getDouble(path + "exponent");
+            }
+
+            for (PrimarySkillType skill : PrimarySkillType.values()) {
+                String skillName = StringUtils.getCapitalized(skill.toString());
+                formulaSkillModifiers[skill.ordinal()] = config.getDouble("Experience_Formula.Modifier." + skillName);
+                diminishedReturnsThresholds[skill.ordinal()] = config.getInt("Diminished_Returns.Threshold." + skillName, 20000);
+                blockXP[skill.ordinal()] = new BlockXpTable(config, skill);
+            }
+
+            for (EntityType entity : EntityType.values()) {
+                String entityName = StringUtils.getPrettyEntityTypeString(entity);
+                String combatPath = "Experience_Values.Combat.Multiplier." + entityName.replace(" ", "_");
+                combatXP[entity.ordinal()] = config.getDouble(combatPath);
+                hasCombatXP[entity.ordinal()] = config.contains(combatPath);
+                tamingXP[entity.ordinal()] = config.getInt("Experience_Values.Taming.Animal_Taming." + entityName);
+            }
+
+            for (MaterialType materialType : MaterialType.values()) {
+                repairXP[materialType.ordinal()] = config.getDouble("Experience_Values.Repair." + StringUtils.getCapitalized(materialType.toString()));
+            }
+        }
+    }
 }
@@ -1,8 +1,10 @@
 package com.gmail.nossr50.config.treasure;
 
+import com.gmail.nossr50.config.Config;
 import com.gmail.nossr50.config.ConfigLoader;
 import com.gmail.nossr50.datatypes.treasure.*;
 import com.gmail.nossr50.util.EnchantmentUtils;
+import com.gmail.nossr50.util.random.AliasTable;
 import com.gmail.nossr50.util.text.StringUtils;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
@@ -16,11 +18,11 @@ import org.bukkit.inventory.meta.PotionMeta;
 import org.bukkit.potion.PotionData;
 import org.bukkit.potion.PotionType;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.*;
 
 public class TreasureConfig extends ConfigLoader {
+    // Highest level an enchantment can have on an item without editing its NBT by hand
+    private static final int MAX_LUCK_LEVEL = 255;
 
     private static TreasureConfig instance;
 
@@ -32,6 +34,10 @@ public class TreasureConfig extends ConfigLoader {
     public HashMap<Rarity, List<FishingTreasure>>     fishingRewards      = new HashMap<>();
     public HashMap<Rarity, List<EnchantmentTreasure>> fishingEnchantments = new HashMap<>();
 
+    /* Replaced as a whole on reload, so a catch never mixes rates and tables of different loads */
+    private volatile DropRates dropRates = new DropRates(new double[0][], new double[0][], new ArrayList<>(), new ArrayList<>());
+    private volatile Map<EntityType, AliasTable<ShakeTreasure>> shakeTables = new EnumMap<>(EntityType.class);
+
     private TreasureConfig() {
         super("treasures.yml");
         loadKeys();
@@ -93,12 +99,123 @@ public class TreasureConfig extends ConfigLoader {
         loadTreasures("Excavation");
         loadTreasures("Hylian_Luck");
         loadEnchantments();
+        loadDropRates();
 
         for (EntityType entity : EntityType.values()) {
             if (entity.isAlive()) {
                 loadTreasures("Shake." + entity.toString());
             }
         }
+
+        loadShakeTables();
+    }
+
+    /**
+     * Compiles the item and enchantment drop rates of every tier
+     */
+    private void loadDropRates() {
+        int maxTier = 0;
+        ConfigurationSection tierSection = config.getConfigurationSection("Item_Drop_Rates");
+
+        if (tierSection != null) {
+            for (String tier : tierSection.getKeys(false)) {
+                try {
+                    maxTier = Math.max(maxTier, Integer.parseInt(tier.substring(tier.indexOf('_') + 1)));
+                }
+                catch (NumberFormatException ignored) {}
+            }
+        }
+
+        double[][] itemRates = new double[maxTier + 1][Rarity.values().length];
+        double[][] enchantmentRates = new double[maxTier + 1][Rarity.values().length];
+
+        for (int tier = 1; tier <= maxTier; tier++) {
+            for (Rarity rarity : Rarity.values()) {
+                itemRates[tier][rarity.ordinal()] = config.getDouble("Item_Drop_Rates.Tier_" + tier + "." + rarity.toString());
+                enchantmentRates[tier][rarity.ordinal()] = config.getDouble("Enchantment_Drop_Rates.Tier_" + tier + "." + rarity.toString());
+            }
+        }
+
+        List<List<AliasTable<Rarity>>> fishingTables = new ArrayList<>();
+        List<AliasTable<Rarity>> enchantmentTables = new ArrayList<>();
+        double lureModifier = Config.getInstance().getFishingLureModifier();
+        int luckLevels = getCompiledLuckLevels(lureModifier);
+
+        for (int tier = 0; tier <= maxTier; tier++) {
+            List<AliasTable<Rarity>> tierTables = new ArrayList<>();
+
+            for (int luck = 0; luck < luckLevels; luck++) {
+                tierTables.add(buildFishingRarityTable(itemRates[tier], luck, lureModifier));
+            }
+
+            fishingTables.add(tierTables);
+            enchantmentTables.add(buildEnchantmentRarityTable(enchantmentRates[tier]));
+        }
+
+        dropRates = new DropRates(itemRates, enchantmentRates, fishingTables, enchantmentTables);
+    }
+
+    /**
+     * Luck stops making a difference once it scales the roll down to nothing, every level above that uses the same table
+     */
+    static int getCompiledLuckLevels(double lureModifier) {
+        if (lureModifier <= 0) {
+            return 1;
+        }
+
+        return (int) Math.min(MAX_LUCK_LEVEL, Math.ceil(100 / lureModifier)) + 1;
+    }
+
+    /**
+     * Luck scales the roll down, which cuts off the rarities that come last
+     */
+    static AliasTable<Rarity> buildFishingRarityTable(double[] rates, int luck, double lureModifier) {
+        double range = 100 * (1.0 - luck * lureModifier / 100);
+
+        if (range <= 0) {
+            // Every roll lands on the first rarity
+            double[] weights = new double[rates.length];
+            weights[0] = 1;
+            return new AliasTable<>(Arrays.asList(Rarity.values()), weights, 1);
+        }
+
+        return new AliasTable<>(Arrays.asList(Rarity.values()), rates, range);
+    }
+
+    static AliasTable<Rarity> buildEnchantmentRarityTable(double[] rates) {
+        List<Rarity> rarities = new ArrayList<>();
+        double[] weights = new double[rates.length];
+
+        for (Rarity rarity : Rarity.values()) {
+            if (rarity == Rarity.RECORD) {
+                continue;
+            }
+
+            weights[rarities.size()] = rates[rarity.ordinal()];
+            rarities.add(rarity);
+        }
+
+        return new AliasTable<>(rarities, weights, 100);
+    }
+
+    private void loadShakeTables() {
+        Map<EntityType, AliasTable<ShakeTreasure>> tables = new EnumMap<>(EntityType.class);
+
+        for (Map.Entry<EntityType, List<ShakeTreasure>> entry : shakeMap.entrySet()) {
+            tables.put(entry.getKey(), buildShakeTable(entry.getValue()));
+        }
+
+        shakeTables = tables;
+    }
+
+    static AliasTable<ShakeTreasure> buildShakeTable(List<ShakeTreasure> treasures) {
+        double[] weights = new double[treasures.size()];
+
+        for (int i = 0; i < treasures.size(); i++) {
+            weights[i] = treasures.get(i).getDropChance();
+        }
+
+        return new AliasTable<>(treasures, weights, 100);
     }
 
     private void loadTreasures(String type) {
@@ -356,10 +473,60 @@ public class TreasureConfig extends ConfigLoader {
     }
 
     public double getItemDropRate(int tier, Rarity rarity) {
-        return config.getDouble("Item_Drop_Rates.Tier_" + tier + "." + rarity.toString());
+        double[][] rates = dropRates.itemDropRates;
+        return tier > 0 && tier < rates.length ? rates[tier][rarity.ordinal()] : 0;
     }
 
     public double getEnchantmentDropRate(int tier, Rarity rarity) {
-        return config.getDouble("Enchantment_Drop_Rates.Tier_" + tier + "." + rarity.toString());
+        double[][] rates = dropRates.enchantmentDropRates;
+        return tier > 0 && tier < rates.length ? rates[tier][rarity.ordinal()] : 0;
+    }
+
+    /**
+     * @param tier the Treasure Hunter tier
+     * @param luck the level of Luck of the Sea of the rod
+     * @return the table picking the rarity of a fishing treasure, missing when no treasure is found
+     */
+    public AliasTable<Rarity> getFishingRarityTable(int tier, int luck) {
+        List<List<AliasTable<Rarity>>> tables = dropRates.fishingRarityTables;
+
+        if (tier < 0 || tier >= tables.size()) {
+            tier = 0;
+        }
+
+        List<AliasTable<Rarity>> tierTables = tables.get(tier);
+        return tierTables.get(Math.max(0, Math.min(luck, tierTables.size() - 1)));
+    }
+
+    /**
+     * @param tier the Treasure Hunter tier
+     * @return the table picking the rarity of the enchantments of a fishing treasure, missing when it gets none
+     */
+    public AliasTable<Rarity> getEnchantmentRarityTable(int tier) {
+        List<AliasTable<Rarity>> tables = dropRates.enchantmentRarityTables;
+        return tables.get(tier >= 0 && tier < tables.size() ? tier : 0);
+    }
+
+    /**
+     * @return the table picking the drop of a shake, or null if the entity has no shake drops
+     */
+    public AliasTable<ShakeTreasure> getShakeTable(EntityType entityType) {
+        return shakeTables.get(entityType);
+    }
+
+    private static final class DropRates {
+        /* Indexed by tier, then rarity */
+        private final double[][] itemDropRates;
+        private final double[][] enchantmentDropRates;
+        /* Indexed by tier, then level of luck */
+        private final List<List<AliasTable<Rarity>>> fishingRarityTables;
+        private final List<AliasTable<Rarity>> enchantmentRarityTables;
+
+        private DropRates(double[][] itemDropRates, double[][] enchantmentDropRates, List<List<AliasTable<Rarity>>> fishingRarityTables, List<AliasTable<Rarity>> enchantmentRarityTables) {
+            this.itemDropRates = itemDropRates;
+            this.enchantmentDropRates = enchantmentDropRates;
+            this.fishingRarityTables = fishingRarityTables;
+            this.enchantmentRarityTables = enchantmentRarityTables;
+        }
     }
 }
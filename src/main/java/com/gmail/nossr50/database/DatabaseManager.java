@@ -12,6 +12,7 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +58,24 @@ public interface DatabaseManager {
      */
     boolean saveUser(PlayerProfile profile);
 
+    /**
+     * Save several users to the database at once.
+     *
+     * @param profiles The profiles of the players to save
+     * @return the profiles that could not be saved
+     */
+    default @NotNull List<PlayerProfile> saveUsers(@NotNull List<PlayerProfile> profiles) {
+        List<PlayerProfile> failed = new ArrayList<>();
+
+        for (PlayerProfile profile : profiles) {
+            if (!saveUser(profile)) {
+                failed.add(profile);
+            }
+        }
+
+        return failed;
+    }
+
     /**
     * Retrieve leaderboard info.
      * Will never be null but it may be empty
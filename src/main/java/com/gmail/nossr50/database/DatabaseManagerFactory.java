@@ -23,7 +23,11 @@ public class DatabaseManagerFactory {
             mcMMO.p.debug("Falling back on " + (Config.getInstance().getUseMySQL() ? "SQL" : "Flatfile") + " database");
         }
 
-        return Config.getInstance().getUseMySQL() ? new SQLDatabaseManager() : new FlatfileDatabaseManager();
+        if (Config.getInstance().getUseMySQL()) {
+            return new SQLDatabaseManager();
+        }
+
+        return Config.getInstance().getFlatfileIndexedStorage() ? new IndexedFlatfileDatabaseManager() : new FlatfileDatabaseManager();
     }
 
     /**
@@ -62,6 +66,10 @@ public class DatabaseManagerFactory {
                 mcMMO.p.getLogger().info("Using FlatFile Database");
                 return new FlatfileDatabaseManager();
 
+            case FLATFILE_INDEXED:
+                mcMMO.p.getLogger().info("Using Indexed FlatFile Database");
+                return new IndexedFlatfileDatabaseManager();
+
             case SQL:
                 mcMMO.p.getLogger().info("Using SQL Database");
                 return new SQLDatabaseManager();
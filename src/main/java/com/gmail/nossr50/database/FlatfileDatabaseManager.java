@@ -7,22 +7,17 @@ import com.gmail.nossr50.datatypes.MobHealthbarType;
 import com.gmail.nossr50.datatypes.database.DatabaseType;
 import com.gmail.nossr50.datatypes.database.PlayerStat;
 import com.gmail.nossr50.datatypes.database.UpgradeType;
-import com.gmail.nossr50.datatypes.party.ItemShareType;
 import com.gmail.nossr50.datatypes.party.Party;
-import com.gmail.nossr50.datatypes.party.PartyLeader;
-import com.gmail.nossr50.datatypes.party.ShareMode;
 import com.gmail.nossr50.datatypes.player.PlayerProfile;
 import com.gmail.nossr50.datatypes.player.UniqueDataType;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SuperAbilityType;
 import com.gmail.nossr50.mcMMO;
-import com.gmail.nossr50.party.PartyManager;
 import com.gmail.nossr50.runnables.database.UUIDUpdateAsyncTask;
 import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.text.StringUtils;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -30,28 +25,23 @@ import java.io.*;
 import java.util.*;
 
 public final class FlatfileDatabaseManager implements DatabaseManager {
-    private final HashMap<PrimarySkillType, List<PlayerStat>> playerStatHash = new HashMap<>();
-    private final List<PlayerStat> powerLevels = new ArrayList<>();
-    private long lastUpdate = 0;
-
-    private final long UPDATE_WAIT_TIME = 600000L; // 10 minutes
+    private final FlatfileLeaderboardIndex leaderboardIndex = new FlatfileLeaderboardIndex();
     private final File usersFile;
-    private final File partyFile;
-    private final YamlConfiguration partiesFile;
+    private final File leaderboardSnapshotFile;
+    private final FlatfilePartyStorage partyStorage;
 
     private static final Object fileWritingLock = new Object();
 
     protected FlatfileDatabaseManager() {
         usersFile = new File(mcMMO.getUsersFilePath());
-        partyFile = new File(mcMMO.getPartyFilePath());
-        partiesFile = YamlConfiguration.loadConfiguration(partyFile);
-
-        if (mcMMO.getUpgradeManager().shouldUpgrade(UpgradeType.ADD_UUIDS_PARTY)) {
-            PartyManager.loadAndUpgradeParties(partyFile, partiesFile);
-        }
+        leaderboardSnapshotFile = new File(mcMMO.getUsersFilePath() + ".ranks");
+        partyStorage = new FlatfilePartyStorage();
 
         checkStructure();
-        updateLeaderboards();
+
+        if (!leaderboardIndex.loadSnapshot(leaderboardSnapshotFile, usersFile)) {
+            rebuildLeaderboards();
+        }
 
         if (mcMMO.getUpgradeManager().shouldUpgrade(UpgradeType.ADD_UUIDS)) {
             new UUIDUpdateAsyncTask(mcMMO.p, getStoredUsers()).start();
@@ -91,6 +81,7 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
                         writer.append(line).append("\r\n");
                     }
                     else {
+                        leaderboardIndex.remove(character[USERNAME]);
                         purgedUsers++;
                     }
                 }
@@ -160,6 +151,7 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
                     }
 
                     if (currentTime - lastPlayed > PURGE_TIME) {
+                        leaderboardIndex.remove(name);
                         removedPlayers++;
                     }
                     else {
@@ -208,6 +200,7 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
     public boolean removeUser(String playerName, UUID uuid) {
         //NOTE: UUID is unused for FlatFile for this interface implementation
         boolean worked = false;
+        String removedName = null;
 
         BufferedReader in = null;
         FileWriter out = null;
@@ -224,6 +217,7 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
                     if (!worked && line.split(":")[USERNAME].equalsIgnoreCase(playerName)) {
                         mcMMO.p.getLogger().info("User found, removing...");
                         worked = true;
+                        removedName = line.split(":")[USERNAME];
                         continue; // Skip the player
                     }
 
@@ -256,6 +250,10 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
             }
         }
 
+        if (worked) {
+            leaderboardIndex.remove(removedName);
+        }
+
         Misc.profileCleanup(playerName);
 
         return worked;
@@ -267,8 +265,24 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
     }
 
     public boolean saveUser(PlayerProfile profile) {
-        String playerName = profile.getPlayerName();
-        UUID uuid = profile.getUniqueId();
+        return saveUsers(Collections.singletonList(profile)).isEmpty();
+    }
+
+    /**
+     * Rewrites the users file once for the whole batch instead of once per profile
+     */
+    @Override
+    public @NotNull List<PlayerProfile> saveUsers(@NotNull List<PlayerProfile> profiles) {
+        Map<String, PlayerProfile> profilesByUUID = new HashMap<>();
+        Map<String, PlayerProfile> profilesByName = new HashMap<>();
+
+        for (PlayerProfile profile : profiles) {
+            if (profile.getUniqueId() != null) {
+                profilesByUUID.put(profile.getUniqueId().toString(), profile);
+            }
+
+            profilesByName.put(profile.getPlayerName().toLowerCase(Locale.ENGLISH), profile);
+        }
 
         BufferedReader in = null;
         FileWriter out = null;
@@ -281,37 +295,56 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
                 StringBuilder writer = new StringBuilder();
                 String line;
 
-                boolean wroteUser = false;
+                Map<PlayerProfile, String> previousNames = new IdentityHashMap<>();
                 // While not at the end of the file
                 while ((line = in.readLine()) != null) {
-                    // Read the line in and copy it to the output if it's not the player we want to edit
+                    // Read the line in and copy it to the output if it's not one of the players we want to edit
                     String[] character = line.split(":");
-                    if (!(uuid != null && character[UUID_INDEX].equalsIgnoreCase(uuid.toString())) && !character[USERNAME].equalsIgnoreCase(playerName)) {
+                    PlayerProfile profile = profilesByUUID.get(character[UUID_INDEX].toLowerCase(Locale.ENGLISH));
+
+                    if (profile == null) {
+                        profile = profilesByName.get(character[USERNAME].toLowerCase(Locale.ENGLISH));
+                    }
+
+                    if (profile == null) {
                         writer.append(line).append("\r\n");
                     }
                     else {
                         // Otherwise write the new player information
-                        writeUserToLine(profile, playerName, uuid, writer);
-                        wroteUser = true;
+                        writeUserToLine(profile, profile.getPlayerName(), profile.getUniqueId(), writer);
+                        previousNames.put(profile, character[USERNAME]);
                     }
                 }
 
                 /*
-                 * If we couldn't find the user in the DB we need to add him
+                 * If we couldn't find a user in the DB we need to add them
                  */
-                if(!wroteUser)
-                {
-                    writeUserToLine(profile, playerName, uuid, writer);
+                for (PlayerProfile profile : profiles) {
+                    if (!previousNames.containsKey(profile)) {
+                        writeUserToLine(profile, profile.getPlayerName(), profile.getUniqueId(), writer);
+                        previousNames.put(profile, profile.getPlayerName());
+                    }
                 }
 
                 // Write the new file
                 out = new FileWriter(usersFilePath);
                 out.write(writer.toString());
-                return true;
+
+                for (PlayerProfile profile : profiles) {
+                    String previousName = previousNames.get(profile);
+
+                    if (!previousName.equals(profile.getPlayerName())) {
+                        leaderboardIndex.remove(previousName);
+                    }
+
+                    leaderboardIndex.update(profile);
+                }
+
+                return Collections.emptyList();
             }
             catch (Exception e) {
                 e.printStackTrace();
-                return false;
+                return new ArrayList<>(profiles);
             }
             finally {
                 if (in != null) {
@@ -335,6 +368,14 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
     }
 
     private void writeUserToLine(PlayerProfile profile, String playerName, UUID uuid, StringBuilder writer) {
+        appendUserData(profile, playerName, uuid, writer);
+        writer.append("\r\n");
+    }
+
+    /**
+     * Appends the colon delimited representation of a profile, without a line terminator
+     */
+    static void appendUserData(PlayerProfile profile, String playerName, UUID uuid, StringBuilder writer) {
         writer.append(playerName).append(":");
         writer.append(profile.getSkillLevel(PrimarySkillType.MINING)).append(":");
         writer.append(":");
@@ -380,7 +421,6 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
         writer.append(uuid != null ? uuid.toString() : "NULL").append(":");
         writer.append(profile.getScoreboardTipsShown()).append(":");
         writer.append(profile.getUniqueData(UniqueDataType.CHIMAERA_WING_DATS)).append(":");
-        writer.append("\r\n");
     }
 
     public @NotNull List<PlayerStat> readLeaderboard(@Nullable PrimarySkillType skill, int pageNumber, int statsPerPage) throws InvalidSkillException {
@@ -390,25 +430,11 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
             throw new InvalidSkillException("A plugin hooking into mcMMO that you are using is attempting to read leaderboard skills for child skills, child skills do not have leaderboards! This is NOT an mcMMO error!");
         }
 
-        updateLeaderboards();
-        List<PlayerStat> statsList = skill == null ? powerLevels : playerStatHash.get(skill);
-        int fromIndex = (Math.max(pageNumber, 1) - 1) * statsPerPage;
-
-        return statsList.subList(Math.min(fromIndex, statsList.size()), Math.min(fromIndex + statsPerPage, statsList.size()));
+        return leaderboardIndex.readLeaderboard(skill, pageNumber, statsPerPage);
     }
 
     public Map<PrimarySkillType, Integer> readRank(String playerName) {
-        updateLeaderboards();
-
-        Map<PrimarySkillType, Integer> skills = new HashMap<>();
-
-        for (PrimarySkillType skill : PrimarySkillType.NON_CHILD_SKILLS) {
-            skills.put(skill, getPlayerRank(playerName, playerStatHash.get(skill)));
-        }
-
-        skills.put(null, getPlayerRank(playerName, powerLevels));
-
-        return skills;
+        return leaderboardIndex.readRank(playerName);
     }
 
     public void newUser(String playerName, UUID uuid) {
@@ -467,6 +493,7 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
                 // Add more in the same format as the line above
 
                 out.newLine();
+                leaderboardIndex.update(new PlayerProfile(playerName, uuid));
             }
             catch (Exception e) {
                 e.printStackTrace();
@@ -726,171 +753,43 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
     }
 
     public void loadParties(List<Party> parties) {
-        if (!partyFile.exists()) {
-            return;
-        }
-
-        try {
-            ArrayList<Party> hasAlly = new ArrayList<>();
-
-            for (String partyName : partiesFile.getConfigurationSection("").getKeys(false)) {
-                Party party = new Party(partyName);
-
-                String[] leaderSplit = partiesFile.getString(partyName + ".Leader").split("[|]");
-                party.setLeader(new PartyLeader(UUID.fromString(leaderSplit[0]), leaderSplit[1]));
-                party.setPassword(partiesFile.getString(partyName + ".Password"));
-                party.setLocked(partiesFile.getBoolean(partyName + ".Locked"));
-                party.setLevel(partiesFile.getInt(partyName + ".Level"));
-                party.setXp(partiesFile.getInt(partyName + ".Xp"));
-
-                if (partiesFile.getString(partyName + ".Ally") != null) {
-                    hasAlly.add(party);
-                }
-
-                party.setXpShareMode(ShareMode.getShareMode(partiesFile.getString(partyName + ".ExpShareMode", "NONE")));
-                party.setItemShareMode(ShareMode.getShareMode(partiesFile.getString(partyName + ".ItemShareMode", "NONE")));
-
-                for (ItemShareType itemShareType : ItemShareType.values()) {
-                    party.setSharingDrops(itemShareType, partiesFile.getBoolean(partyName + ".ItemShareType." + itemShareType.toString(), true));
-                }
-
-                LinkedHashMap<UUID, String> members = party.getMembers();
-
-                for (String memberEntry : partiesFile.getStringList(partyName + ".Members")) {
-                    String[] memberSplit = memberEntry.split("[|]");
-                    members.put(UUID.fromString(memberSplit[0]), memberSplit[1]);
-                }
-
-                parties.add(party);
-            }
-
-            mcMMO.p.debug("Loaded (" + parties.size() + ") Parties...");
-
-            for (Party party : hasAlly) {
-                party.setAlly(PartyManager.getParty(partiesFile.getString(party.getName() + ".Ally")));
-            }
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        partyStorage.loadParties(parties);
     }
 
     public void saveParties(Collection<? extends Party> parties) {
-        if (partyFile.exists()) {
-            if (!partyFile.delete()) {
-                mcMMO.p.getLogger().warning("Could not delete party file. Party saving failed!");
-                return;
-            }
-        }
-
-        YamlConfiguration partiesFile = new YamlConfiguration();
-
-        mcMMO.p.debug("Saving Parties... (" + parties.size() + ")");
-        for (Party party : parties) {
-            addPartyToFileNoSave(party);
-        }
-
-        try {
-            partiesFile.save(partyFile);
-        }
-        catch (Exception e) {
-            e.printStackTrace();
-        }
+        partyStorage.saveParties(parties);
     }
 
-    private void addPartyToFileNoSave(Party party){
-        String partyName = party.getName();
-        PartyLeader leader = party.getLeader();
-
-        partiesFile.set(partyName + ".Leader", leader.getUniqueId().toString() + "|" + leader.getPlayerName());
-        partiesFile.set(partyName + ".Password", party.getPassword());
-        partiesFile.set(partyName + ".Locked", party.isLocked());
-        partiesFile.set(partyName + ".Level", party.getLevel());
-        partiesFile.set(partyName + ".Xp", (int) party.getXp());
-        partiesFile.set(partyName + ".Ally", (party.getAlly() != null) ? party.getAlly().getName() : "");
-        partiesFile.set(partyName + ".ExpShareMode", party.getXpShareMode().toString());
-        partiesFile.set(partyName + ".ItemShareMode", party.getItemShareMode().toString());
-
-        for (ItemShareType itemShareType : ItemShareType.values()) {
-            partiesFile.set(partyName + ".ItemShareType." + itemShareType.toString(), party.sharingDrops(itemShareType));
-        }
-
-        List<String> members = new ArrayList<>();
-
-        for (Map.Entry<UUID, String> memberEntry : party.getMembers().entrySet()) {
-            String memberUniqueId = memberEntry.getKey() == null ? "" : memberEntry.getKey().toString();
-            String memberName = memberEntry.getValue();
-
-            if (!members.contains(memberName)) {
-                members.add(memberUniqueId + "|" + memberName);
-            }
-        }
-
-        partiesFile.set(partyName + ".Members", members);
-    }
-
-    public boolean partyExists(@NotNull String partyName){ //TODO test this
-        String party = partiesFile.getString(partyName);
-
-        return party == null;
+    public boolean partyExists(@NotNull String partyName) {
+        return partyStorage.partyExists(partyName);
     }
 
     public void removeFromParty(OfflinePlayer player, String name) {
-        List<String> list = partiesFile.getStringList(name + ".Members");
-        if (!list.isEmpty()) {
-            list.remove(player.getUniqueId() + "|" + player.getName());
-            partiesFile.set(name + ".Members", list);
-            save(partiesFile);
-        }
+        partyStorage.removeFromParty(player, name);
     }
 
     public void deleteParty(Party party) {
-        if (party.getAlly() != null){
-            disbandAlliance(party.getName(), party.getAlly().getName());
-        }
-        partiesFile.set(party.getName(), "");
-        save(partiesFile);
+        partyStorage.deleteParty(party);
     }
 
     public void setPartyLeader(OfflinePlayer player, String name) {
-        partiesFile.set(name + ".Leader", player.getUniqueId() + "|" + player.getName());
-        save(partiesFile);
+        partyStorage.setPartyLeader(player, name);
     }
 
     public boolean saveParty(Party party) {
-        addPartyToFileNoSave(party);
-        save(partiesFile);
-        return true;
+        return partyStorage.saveParty(party);
     }
 
     public void addUserToParty(String playerName, UUID uniqueId, String name) {
-        List<String> list = partiesFile.getStringList(name + ".Members");
-        String toAdd = uniqueId + "|" + name;
-        if (!list.isEmpty() && !list.contains(toAdd)) {
-            list.add(toAdd);
-            partiesFile.set(name + ".Members", list);
-            save(partiesFile);
-        }
+        partyStorage.addUserToParty(playerName, uniqueId, name);
     }
 
     public void setAllies(String partyName, String allyName) {
-        partiesFile.set(partyName + ".Ally", allyName);
-        partiesFile.set(allyName + ".Ally", partyName);
-        save(partiesFile);
-    }
-
-    public void disbandAlliance(String partyName, String allyName) { //TODO test this
-        partiesFile.set(partyName + ".Ally", "");
-        partiesFile.set(allyName + ".Ally", "");
-        save(partiesFile);
+        partyStorage.setAllies(partyName, allyName);
     }
 
-    private void save(YamlConfiguration partiesFile) {
-        try {
-            partiesFile.save(partyFile);
-        } catch (IOException e) {
-            mcMMO.p.getLogger().severe("Unable to save parties.yml file.");
-        }
+    public void disbandAlliance(String partyName, String allyName) {
+        partyStorage.disbandAlliance(partyName, allyName);
     }
 
     public List<String> getStoredUsers() {
@@ -927,36 +826,16 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
     }
 
     /**
-     * Update the leader boards.
+     * Rebuild the leader boards from the users file.
      */
-    private void updateLeaderboards() {
-        // Only update FFS leaderboards every 10 minutes.. this puts a lot of strain on the server (depending on the size of the database) and should not be done frequently
-        if (System.currentTimeMillis() < lastUpdate + UPDATE_WAIT_TIME) {
-            return;
-        }
-
+    private void rebuildLeaderboards() {
         String usersFilePath = mcMMO.getUsersFilePath();
-        lastUpdate = System.currentTimeMillis(); // Log when the last update was run
-        powerLevels.clear(); // Clear old values from the power levels
-
-        // Initialize lists
-        List<PlayerStat> mining = new ArrayList<>();
-        List<PlayerStat> woodcutting = new ArrayList<>();
-        List<PlayerStat> herbalism = new ArrayList<>();
-        List<PlayerStat> excavation = new ArrayList<>();
-        List<PlayerStat> acrobatics = new ArrayList<>();
-        List<PlayerStat> repair = new ArrayList<>();
-        List<PlayerStat> swords = new ArrayList<>();
-        List<PlayerStat> axes = new ArrayList<>();
-        List<PlayerStat> archery = new ArrayList<>();
-        List<PlayerStat> unarmed = new ArrayList<>();
-        List<PlayerStat> taming = new ArrayList<>();
-        List<PlayerStat> fishing = new ArrayList<>();
-        List<PlayerStat> alchemy = new ArrayList<>();
-
         BufferedReader in = null;
         String playerName = null;
-        // Read from the FlatFile database and fill our arrays with information
+
+        leaderboardIndex.clear();
+
+        // Read from the FlatFile database and fill our index with information
         synchronized (fileWritingLock) {
             try {
                 in = new BufferedReader(new FileReader(usersFilePath));
@@ -965,25 +844,8 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
                 while ((line = in.readLine()) != null) {
                     String[] data = line.split(":");
                     playerName = data[USERNAME];
-                    int powerLevel = 0;
-
-                    Map<PrimarySkillType, Integer> skills = getSkillMapFromLine(data);
-
-                    powerLevel += putStat(acrobatics, playerName, skills.get(PrimarySkillType.ACROBATICS));
-                    powerLevel += putStat(alchemy, playerName, skills.get(PrimarySkillType.ALCHEMY));
-                    powerLevel += putStat(archery, playerName, skills.get(PrimarySkillType.ARCHERY));
-                    powerLevel += putStat(axes, playerName, skills.get(PrimarySkillType.AXES));
-                    powerLevel += putStat(excavation, playerName, skills.get(PrimarySkillType.EXCAVATION));
-                    powerLevel += putStat(fishing, playerName, skills.get(PrimarySkillType.FISHING));
-                    powerLevel += putStat(herbalism, playerName, skills.get(PrimarySkillType.HERBALISM));
-                    powerLevel += putStat(mining, playerName, skills.get(PrimarySkillType.MINING));
-                    powerLevel += putStat(repair, playerName, skills.get(PrimarySkillType.REPAIR));
-                    powerLevel += putStat(swords, playerName, skills.get(PrimarySkillType.SWORDS));
-                    powerLevel += putStat(taming, playerName, skills.get(PrimarySkillType.TAMING));
-                    powerLevel += putStat(unarmed, playerName, skills.get(PrimarySkillType.UNARMED));
-                    powerLevel += putStat(woodcutting, playerName, skills.get(PrimarySkillType.WOODCUTTING));
-
-                    putStat(powerLevels, playerName, powerLevel);
+
+                    leaderboardIndex.update(playerName, getSkillMapFromLine(data));
                 }
             }
             catch (Exception e) {
@@ -1000,37 +862,6 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
                 }
             }
         }
-
-        SkillComparator c = new SkillComparator();
-
-        mining.sort(c);
-        woodcutting.sort(c);
-        repair.sort(c);
-        unarmed.sort(c);
-        herbalism.sort(c);
-        excavation.sort(c);
-        archery.sort(c);
-        swords.sort(c);
-        axes.sort(c);
-        acrobatics.sort(c);
-        taming.sort(c);
-        fishing.sort(c);
-        alchemy.sort(c);
-        powerLevels.sort(c);
-
-        playerStatHash.put(PrimarySkillType.MINING, mining);
-        playerStatHash.put(PrimarySkillType.WOODCUTTING, woodcutting);
-        playerStatHash.put(PrimarySkillType.REPAIR, repair);
-        playerStatHash.put(PrimarySkillType.UNARMED, unarmed);
-        playerStatHash.put(PrimarySkillType.HERBALISM, herbalism);
-        playerStatHash.put(PrimarySkillType.EXCAVATION, excavation);
-        playerStatHash.put(PrimarySkillType.ARCHERY, archery);
-        playerStatHash.put(PrimarySkillType.SWORDS, swords);
-        playerStatHash.put(PrimarySkillType.AXES, axes);
-        playerStatHash.put(PrimarySkillType.ACROBATICS, acrobatics);
-        playerStatHash.put(PrimarySkillType.TAMING, taming);
-        playerStatHash.put(PrimarySkillType.FISHING, fishing);
-        playerStatHash.put(PrimarySkillType.ALCHEMY, alchemy);
     }
 
     /**
@@ -1049,13 +880,18 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
                     String line;
                     HashSet<String> usernames = new HashSet<>();
                     HashSet<String> players = new HashSet<>();
+                    // Leave the file untouched when every line is already valid, so its leaderboard snapshot stays usable
+                    boolean rewriteFile = false;
 
                     while ((line = in.readLine()) != null) {
                         // Remove empty lines from the file
                         if (line.isEmpty()) {
+                            rewriteFile = true;
                             continue;
                         }
 
+                        String originalLine = line;
+
                         // Length checks depend on last character being ':'
                         if (line.charAt(line.length() - 1) != ':') {
                             line = line.concat(":");
@@ -1068,18 +904,21 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
                             character[USERNAME] = "_INVALID_OLD_USERNAME_'";
                             updated = true;
                             if (character.length < UUID_INDEX + 1 || character[UUID_INDEX].equals("NULL")) {
+                                rewriteFile = true;
                                 continue;
                             }
                         }
 
                         // Prevent the same player from being present multiple times
                         if (character.length >= 42 && (!character[UUID_INDEX].isEmpty() && !character[UUID_INDEX].equals("NULL") && !players.add(character[UUID_INDEX]))) {
+                            rewriteFile = true;
                             continue;
                         }
 
                         if (character.length < 33) {
                             // Before Version 1.0 - Drop
                             mcMMO.p.getLogger().warning("Dropping malformed or before version 1.0 line from database - " + line);
+                            rewriteFile = true;
                             continue;
                         }
 
@@ -1113,6 +952,7 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
 
                         // If they're valid, rewrite them to the file.
                         if (!updated && character.length == 43) {
+                            rewriteFile |= !line.equals(originalLine);
                             writer.append(line).append("\r\n");
                             continue;
                         }
@@ -1250,12 +1090,15 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
                             line = org.apache.commons.lang.StringUtils.join(character, ":") + ":";
                         }
 
+                        rewriteFile |= !line.equals(originalLine);
                         writer.append(line).append("\r\n");
                     }
 
                     // Write the new file
-                    out = new FileWriter(usersFilePath);
-                    out.write(writer.toString());
+                    if (rewriteFile) {
+                        out = new FileWriter(usersFilePath);
+                        out.write(writer.toString());
+                    }
                 }
                 catch (IOException e) {
                     mcMMO.p.getLogger().severe("Exception while reading " + usersFilePath + " (Are you sure you formatted it correctly?)" + e.toString());
@@ -1301,37 +1144,7 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
         }
     }
 
-    private Integer getPlayerRank(String playerName, List<PlayerStat> statsList) {
-        if (statsList == null) {
-            return null;
-        }
-
-        int currentPos = 1;
-
-        for (PlayerStat stat : statsList) {
-            if (stat.name.equalsIgnoreCase(playerName)) {
-                return currentPos;
-            }
-
-            currentPos++;
-        }
-
-        return null;
-    }
-
-    private int putStat(List<PlayerStat> statList, String playerName, int statValue) {
-        statList.add(new PlayerStat(playerName, statValue));
-        return statValue;
-    }
-
-    private static class SkillComparator implements Comparator<PlayerStat> {
-        @Override
-        public int compare(PlayerStat o1, PlayerStat o2) {
-            return (o2.statVal - o1.statVal);
-        }
-    }
-
-    private PlayerProfile loadFromLine(String[] character) {
+    static PlayerProfile loadFromLine(String[] character) {
         Map<PrimarySkillType, Integer>   skills     = getSkillMapFromLine(character);      // Skill levels
         Map<PrimarySkillType, Float>     skillsXp   = new EnumMap<>(PrimarySkillType.class);     // Skill & XP
         Map<SuperAbilityType, Integer> skillsDATS = new EnumMap<>(SuperAbilityType.class); // Ability & Cooldown
@@ -1400,7 +1213,7 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
         return new PlayerProfile(character[USERNAME], uuid, skills, skillsXp, skillsDATS, mobHealthbarType, scoreboardTipsShown, uniquePlayerDataMap);
     }
 
-    private Map<PrimarySkillType, Integer> getSkillMapFromLine(String[] character) {
+    static Map<PrimarySkillType, Integer> getSkillMapFromLine(String[] character) {
         Map<PrimarySkillType, Integer> skills = new EnumMap<>(PrimarySkillType.class);   // Skill & Level
 
         skills.put(PrimarySkillType.TAMING, Integer.valueOf(character[SKILLS_TAMING]));
@@ -1425,7 +1238,11 @@ public final class FlatfileDatabaseManager implements DatabaseManager {
     }
 
     @Override
-    public void onDisable() { }
+    public void onDisable() {
+        synchronized (fileWritingLock) {
+            leaderboardIndex.saveSnapshot(leaderboardSnapshotFile, usersFile);
+        }
+    }
 
     private int getSkillIndex(PrimarySkillType skill) {
         switch (skill) {
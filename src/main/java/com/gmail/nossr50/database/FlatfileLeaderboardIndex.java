@@ -0,0 +1,413 @@
+package com.gmail.nossr50.database;
+
+import com.gmail.nossr50.datatypes.database.PlayerStat;
+import com.gmail.nossr50.datatypes.player.PlayerProfile;
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import com.gmail.nossr50.mcMMO;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Leaderboard ranks for the flatfile database managers, kept up to date as users are saved instead of
+ * being rebuilt from the users file.
+ * <p>
+ * Each skill and the power level have their own order statistic tree ordered by level (descending) then name,
+ * so both rank lookups and leaderboard pages are O(log n). Players are keyed by their exact name, as the users
+ * file can hold several players whose names only differ in case.
+ */
+final class FlatfileLeaderboardIndex {
+    private static final int SNAPSHOT_MAGIC = 0x6D634D52; // mcMR
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final Map<PrimarySkillType, RankTree> skillRanks = new EnumMap<>(PrimarySkillType.class);
+    private final RankTree powerLevelRanks = new RankTree();
+    private final HashMap<String, PlayerLevels> players = new HashMap<>(); // Exact player name -> levels
+
+    FlatfileLeaderboardIndex() {
+        for (PrimarySkillType skill : PrimarySkillType.NON_CHILD_SKILLS) {
+            skillRanks.put(skill, new RankTree());
+        }
+    }
+
+    synchronized void clear() {
+        for (RankTree tree : skillRanks.values()) {
+            tree.clear();
+        }
+
+        powerLevelRanks.clear();
+        players.clear();
+    }
+
+    void update(PlayerProfile profile) {
+        Map<PrimarySkillType, Integer> skills = new EnumMap<>(PrimarySkillType.class);
+
+        for (PrimarySkillType skill : PrimarySkillType.NON_CHILD_SKILLS) {
+            skills.put(skill, profile.getSkillLevel(skill));
+        }
+
+        update(profile.getPlayerName(), skills);
+    }
+
+    /**
+     * Updates the ranks of a player, only touching the trees whose level actually changed
+     *
+     * @param playerName the name of the player
+     * @param skills the levels of every non child skill
+     */
+    synchronized void update(String playerName, Map<PrimarySkillType, Integer> skills) {
+        PlayerLevels previous = players.get(playerName);
+        PlayerLevels current = new PlayerLevels(playerName);
+
+        for (PrimarySkillType skill : PrimarySkillType.NON_CHILD_SKILLS) {
+            int level = skills.get(skill);
+            RankTree tree = skillRanks.get(skill);
+
+            current.levels[skill.ordinal()] = level;
+            current.powerLevel += level;
+
+            if (previous == null) {
+                tree.insert(playerName, level);
+            }
+            else if (previous.levels[skill.ordinal()] != level) {
+                tree.remove(playerName, previous.levels[skill.ordinal()]);
+                tree.insert(playerName, level);
+            }
+        }
+
+        if (previous == null) {
+            powerLevelRanks.insert(playerName, current.powerLevel);
+        }
+        else if (previous.powerLevel != current.powerLevel) {
+            powerLevelRanks.remove(playerName, previous.powerLevel);
+            powerLevelRanks.insert(playerName, current.powerLevel);
+        }
+
+        players.put(playerName, current);
+    }
+
+    /**
+     * @param playerName the exact name of the player, as it was last updated
+     */
+    synchronized void remove(String playerName) {
+        PlayerLevels previous = players.remove(playerName);
+
+        if (previous == null) {
+            return;
+        }
+
+        for (PrimarySkillType skill : PrimarySkillType.NON_CHILD_SKILLS) {
+            skillRanks.get(skill).remove(playerName, previous.levels[skill.ordinal()]);
+        }
+
+        powerLevelRanks.remove(playerName, previous.powerLevel);
+    }
+
+    synchronized @NotNull List<PlayerStat> readLeaderboard(@Nullable PrimarySkillType skill, int pageNumber, int statsPerPage) {
+        RankTree tree = skill == null ? powerLevelRanks : skillRanks.get(skill);
+        int fromIndex = (Math.max(pageNumber, 1) - 1) * statsPerPage;
+        List<PlayerStat> stats = new ArrayList<>(statsPerPage);
+
+        tree.collect(fromIndex, fromIndex + statsPerPage, stats);
+        return stats;
+    }
+
+    synchronized Map<PrimarySkillType, Integer> readRank(String playerName) {
+        PlayerLevels player = findPlayer(playerName);
+        Map<PrimarySkillType, Integer> skills = new HashMap<>();
+
+        for (PrimarySkillType skill : PrimarySkillType.NON_CHILD_SKILLS) {
+            skills.put(skill, player == null ? null : skillRanks.get(skill).rank(player.name, player.levels[skill.ordinal()]));
+        }
+
+        skills.put(null, player == null ? null : powerLevelRanks.rank(player.name, player.powerLevel));
+
+        return skills;
+    }
+
+    /**
+     * Looks a player up by exact name, falling back to the highest ranked player whose name only differs in case
+     */
+    private @Nullable PlayerLevels findPlayer(String playerName) {
+        PlayerLevels player = players.get(playerName);
+
+        if (player != null) {
+            return player;
+        }
+
+        for (PlayerLevels candidate : players.values()) {
+            if (candidate.name.equalsIgnoreCase(playerName) && (player == null || candidate.powerLevel > player.powerLevel)) {
+                player = candidate;
+            }
+        }
+
+        return player;
+    }
+
+    /**
+     * Loads the index from a snapshot, provided the snapshot was taken against the current state of the source file
+     *
+     * @param snapshotFile the snapshot to read
+     * @param sourceFile the users file the snapshot was taken from
+     * @return true if the snapshot was loaded, false if the index needs to be rebuilt from the users file
+     */
+    synchronized boolean loadSnapshot(File snapshotFile, File sourceFile) {
+        if (!snapshotFile.exists()) {
+            return false;
+        }
+
+        clear();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION
+                    || in.readLong() != sourceFile.length() || in.readLong() != sourceFile.lastModified()
+                    || in.readInt() != PrimarySkillType.NON_CHILD_SKILLS.size()) {
+                return false;
+            }
+
+            int playerCount = in.readInt();
+            Map<PrimarySkillType, Integer> skills = new EnumMap<>(PrimarySkillType.class);
+
+            for (int i = 0; i < playerCount; i++) {
+                String playerName = in.readUTF();
+
+                for (PrimarySkillType skill : PrimarySkillType.NON_CHILD_SKILLS) {
+                    skills.put(skill, in.readInt());
+                }
+
+                update(playerName, skills);
+            }
+
+            mcMMO.p.debug("Loaded leaderboards for " + playerCount + " users from " + snapshotFile.getName());
+            return true;
+        }
+        catch (IOException e) {
+            mcMMO.p.getLogger().warning("Unable to read leaderboard snapshot " + snapshotFile.getName() + ", rebuilding: " + e.toString());
+            clear();
+            return false;
+        }
+    }
+
+    /**
+     * Saves the index so the next startup doesn't have to rebuild it, must be called once the source file will no longer change
+     *
+     * @param snapshotFile the snapshot to write
+     * @param sourceFile the users file the index was built from
+     */
+    synchronized void saveSnapshot(File snapshotFile, File sourceFile) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(snapshotFile)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(sourceFile.length());
+            out.writeLong(sourceFile.lastModified());
+            out.writeInt(PrimarySkillType.NON_CHILD_SKILLS.size());
+            out.writeInt(players.size());
+
+            for (PlayerLevels player : players.values()) {
+                out.writeUTF(player.name);
+
+                for (PrimarySkillType skill : PrimarySkillType.NON_CHILD_SKILLS) {
+                    out.writeInt(player.levels[skill.ordinal()]);
+                }
+            }
+        }
+        catch (IOException e) {
+            mcMMO.p.getLogger().warning("Unable to save leaderboard snapshot " + snapshotFile.getName() + ": " + e.toString());
+            snapshotFile.delete();
+        }
+    }
+
+    private static final class PlayerLevels {
+        private final String name;
+        private final int[] levels = new int[PrimarySkillType.values().length];
+        private int powerLevel;
+
+        private PlayerLevels(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Treap keyed by (value descending, name ascending), where every node tracks the size of its subtree
+     */
+    private static final class RankTree {
+        private final Random random = new Random();
+        private Node root;
+
+        void clear() {
+            root = null;
+        }
+
+        void insert(String name, int value) {
+            root = insert(root, new Node(name, value, random.nextInt()));
+        }
+
+        void remove(String name, int value) {
+            root = remove(root, name, value);
+        }
+
+        /**
+         * @return the 1 based rank of the entry, or null if it isn't in the tree
+         */
+        Integer rank(String name, int value) {
+            int rank = 1;
+            Node node = root;
+
+            while (node != null) {
+                int compare = compare(name, value, node);
+
+                if (compare < 0) {
+                    node = node.left;
+                }
+                else if (compare > 0) {
+                    rank += size(node.left) + 1;
+                    node = node.right;
+                }
+                else {
+                    return rank + size(node.left);
+                }
+            }
+
+            return null;
+        }
+
+        void collect(int fromIndex, int toIndex, List<PlayerStat> stats) {
+            collect(root, 0, fromIndex, toIndex, stats);
+        }
+
+        private void collect(Node node, int offset, int fromIndex, int toIndex, List<PlayerStat> stats) {
+            if (node == null || offset >= toIndex || offset + node.size <= fromIndex) {
+                return;
+            }
+
+            collect(node.left, offset, fromIndex, toIndex, stats);
+
+            int index = offset + size(node.left);
+
+            if (index >= fromIndex && index < toIndex) {
+                stats.add(new PlayerStat(node.name, node.value));
+            }
+
+            collect(node.right, index + 1, fromIndex, toIndex, stats);
+        }
+
+        private Node insert(Node node, Node added) {
+            if (node == null) {
+                return added;
+            }
+
+            if (compare(added.name, added.value, node) < 0) {
+                node.left = insert(node.left, added);
+
+                if (node.left.priority > node.priority) {
+                    return rotateRight(node);
+                }
+            }
+            else {
+                node.right = insert(node.right, added);
+
+                if (node.right.priority > node.priority) {
+                    return rotateLeft(node);
+                }
+            }
+
+            node.updateSize();
+            return node;
+        }
+
+        private Node remove(Node node, String name, int value) {
+            if (node == null) {
+                return null;
+            }
+
+            int compare = compare(name, value, node);
+
+            if (compare == 0) {
+                return merge(node.left, node.right);
+            }
+
+            if (compare < 0) {
+                node.left = remove(node.left, name, value);
+            }
+            else {
+                node.right = remove(node.right, name, value);
+            }
+
+            node.updateSize();
+            return node;
+        }
+
+        private Node merge(Node left, Node right) {
+            if (left == null) {
+                return right;
+            }
+
+            if (right == null) {
+                return left;
+            }
+
+            if (left.priority > right.priority) {
+                left.right = merge(left.right, right);
+                left.updateSize();
+                return left;
+            }
+
+            right.left = merge(left, right.left);
+            right.updateSize();
+            return right;
+        }
+
+        private Node rotateRight(Node node) {
+            Node left = node.left;
+
+            node.left = left.right;
+            left.right = node;
+            node.updateSize();
+            left.updateSize();
+            return left;
+        }
+
+        private Node rotateLeft(Node node) {
+            Node right = node.right;
+
+            node.right = right.left;
+            right.left = node;
+            node.updateSize();
+            right.updateSize();
+            return right;
+        }
+
+        private static int compare(String name, int value, Node node) {
+            if (value != node.value) {
+                return value > node.value ? -1 : 1;
+            }
+
+            return name.compareTo(node.name);
+        }
+
+        private static int size(Node node) {
+            return node == null ? 0 : node.size;
+        }
+
+        private static final class Node {
+            private final String name;
+            private final int value;
+            private final int priority;
+            private int size = 1;
+            private Node left;
+            private Node right;
+
+            private Node(String name, int value, int priority) {
+                this.name = name;
+                this.value = value;
+                this.priority = priority;
+            }
+
+            private void updateSize() {
+                size = 1 + size(left) + size(right);
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.gmail.nossr50.database;
+
+import com.gmail.nossr50.datatypes.database.UpgradeType;
+import com.gmail.nossr50.datatypes.party.ItemShareType;
+import com.gmail.nossr50.datatypes.party.Party;
+import com.gmail.nossr50.datatypes.party.PartyLeader;
+import com.gmail.nossr50.datatypes.party.ShareMode;
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.party.PartyManager;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Party persistence backed by parties.yml, shared by the flatfile based database managers
+ */
+final class FlatfilePartyStorage {
+    private final File partyFile;
+    private final YamlConfiguration partiesFile;
+
+    FlatfilePartyStorage() {
+        partyFile = new File(mcMMO.getPartyFilePath());
+        partiesFile = YamlConfiguration.loadConfiguration(partyFile);
+
+        if (mcMMO.getUpgradeManager().shouldUpgrade(UpgradeType.ADD_UUIDS_PARTY)) {
+            PartyManager.loadAndUpgradeParties(partyFile, partiesFile);
+        }
+    }
+
+    public void loadParties(List<Party> parties) {
+        if (!partyFile.exists()) {
+            return;
+        }
+
+        try {
+            ArrayList<Party> hasAlly = new ArrayList<>();
+
+            for (String partyName : partiesFile.getConfigurationSection("").getKeys(false)) {
+                Party party = new Party(partyName);
+
+                String[] leaderSplit = partiesFile.getString(partyName + ".Leader").split("[|]");
+                party.setLeader(new PartyLeader(UUID.fromString(leaderSplit[0]), leaderSplit[1]));
+                party.setPassword(partiesFile.getString(partyName + ".Password"));
+                party.setLocked(partiesFile.getBoolean(partyName + ".Locked"));
+                party.setLevel(partiesFile.getInt(partyName + ".Level"));
+                party.setXp(partiesFile.getInt(partyName + ".Xp"));
+
+                if (partiesFile.getString(partyName + ".Ally") != null) {
+                    hasAlly.add(party);
+                }
+
+                party.setXpShareMode(ShareMode.getShareMode(partiesFile.getString(partyName + ".ExpShareMode", "NONE")));
+                party.setItemShareMode(ShareMode.getShareMode(partiesFile.getString(partyName + ".ItemShareMode", "NONE")));
+
+                for (ItemShareType itemShareType : ItemShareType.values()) {
+                    party.setSharingDrops(itemShareType, partiesFile.getBoolean(partyName + ".ItemShareType." + itemShareType.toString(), true));
+                }
+
+                LinkedHashMap<UUID, String> members = party.getMembers();
+
+                for (String memberEntry : partiesFile.getStringList(partyName + ".Members")) {
+                    String[] memberSplit = memberEntry.split("[|]");
+                    members.put(UUID.fromString(memberSplit[0]), memberSplit[1]);
+                }
+
+                parties.add(party);
+            }
+
+            mcMMO.p.debug("Loaded (" + parties.size() + ") Parties...");
+
+            for (Party party : hasAlly) {
+                party.setAlly(PartyManager.getParty(partiesFile.getString(party.getName() + ".Ally")));
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    public void saveParties(Collection<? extends Party> parties) {
+        if (partyFile.exists()) {
+            if (!partyFile.delete()) {
+                mcMMO.p.getLogger().warning("Could not delete party file. Party saving failed!");
+                return;
+            }
+        }
+
+        YamlConfiguration partiesFile = new YamlConfiguration();
+
+        mcMMO.p.debug("Saving Parties... (" + parties.size() + ")");
+        for (Party party : parties) {
+            addPartyToFileNoSave(party);
+        }
+
+        try {
+            partiesFile.save(partyFile);
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void addPartyToFileNoSave(Party party){
+        String partyName = party.getName();
+        PartyLeader leader = party.getLeader();
+
+        partiesFile.set(partyName + ".Leader", leader.getUniqueId().toString() + "|" + leader.getPlayerName());
+        partiesFile.set(partyName + ".Password", party.getPassword());
+        partiesFile.set(partyName + ".Locked", party.isLocked());
+        partiesFile.set(partyName + ".Level", party.getLevel());
+        partiesFile.set(partyName + ".Xp", (int) party.getXp());
+        partiesFile.set(partyName + ".Ally", (party.getAlly() != null) ? party.getAlly().getName() : "");
+        partiesFile.set(partyName + ".ExpShareMode", party.getXpShareMode().toString());
+        partiesFile.set(partyName + ".ItemShareMode", party.getItemShareMode().toString());
+
+        for (ItemShareType itemShareType : ItemShareType.values()) {
+            partiesFile.set(partyName + ".ItemShareType." + itemShareType.toString(), party.sharingDrops(itemShareType));
+        }
+
+        List<String> members = new ArrayList<>();
+
+        for (Map.Entry<UUID, String> memberEntry : party.getMembers().entrySet()) {
+            String memberUniqueId = memberEntry.getKey() == null ? "" : memberEntry.getKey().toString();
+            String memberName = memberEntry.getValue();
+
+            if (!members.contains(memberName)) {
+                members.add(memberUniqueId + "|" + memberName);
+            }
+        }
+
+        partiesFile.set(partyName + ".Members", members);
+    }
+
+    public boolean partyExists(@NotNull String partyName){ //TODO test this
+        String party = partiesFile.getString(partyName);
+
+        return party == null;
+    }
+
+    public void removeFromParty(OfflinePlayer player, String name) {
+        List<String> list = partiesFile.getStringList(name + ".Members");
+        if (!list.isEmpty()) {
+            list.remove(player.getUniqueId() + "|" + player.getName());
+            partiesFile.set(name + ".Members", list);
+            save(partiesFile);
+        }
+    }
+
+    public void deleteParty(Party party) {
+        if (party.getAlly() != null){
+            disbandAlliance(party.getName(), party.getAlly().getName());
+        }
+        partiesFile.set(party.getName(), "");
+        save(partiesFile);
+    }
+
+    public void setPartyLeader(OfflinePlayer player, String name) {
+        partiesFile.set(name + ".Leader", player.getUniqueId() + "|" + player.getName());
+        save(partiesFile);
+    }
+
+    public boolean saveParty(Party party) {
+        addPartyToFileNoSave(party);
+        save(partiesFile);
+        return true;
+    }
+
+    public void addUserToParty(String playerName, UUID uniqueId, String name) {
+        List<String> list = partiesFile.getStringList(name + ".Members");
+        String toAdd = uniqueId + "|" + name;
+        if (!list.isEmpty() && !list.contains(toAdd)) {
+            list.add(toAdd);
+            partiesFile.set(name + ".Members", list);
+            save(partiesFile);
+        }
+    }
+
+    public void setAllies(String partyName, String allyName) {
+        partiesFile.set(partyName + ".Ally", allyName);
+        partiesFile.set(allyName + ".Ally", partyName);
+        save(partiesFile);
+    }
+
+    public void disbandAlliance(String partyName, String allyName) { //TODO test this
+        partiesFile.set(partyName + ".Ally", "");
+        partiesFile.set(allyName + ".Ally", "");
+        save(partiesFile);
+    }
+
+    private void save(YamlConfiguration partiesFile) {
+        try {
+            partiesFile.save(partyFile);
+        } catch (IOException e) {
+            mcMMO.p.getLogger().severe("Unable to save parties.yml file.");
+        }
+    }
+}
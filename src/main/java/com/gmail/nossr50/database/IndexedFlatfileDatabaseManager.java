@@ -0,0 +1,846 @@
+package com.gmail.nossr50.database;
+
+import com.gmail.nossr50.api.exceptions.InvalidSkillException;
+import com.gmail.nossr50.config.Config;
+import com.gmail.nossr50.datatypes.database.DatabaseType;
+import com.gmail.nossr50.datatypes.database.PlayerStat;
+import com.gmail.nossr50.datatypes.party.Party;
+import com.gmail.nossr50.datatypes.player.PlayerProfile;
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.runnables.database.FlatfileCompactionTask;
+import com.gmail.nossr50.util.Misc;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+import static com.gmail.nossr50.database.FlatfileDatabaseManager.HEALTHBAR;
+import static com.gmail.nossr50.database.FlatfileDatabaseManager.LAST_LOGIN;
+import static com.gmail.nossr50.database.FlatfileDatabaseManager.USERNAME;
+import static com.gmail.nossr50.database.FlatfileDatabaseManager.UUID_INDEX;
+
+/**
+ * Flatfile database that keeps an in memory index of where each user lives in the data file.
+ * <p>
+ * Records are stored as [live flag][capacity][length][payload], where the payload is the same colon delimited
+ * line used by mcmmo.users. Saves overwrite a record in place when the new payload fits in its capacity,
+ * otherwise the record is appended to the end of the file and the old copy is tombstoned. Dead space is
+ * reclaimed by a background compaction.
+ */
+public final class IndexedFlatfileDatabaseManager implements DatabaseManager {
+    private static final int MAGIC = 0x6D634D55; // mcMU
+    private static final int FORMAT_VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 9; // Live flag + capacity + length
+    private static final byte RECORD_DEAD = 0;
+    private static final byte RECORD_LIVE = 1;
+    private static final int RECORD_PADDING = 32; // Room for levels and XP to grow before a record has to move
+
+    private static final long COMPACTION_INTERVAL_TICKS = 5 * 60 * Misc.TICK_CONVERSION_FACTOR; // 5 minutes
+    private static final long COMPACTION_MIN_DEAD_BYTES = 1024 * 1024;
+    private static final double COMPACTION_DEAD_RATIO = 0.5D;
+
+    private final FlatfileLeaderboardIndex leaderboardIndex = new FlatfileLeaderboardIndex();
+    private final File dataFile;
+    private final File leaderboardSnapshotFile;
+    private final FlatfilePartyStorage partyStorage;
+    private final BukkitTask compactionTask;
+
+    private final Object fileLock = new Object();
+    private final TreeMap<Long, UserRecord> records = new TreeMap<>();
+    private final HashMap<UUID, UserRecord> uuidIndex = new HashMap<>();
+    private final HashMap<String, UserRecord> nameIndex = new HashMap<>();
+    private RandomAccessFile dataAccess;
+    private long liveBytes;
+    private long deadBytes;
+
+    protected IndexedFlatfileDatabaseManager() {
+        dataFile = new File(mcMMO.getFlatFileDirectory() + "mcmmo.users.db");
+        leaderboardSnapshotFile = new File(dataFile.getPath() + ".ranks");
+        partyStorage = new FlatfilePartyStorage();
+
+        synchronized (fileLock) {
+            try {
+                dataFile.getParentFile().mkdirs();
+
+                if (dataFile.exists()) {
+                    dataAccess = new RandomAccessFile(dataFile, "rw");
+                    loadIndex();
+                }
+                else {
+                    createDataFile(new File(mcMMO.getUsersFilePath()));
+                }
+            }
+            catch (IOException e) {
+                mcMMO.p.getLogger().severe("Unable to open " + dataFile.getPath() + ", users will not be saved: " + e.toString());
+                closeDataFile();
+            }
+        }
+
+        if (!leaderboardIndex.loadSnapshot(leaderboardSnapshotFile, dataFile)) {
+            rebuildLeaderboards();
+        }
+
+        compactionTask = new FlatfileCompactionTask(this).runTaskTimerAsynchronously(mcMMO.p, COMPACTION_INTERVAL_TICKS, COMPACTION_INTERVAL_TICKS);
+    }
+
+    public void purgePowerlessUsers() {
+        int purgedUsers = 0;
+
+        mcMMO.p.getLogger().info("Purging powerless users...");
+
+        synchronized (fileLock) {
+            try {
+                for (UserRecord record : new ArrayList<>(records.values())) {
+                    Map<PrimarySkillType, Integer> skills = FlatfileDatabaseManager.getSkillMapFromLine(readCharacter(record));
+
+                    boolean powerless = true;
+                    for (int skill : skills.values()) {
+                        if (skill != 0) {
+                            powerless = false;
+                            break;
+                        }
+                    }
+
+                    if (powerless) {
+                        deleteRecord(record);
+                        purgedUsers++;
+                    }
+                }
+            }
+            catch (IOException e) {
+                mcMMO.p.getLogger().severe("Exception while reading " + dataFile.getPath() + " " + e.toString());
+            }
+        }
+
+        compactIfNeeded();
+        mcMMO.p.getLogger().info("Purged " + purgedUsers + " users from the database.");
+    }
+
+    public void purgeOldUsers() {
+        int removedPlayers = 0;
+        long currentTime = System.currentTimeMillis();
+
+        mcMMO.p.getLogger().info("Purging old users...");
+
+        synchronized (fileLock) {
+            try {
+                for (UserRecord record : new ArrayList<>(records.values())) {
+                    String[] character = readCharacter(record);
+                    long lastPlayed = 0;
+                    boolean rewrite = false;
+                    try {
+                        lastPlayed = Long.parseLong(character[LAST_LOGIN]) * Misc.TIME_CONVERSION_FACTOR;
+                    }
+                    catch (NumberFormatException e) {
+                        e.printStackTrace();
+                    }
+                    if (lastPlayed == 0) {
+                        OfflinePlayer player = mcMMO.p.getServer().getOfflinePlayer(record.name);
+                        lastPlayed = player.getLastPlayed();
+                        rewrite = true;
+                    }
+
+                    if (currentTime - lastPlayed > PURGE_TIME) {
+                        deleteRecord(record);
+                        removedPlayers++;
+                    }
+                    else if (rewrite) {
+                        // Rewrite their data with a valid time
+                        character[LAST_LOGIN] = Long.toString(lastPlayed);
+                        writeRecord(record, record.name, record.uuid, joinCharacter(character));
+                    }
+                }
+            }
+            catch (IOException e) {
+                mcMMO.p.getLogger().severe("Exception while reading " + dataFile.getPath() + " " + e.toString());
+            }
+        }
+
+        compactIfNeeded();
+        mcMMO.p.getLogger().info("Purged " + removedPlayers + " users from the database.");
+    }
+
+    public boolean removeUser(String playerName, UUID uuid) {
+        //NOTE: UUID is unused for FlatFile for this interface implementation
+        boolean worked = false;
+
+        synchronized (fileLock) {
+            UserRecord record = nameIndex.get(playerName.toLowerCase(Locale.ENGLISH));
+
+            if (record != null) {
+                try {
+                    mcMMO.p.getLogger().info("User found, removing...");
+                    deleteRecord(record);
+                    worked = true;
+                }
+                catch (IOException e) {
+                    mcMMO.p.getLogger().severe("Exception while removing " + playerName + " from " + dataFile.getPath() + " " + e.toString());
+                }
+            }
+        }
+
+        Misc.profileCleanup(playerName);
+
+        return worked;
+    }
+
+    @Override
+    public void cleanupUser(UUID uuid) {
+        //Not used in FlatFile
+    }
+
+    public boolean saveUser(PlayerProfile profile) {
+        String playerName = profile.getPlayerName();
+        UUID uuid = profile.getUniqueId();
+        StringBuilder writer = new StringBuilder();
+
+        FlatfileDatabaseManager.appendUserData(profile, playerName, uuid, writer);
+
+        synchronized (fileLock) {
+            try {
+                UserRecord record = uuid != null ? uuidIndex.get(uuid) : null;
+
+                if (record == null) {
+                    record = nameIndex.get(playerName.toLowerCase(Locale.ENGLISH));
+                }
+
+                String previousName = record != null ? record.name : null;
+
+                writeRecord(record, playerName, uuid, writer.toString());
+
+                if (previousName != null && !previousName.equals(playerName)) {
+                    leaderboardIndex.remove(previousName);
+                }
+
+                leaderboardIndex.update(profile);
+                return true;
+            }
+            catch (Exception e) {
+                e.printStackTrace();
+                return false;
+            }
+        }
+    }
+
+    public @NotNull List<PlayerStat> readLeaderboard(@Nullable PrimarySkillType skill, int pageNumber, int statsPerPage) throws InvalidSkillException {
+        //Fix for a plugin that people are using that is throwing SQL errors
+        if(skill != null && skill.isChildSkill()) {
+            mcMMO.p.getLogger().severe("A plugin hooking into mcMMO is being naughty with our database commands, update all plugins that hook into mcMMO and contact their devs!");
+            throw new InvalidSkillException("A plugin hooking into mcMMO that you are using is attempting to read leaderboard skills for child skills, child skills do not have leaderboards! This is NOT an mcMMO error!");
+        }
+
+        return leaderboardIndex.readLeaderboard(skill, pageNumber, statsPerPage);
+    }
+
+    public Map<PrimarySkillType, Integer> readRank(String playerName) {
+        return leaderboardIndex.readRank(playerName);
+    }
+
+    public void newUser(String playerName, UUID uuid) {
+        PlayerProfile profile = new PlayerProfile(playerName, uuid, true);
+        StringBuilder writer = new StringBuilder();
+
+        FlatfileDatabaseManager.appendUserData(profile, playerName, uuid, writer);
+
+        synchronized (fileLock) {
+            try {
+                writeRecord(null, playerName, uuid, writer.toString());
+                leaderboardIndex.update(profile);
+            }
+            catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @Deprecated
+    public PlayerProfile loadPlayerProfile(String playerName, boolean create) {
+        return loadPlayerProfile(playerName, null, false);
+    }
+
+    public PlayerProfile loadPlayerProfile(UUID uuid) {
+        return loadPlayerProfile("", uuid, false);
+    }
+
+    public PlayerProfile loadPlayerProfile(String playerName, UUID uuid, boolean create) {
+        synchronized (fileLock) {
+            try {
+                UserRecord record = findRecord(playerName, uuid);
+
+                if (record != null) {
+                    String[] character = readCharacter(record);
+
+                    // Update playerName in database after name change
+                    if (!playerName.isEmpty() && !character[USERNAME].equalsIgnoreCase(playerName)) {
+                        mcMMO.p.debug("Name change detected: " + character[USERNAME] + " => " + playerName);
+                        character[USERNAME] = playerName;
+                    }
+
+                    return FlatfileDatabaseManager.loadFromLine(character);
+                }
+
+                // Didn't find the player, create a new one
+                if (create) {
+                    newUser(playerName, uuid);
+                    return new PlayerProfile(playerName, uuid, true);
+                }
+            }
+            catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+
+        // Return unloaded profile
+        return new PlayerProfile(playerName, uuid);
+    }
+
+    public List<String> getStoredUsers() {
+        ArrayList<String> users = new ArrayList<>();
+
+        synchronized (fileLock) {
+            for (UserRecord record : records.values()) {
+                users.add(record.name);
+            }
+        }
+
+        return users;
+    }
+
+    public void convertUsers(DatabaseManager destination) {
+        int convertedUsers = 0;
+        long startMillis = System.currentTimeMillis();
+
+        synchronized (fileLock) {
+            for (UserRecord record : records.values()) {
+                try {
+                    destination.saveUser(FlatfileDatabaseManager.loadFromLine(readCharacter(record)));
+                }
+                catch (Exception e) {
+                    e.printStackTrace();
+                }
+                convertedUsers++;
+                Misc.printProgress(convertedUsers, progressInterval, startMillis);
+            }
+        }
+    }
+
+    public boolean saveUserUUID(String userName, UUID uuid) {
+        synchronized (fileLock) {
+            try {
+                return updateUUID(userName, uuid);
+            }
+            catch (IOException e) {
+                mcMMO.p.getLogger().severe("Exception while saving UUID for " + userName + " to " + dataFile.getPath() + " " + e.toString());
+                return false;
+            }
+        }
+    }
+
+    public boolean saveUserUUIDs(Map<String, UUID> fetchedUUIDs) {
+        int i = 0;
+
+        synchronized (fileLock) {
+            try {
+                for (Map.Entry<String, UUID> entry : fetchedUUIDs.entrySet()) {
+                    if (updateUUID(entry.getKey(), entry.getValue())) {
+                        i++;
+                    }
+                }
+            }
+            catch (IOException e) {
+                mcMMO.p.getLogger().severe("Exception while saving UUIDs to " + dataFile.getPath() + " " + e.toString());
+            }
+            finally {
+                mcMMO.p.getLogger().info(i + " entries written while saving UUID batch");
+            }
+        }
+
+        return true;
+    }
+
+    public void resetMobHealthSettings() {
+        synchronized (fileLock) {
+            try {
+                for (UserRecord record : new ArrayList<>(records.values())) {
+                    String[] character = readCharacter(record);
+
+                    character[HEALTHBAR] = Config.getInstance().getMobHealthbarDefault().toString();
+                    writeRecord(record, record.name, record.uuid, joinCharacter(character));
+                }
+            }
+            catch (IOException e) {
+                mcMMO.p.getLogger().severe("Exception while resetting mob health settings in " + dataFile.getPath() + " " + e.toString());
+            }
+        }
+    }
+
+    public void loadParties(List<Party> parties) {
+        partyStorage.loadParties(parties);
+    }
+
+    public void saveParties(Collection<? extends Party> parties) {
+        partyStorage.saveParties(parties);
+    }
+
+    public boolean partyExists(@NotNull String partyName) {
+        return partyStorage.partyExists(partyName);
+    }
+
+    public void removeFromParty(OfflinePlayer player, String name) {
+        partyStorage.removeFromParty(player, name);
+    }
+
+    public void deleteParty(Party party) {
+        partyStorage.deleteParty(party);
+    }
+
+    public void setPartyLeader(OfflinePlayer player, String name) {
+        partyStorage.setPartyLeader(player, name);
+    }
+
+    public boolean saveParty(Party party) {
+        return partyStorage.saveParty(party);
+    }
+
+    public void addUserToParty(String playerName, UUID uniqueId, String name) {
+        partyStorage.addUserToParty(playerName, uniqueId, name);
+    }
+
+    public void setAllies(String partyName, String allyName) {
+        partyStorage.setAllies(partyName, allyName);
+    }
+
+    public void disbandAlliance(String partyName, String allyName) {
+        partyStorage.disbandAlliance(partyName, allyName);
+    }
+
+    public DatabaseType getDatabaseType() {
+        return DatabaseType.FLATFILE_INDEXED;
+    }
+
+    @Override
+    public void onDisable() {
+        compactionTask.cancel();
+
+        synchronized (fileLock) {
+            closeDataFile();
+            leaderboardIndex.saveSnapshot(leaderboardSnapshotFile, dataFile);
+        }
+    }
+
+    private void closeDataFile() {
+        if (dataAccess == null) {
+            return;
+        }
+
+        try {
+            dataAccess.close();
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        dataAccess = null;
+    }
+
+    /**
+     * Rewrites the data file without dead records once enough of it has been wasted by moves and removals
+     */
+    public void compactIfNeeded() {
+        synchronized (fileLock) {
+            if (dataAccess == null || deadBytes < COMPACTION_MIN_DEAD_BYTES || deadBytes < liveBytes * COMPACTION_DEAD_RATIO) {
+                return;
+            }
+
+            try {
+                compact();
+            }
+            catch (IOException e) {
+                mcMMO.p.getLogger().severe("Unable to compact " + dataFile.getPath() + ": " + e.toString());
+            }
+        }
+    }
+
+    private void compact() throws IOException {
+        File tempFile = new File(dataFile.getPath() + ".tmp");
+        List<UserRecord> liveRecords = new ArrayList<>(records.values());
+        long[] newOffsets = new long[liveRecords.size()];
+        int[] newCapacities = new int[liveRecords.size()];
+        long reclaimed = deadBytes;
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            long offset = FILE_HEADER_SIZE;
+
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+
+            for (int i = 0; i < liveRecords.size(); i++) {
+                byte[] payload = readPayload(liveRecords.get(i));
+                int capacity = payload.length + RECORD_PADDING;
+
+                out.writeByte(RECORD_LIVE);
+                out.writeInt(capacity);
+                out.writeInt(payload.length);
+                out.write(payload);
+                out.write(new byte[RECORD_PADDING]);
+
+                newOffsets[i] = offset;
+                newCapacities[i] = capacity;
+                offset += RECORD_HEADER_SIZE + capacity;
+            }
+        }
+
+        dataAccess.close();
+
+        try {
+            Files.move(tempFile.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        finally {
+            // If the move failed the old file is still in place, and the records still point into it
+            dataAccess = new RandomAccessFile(dataFile, "rw");
+        }
+
+        records.clear();
+        liveBytes = 0;
+        deadBytes = 0;
+
+        for (int i = 0; i < liveRecords.size(); i++) {
+            UserRecord record = liveRecords.get(i);
+
+            record.offset = newOffsets[i];
+            record.capacity = newCapacities[i];
+            records.put(record.offset, record);
+            liveBytes += RECORD_HEADER_SIZE + record.capacity;
+        }
+
+        mcMMO.p.debug("Compacted " + dataFile.getName() + ", reclaimed " + reclaimed + " bytes");
+    }
+
+    /**
+     * Scans the data file and builds the user indexes, writing a fresh header if the file is empty
+     */
+    private void loadIndex() throws IOException {
+        long length = dataAccess.length();
+
+        if (length == 0) {
+            dataAccess.writeInt(MAGIC);
+            dataAccess.writeInt(FORMAT_VERSION);
+            return;
+        }
+
+        long validLength = FILE_HEADER_SIZE;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(dataFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException(dataFile.getName() + " is not a supported mcMMO user data file");
+            }
+
+            while (validLength + RECORD_HEADER_SIZE <= length) {
+                byte flag = in.readByte();
+                int capacity = in.readInt();
+                int dataLength = in.readInt();
+
+                if (capacity < 0 || dataLength < 0 || dataLength > capacity || validLength + RECORD_HEADER_SIZE + capacity > length) {
+                    break;
+                }
+
+                byte[] payload = new byte[capacity];
+                in.readFully(payload);
+
+                if (flag == RECORD_LIVE) {
+                    String[] character = new String(payload, 0, dataLength, StandardCharsets.UTF_8).split(":");
+
+                    indexRecord(new UserRecord(validLength, capacity, character[USERNAME], parseUUID(character)));
+                }
+                else {
+                    deadBytes += RECORD_HEADER_SIZE + capacity;
+                }
+
+                validLength += RECORD_HEADER_SIZE + capacity;
+            }
+        }
+
+        if (validLength < length) {
+            // A partially written record at the end of the file, most likely from a crash mid-append
+            mcMMO.p.getLogger().warning("Truncating " + (length - validLength) + " bytes of incomplete data from " + dataFile.getName());
+            dataAccess.setLength(validLength);
+        }
+
+        mcMMO.p.debug("Indexed " + records.size() + " users from " + dataFile.getName());
+    }
+
+    /**
+     * Creates the data file, with the users of the old flatfile in it.
+     * The users are imported into a temporary file moved into place once the import is complete, so an import
+     * that didn't finish is started over on the next start instead of leaving a partial data file behind.
+     */
+    private void createDataFile(File usersFile) throws IOException {
+        File importFile = new File(dataFile.getPath() + ".import");
+
+        Files.deleteIfExists(importFile.toPath());
+        dataAccess = new RandomAccessFile(importFile, "rw");
+        loadIndex();
+        importLegacyUsers(usersFile);
+
+        dataAccess.close();
+        dataAccess = null;
+        Files.move(importFile.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        dataAccess = new RandomAccessFile(dataFile, "rw");
+    }
+
+    /**
+     * Imports users from the colon delimited mcmmo.users file
+     */
+    private void importLegacyUsers(File usersFile) throws IOException {
+        if (!usersFile.exists()) {
+            return;
+        }
+
+        int importedUsers = 0;
+        long startMillis = System.currentTimeMillis();
+
+        mcMMO.p.getLogger().info("Importing users from " + usersFile.getName() + " into " + dataFile.getName() + "...");
+
+        try (BufferedReader in = new BufferedReader(new FileReader(usersFile))) {
+            String line;
+
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                if (line.charAt(line.length() - 1) != ':') {
+                    line = line.concat(":");
+                }
+
+                String[] character = line.split(":");
+
+                if (character.length <= UUID_INDEX) {
+                    mcMMO.p.getLogger().warning("Skipping outdated line while importing, start once with the old flatfile storage to upgrade it - " + line);
+                    continue;
+                }
+
+                writeRecord(null, character[USERNAME], parseUUID(character), line);
+                importedUsers++;
+                Misc.printProgress(importedUsers, progressInterval, startMillis);
+            }
+        }
+
+        mcMMO.p.getLogger().info("Imported " + importedUsers + " users, " + usersFile.getName() + " has been left in place and is no longer used.");
+    }
+
+    private boolean updateUUID(String userName, UUID uuid) throws IOException {
+        UserRecord record = nameIndex.get(userName.toLowerCase(Locale.ENGLISH));
+
+        if (record == null) {
+            return false;
+        }
+
+        String[] character = readCharacter(record);
+
+        if (character.length <= UUID_INDEX) {
+            mcMMO.p.getLogger().severe("Could not update UUID for " + userName + "!");
+            mcMMO.p.getLogger().severe("Database entry is invalid.");
+            return false;
+        }
+
+        character[UUID_INDEX] = uuid.toString();
+        writeRecord(record, record.name, uuid, joinCharacter(character));
+        return true;
+    }
+
+    private @Nullable UserRecord findRecord(String playerName, @Nullable UUID uuid) {
+        if (uuid != null) {
+            UserRecord record = uuidIndex.get(uuid);
+
+            if (record != null) {
+                return record;
+            }
+        }
+
+        // Compare names when we don't have a valid uuid for that player
+        UserRecord record = nameIndex.get(playerName.toLowerCase(Locale.ENGLISH));
+
+        if (record != null && (uuid == null || record.uuid == null)) {
+            return record;
+        }
+
+        return null;
+    }
+
+    /**
+     * Writes a user, in place if the existing record has room for it, otherwise as a new record at the end of the file
+     */
+    private void writeRecord(@Nullable UserRecord existing, String playerName, @Nullable UUID uuid, String line) throws IOException {
+        byte[] payload = line.getBytes(StandardCharsets.UTF_8);
+
+        if (existing != null && payload.length <= existing.capacity) {
+            writeAt(existing.offset, existing.capacity, payload);
+            unindexRecord(existing);
+            existing.name = playerName;
+            existing.uuid = uuid;
+            indexRecord(existing);
+            return;
+        }
+
+        // Append first so a crash between the two writes leaves the newer copy, which wins when indexing
+        UserRecord record = new UserRecord(dataAccess.length(), payload.length + RECORD_PADDING, playerName, uuid);
+        writeAt(record.offset, record.capacity, payload);
+
+        if (existing != null) {
+            // The user only moved, so their leaderboard entry stays
+            tombstoneRecord(existing);
+        }
+
+        indexRecord(record);
+    }
+
+    private void writeAt(long offset, int capacity, byte[] payload) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + capacity);
+
+        buffer.put(RECORD_LIVE);
+        buffer.putInt(capacity);
+        buffer.putInt(payload.length);
+        buffer.put(payload);
+
+        dataAccess.seek(offset);
+        dataAccess.write(buffer.array());
+    }
+
+    /**
+     * Deletes a user, removing them from the leaderboards as well
+     */
+    private void deleteRecord(UserRecord record) throws IOException {
+        if (tombstoneRecord(record)) {
+            leaderboardIndex.remove(record.name);
+        }
+    }
+
+    /**
+     * Marks a record as dead, without touching the leaderboards
+     *
+     * @return false if the record was already dead
+     */
+    private boolean tombstoneRecord(UserRecord record) throws IOException {
+        if (records.get(record.offset) != record) {
+            return false;
+        }
+
+        dataAccess.seek(record.offset);
+        dataAccess.writeByte(RECORD_DEAD);
+        unindexRecord(record);
+        deadBytes += RECORD_HEADER_SIZE + record.capacity;
+        return true;
+    }
+
+    /**
+     * Adds a record to the indexes, tombstoning any older record that it supersedes
+     */
+    private void indexRecord(UserRecord record) throws IOException {
+        if (record.uuid != null) {
+            UserRecord previous = uuidIndex.get(record.uuid);
+
+            if (previous != null && previous != record && tombstoneRecord(previous) && !previous.name.equals(record.name)) {
+                leaderboardIndex.remove(previous.name);
+            }
+        }
+
+        String nameKey = record.name.toLowerCase(Locale.ENGLISH);
+        UserRecord previousByName = nameIndex.get(nameKey);
+
+        if (previousByName != null && previousByName != record && previousByName.uuid == null
+                && tombstoneRecord(previousByName) && !previousByName.name.equals(record.name)) {
+            leaderboardIndex.remove(previousByName.name);
+        }
+
+        records.put(record.offset, record);
+        nameIndex.put(nameKey, record);
+        liveBytes += RECORD_HEADER_SIZE + record.capacity;
+
+        if (record.uuid != null) {
+            uuidIndex.put(record.uuid, record);
+        }
+    }
+
+    private void unindexRecord(UserRecord record) {
+        if (records.remove(record.offset) == null) {
+            return;
+        }
+
+        liveBytes -= RECORD_HEADER_SIZE + record.capacity;
+        nameIndex.remove(record.name.toLowerCase(Locale.ENGLISH), record);
+
+        if (record.uuid != null) {
+            uuidIndex.remove(record.uuid, record);
+        }
+    }
+
+    private byte[] readPayload(UserRecord record) throws IOException {
+        dataAccess.seek(record.offset + 5); // Skip the live flag and capacity
+        byte[] payload = new byte[dataAccess.readInt()];
+        dataAccess.readFully(payload);
+        return payload;
+    }
+
+    private String[] readCharacter(UserRecord record) throws IOException {
+        return new String(readPayload(record), StandardCharsets.UTF_8).split(":");
+    }
+
+    private static String joinCharacter(String[] character) {
+        return org.apache.commons.lang.StringUtils.join(character, ":") + ":";
+    }
+
+    private static @Nullable UUID parseUUID(String[] character) {
+        if (character.length <= UUID_INDEX) {
+            return null;
+        }
+
+        try {
+            return UUID.fromString(character[UUID_INDEX]);
+        }
+        catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Rebuild the leader boards from the data file.
+     */
+    private void rebuildLeaderboards() {
+        leaderboardIndex.clear();
+
+        synchronized (fileLock) {
+            for (UserRecord record : records.values()) {
+                try {
+                    leaderboardIndex.update(record.name, FlatfileDatabaseManager.getSkillMapFromLine(readCharacter(record)));
+                }
+                catch (Exception e) {
+                    mcMMO.p.getLogger().severe("Exception while reading " + dataFile.getPath() + " during user " + record.name + " " + e.toString());
+                }
+            }
+        }
+    }
+
+    private static class UserRecord {
+        private long offset;
+        private int capacity;
+        private String name;
+        private UUID uuid;
+
+        private UserRecord(long offset, int capacity, String name, UUID uuid) {
+            this.offset = offset;
+            this.capacity = capacity;
+            this.name = name;
+            this.uuid = uuid;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.gmail.nossr50.database;
+
+import com.gmail.nossr50.config.Config;
+import com.gmail.nossr50.datatypes.player.PlayerProfile;
+import com.gmail.nossr50.mcMMO;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind queue in front of {@link DatabaseManager#saveUser(PlayerProfile)}.
+ * <p>
+ * Profile snapshots are queued per player, a newer snapshot replacing any that hasn't been written yet, and
+ * are flushed through {@link DatabaseManager#saveUsers(List)} in batches of {@link Config#getSaveBatchSize()}.
+ * Writes are serialized, so a synchronous save can never be overwritten by an older queued snapshot.
+ */
+public final class ProfileSaveQueue {
+    private static final int MAX_SAVE_ATTEMPTS = 10;
+
+    private final LinkedHashMap<String, PendingSave> pending = new LinkedHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /* Metrics */
+    private final AtomicLong savedProfiles = new AtomicLong();
+    private final AtomicLong coalescedSnapshots = new AtomicLong();
+    private final AtomicLong failedSaves = new AtomicLong();
+    private final AtomicLong flushedBatches = new AtomicLong();
+    private final AtomicLong totalFlushMillis = new AtomicLong();
+    private volatile long lastFlushMillis;
+
+    /**
+     * Queue a snapshot of a profile to be written on the next flush
+     *
+     * @param owner the live profile the snapshot was taken from, marked dirty again if the snapshot can't be saved
+     * @param snapshot an immutable copy of the profile
+     */
+    public void enqueue(@NotNull PlayerProfile owner, @NotNull PlayerProfile snapshot) {
+        synchronized (pending) {
+            if (pending.put(getKey(snapshot), new PendingSave(owner, snapshot)) != null) {
+                coalescedSnapshots.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Save a snapshot right away, discarding any older snapshot of the same player that is still queued
+     *
+     * @param snapshot an immutable copy of the profile
+     * @return true if the snapshot was saved
+     */
+    public boolean saveNow(@NotNull PlayerProfile snapshot) {
+        flushLock.lock();
+
+        try {
+            synchronized (pending) {
+                if (pending.remove(getKey(snapshot)) != null) {
+                    coalescedSnapshots.incrementAndGet();
+                }
+            }
+
+            long startMillis = System.currentTimeMillis();
+            boolean saved = mcMMO.getDatabaseManager().saveUser(snapshot);
+
+            recordFlush(startMillis, saved ? 1 : 0, saved ? 0 : 1);
+            return saved;
+        }
+        finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write the queued snapshot of a player, if there is one, so that loading the player afterwards sees it
+     *
+     * @param uuid the uuid of the player
+     */
+    public void flushPlayer(@Nullable UUID uuid) {
+        if (uuid == null) {
+            return;
+        }
+
+        // Wait for a batch in flight, which may hold the snapshot of this player, to be written first
+        flushLock.lock();
+
+        try {
+            PendingSave pendingSave;
+
+            synchronized (pending) {
+                pendingSave = pending.get(uuid.toString());
+            }
+
+            if (pendingSave != null) {
+                if (!saveNow(pendingSave.snapshot)) {
+                    handleFailure(pendingSave);
+                }
+            }
+        }
+        finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write every queued snapshot, in batches, until the queue is empty or a batch fails
+     */
+    public void flush() {
+        flushLock.lock();
+
+        try {
+            List<PendingSave> batch;
+
+            while (!(batch = takeBatch()).isEmpty()) {
+                if (!flushBatch(batch)) {
+                    // Leave the rest for the next run instead of hammering a database that is having trouble
+                    break;
+                }
+            }
+        }
+        finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write every queued snapshot, retrying failed saves until they succeed or run out of attempts
+     */
+    public void drain() {
+        flushLock.lock();
+
+        try {
+            List<PendingSave> batch;
+
+            while (!(batch = takeBatch()).isEmpty()) {
+                flushBatch(batch);
+            }
+        }
+        finally {
+            flushLock.unlock();
+        }
+    }
+
+    private boolean flushBatch(List<PendingSave> batch) {
+        Map<PlayerProfile, PendingSave> bySnapshot = new IdentityHashMap<>();
+        List<PlayerProfile> snapshots = new ArrayList<>(batch.size());
+
+        for (PendingSave pendingSave : batch) {
+            bySnapshot.put(pendingSave.snapshot, pendingSave);
+            snapshots.add(pendingSave.snapshot);
+        }
+
+        long startMillis = System.currentTimeMillis();
+        List<PlayerProfile> failed;
+
+        try {
+            failed = mcMMO.getDatabaseManager().saveUsers(snapshots);
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            failed = snapshots;
+        }
+
+        recordFlush(startMillis, snapshots.size() - failed.size(), failed.size());
+
+        for (PlayerProfile snapshot : failed) {
+            handleFailure(bySnapshot.get(snapshot));
+        }
+
+        mcMMO.p.debug("Saved " + (snapshots.size() - failed.size()) + "/" + snapshots.size() + " profiles in " + lastFlushMillis + "ms, " + getQueueDepth() + " still queued");
+        return failed.isEmpty();
+    }
+
+    private void handleFailure(PendingSave pendingSave) {
+        PlayerProfile snapshot = pendingSave.snapshot;
+
+        mcMMO.p.getLogger().severe("PlayerProfile saving failed for player: " + snapshot.getPlayerName() + " " + snapshot.getUniqueId());
+
+        if (pendingSave.attempts + 1 >= MAX_SAVE_ATTEMPTS) {
+            mcMMO.p.getLogger().severe("mcMMO has failed to save the profile for "
+                    + snapshot.getPlayerName() + " numerous times." +
+                    " mcMMO will now stop attempting to save this profile." +
+                    " Check your console for errors and inspect your DB for issues.");
+            // Let the next periodic save pick the profile up again
+            pendingSave.owner.markProfileDirty();
+            return;
+        }
+
+        synchronized (pending) {
+            // A newer snapshot supersedes the one that failed
+            pending.putIfAbsent(getKey(snapshot), new PendingSave(pendingSave.owner, snapshot, pendingSave.attempts + 1));
+        }
+    }
+
+    private List<PendingSave> takeBatch() {
+        int batchSize = Config.getInstance().getSaveBatchSize();
+        List<PendingSave> batch = new ArrayList<>(Math.min(batchSize, 64));
+
+        synchronized (pending) {
+            Iterator<PendingSave> iterator = pending.values().iterator();
+
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+        }
+
+        return batch;
+    }
+
+    private void recordFlush(long startMillis, int saved, int failed) {
+        lastFlushMillis = System.currentTimeMillis() - startMillis;
+        totalFlushMillis.addAndGet(lastFlushMillis);
+        flushedBatches.incrementAndGet();
+        savedProfiles.addAndGet(saved);
+        failedSaves.addAndGet(failed);
+    }
+
+    private static String getKey(PlayerProfile profile) {
+        return profile.getUniqueId() != null ? profile.getUniqueId().toString() : profile.getPlayerName().toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * @return the number of profiles waiting to be written
+     */
+    public int getQueueDepth() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    public long getSavedProfiles() {
+        return savedProfiles.get();
+    }
+
+    /**
+     * @return the number of snapshots that were replaced by a newer one before being written
+     */
+    public long getCoalescedSnapshots() {
+        return coalescedSnapshots.get();
+    }
+
+    public long getFailedSaves() {
+        return failedSaves.get();
+    }
+
+    public long getLastFlushMillis() {
+        return lastFlushMillis;
+    }
+
+    public double getAverageFlushMillis() {
+        long batches = flushedBatches.get();
+
+        return batches == 0 ? 0 : (double) totalFlushMillis.get() / batches;
+    }
+
+    private static final class PendingSave {
+        private final PlayerProfile owner;
+        private final PlayerProfile snapshot;
+        private final int attempts;
+
+        private PendingSave(PlayerProfile owner, PlayerProfile snapshot) {
+            this(owner, snapshot, 0);
+        }
+
+        private PendingSave(PlayerProfile owner, PlayerProfile snapshot, int attempts) {
+            this.owner = owner;
+            this.snapshot = snapshot;
+            this.attempts = attempts;
+        }
+    }
+}
@@ -34,9 +34,29 @@ import java.util.concurrent.locks.ReentrantLock;
 
 public final class SQLDatabaseManager implements DatabaseManager {
     private static final String ALL_QUERY_VERSION = "total";
+    private static final String STATEMENT_CACHE = "StatementCache(prepared=true,callable=false,max=50)";
+
+    /* Skills with a column in the skills and experience tables, in the order the save query binds them */
+    private static final PrimarySkillType[] SAVED_SKILLS = {
+            PrimarySkillType.TAMING, PrimarySkillType.MINING, PrimarySkillType.REPAIR, PrimarySkillType.WOODCUTTING,
+            PrimarySkillType.UNARMED, PrimarySkillType.HERBALISM, PrimarySkillType.EXCAVATION,
+            PrimarySkillType.ARCHERY, PrimarySkillType.SWORDS, PrimarySkillType.AXES, PrimarySkillType.ACROBATICS,
+            PrimarySkillType.FISHING, PrimarySkillType.ALCHEMY
+    };
+
+    private static final int MAX_CACHED_USER_IDS = 4096;
+
     private final String tablePrefix = Config.getInstance().getMySQLTablePrefix();
+    private final String rankQuery = buildRankQuery();
+    private final String saveQuery = buildSaveQuery();
 
-    private final Map<UUID, Integer> cachedUserIDs = new HashMap<>();
+    // Filled when a profile is loaded and kept until the player logs out, evicting the least recently used ids past the limit
+    private final Map<UUID, Integer> cachedUserIDs = Collections.synchronizedMap(new LinkedHashMap<UUID, Integer>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Integer> eldest) {
+            return size() > MAX_CACHED_USER_IDS;
+        }
+    });
 
     private DataSource miscPool;
     private DataSource loadPool;
@@ -59,6 +79,9 @@ public final class SQLDatabaseManager implements DatabaseManager {
             connectionString+=
                     "?useSSL=false";
 
+        // Lets the driver send each save batch as a single round trip
+        connectionString += "&rewriteBatchedStatements=true";
+
         try {
             // Force driver to load if not yet loaded
             Class.forName("com.mysql.jdbc.Driver");
@@ -86,6 +109,8 @@ public final class SQLDatabaseManager implements DatabaseManager {
         poolProperties.setTestOnBorrow(true);
         poolProperties.setValidationQuery("SELECT 1");
         poolProperties.setValidationInterval(30000);
+        // Keep prepared statements (such as the rank query) alive per pooled connection instead of preparing them on every lookup
+        poolProperties.setJdbcInterceptors(STATEMENT_CACHE);
         miscPool = new DataSource(poolProperties);
         poolProperties = new PoolProperties();
         poolProperties.setDriverClassName("com.mysql.jdbc.Driver");
@@ -101,6 +126,7 @@ public final class SQLDatabaseManager implements DatabaseManager {
         poolProperties.setTestOnBorrow(true);
         poolProperties.setValidationQuery("SELECT 1");
         poolProperties.setValidationInterval(30000);
+        poolProperties.setJdbcInterceptors(STATEMENT_CACHE);
         savePool = new DataSource(poolProperties);
         poolProperties = new PoolProperties();
         poolProperties.setDriverClassName("com.mysql.jdbc.Driver");
@@ -116,6 +142,7 @@ public final class SQLDatabaseManager implements DatabaseManager {
         poolProperties.setTestOnBorrow(true);
         poolProperties.setValidationQuery("SELECT 1");
         poolProperties.setValidationInterval(30000);
+        poolProperties.setJdbcInterceptors(STATEMENT_CACHE);
         loadPool = new DataSource(poolProperties);
 
         checkStructure();
@@ -150,6 +177,8 @@ public final class SQLDatabaseManager implements DatabaseManager {
         finally {
             tryClose(statement);
             tryClose(connection);
+            // The ids of purged users may be cached
+            cachedUserIDs.clear();
             massUpdateLock.unlock();
         }
 
@@ -181,6 +210,8 @@ public final class SQLDatabaseManager implements DatabaseManager {
         finally {
             tryClose(statement);
             tryClose(connection);
+            // The ids of purged users may be cached
+            cachedUserIDs.clear();
             massUpdateLock.unlock();
         }
 
@@ -214,10 +245,15 @@ public final class SQLDatabaseManager implements DatabaseManager {
             tryClose(connection);
         }
 
-        if (success) {
-            if(uuid != null)
-                cleanupUser(uuid);
+        // Without a uuid there is no telling which cached id belonged to the user
+        if (uuid != null) {
+            cleanupUser(uuid);
+        }
+        else {
+            cachedUserIDs.clear();
+        }
 
+        if (success) {
             Misc.profileCleanup(playerName);
         }
 
@@ -229,129 +265,132 @@ public final class SQLDatabaseManager implements DatabaseManager {
     }
 
     public boolean saveUser(PlayerProfile profile) {
-        boolean success = true;
+        return saveUsers(Collections.singletonList(profile)).isEmpty();
+    }
+
+    /**
+     * Saves the profiles in a single transaction, every profile being written by one multi-table update sent as a single JDBC batch
+     */
+    @Override
+    public @NotNull List<PlayerProfile> saveUsers(@NotNull List<PlayerProfile> profiles) {
+        List<PlayerProfile> failed = new ArrayList<>();
+        List<PlayerProfile> batched = new ArrayList<>(profiles.size());
+        List<Integer> batchedIds = new ArrayList<>(profiles.size());
+        Map<UUID, Integer> createdIds = new HashMap<>(); // Only cached once committed, a rollback removes their rows
         PreparedStatement statement = null;
         Connection connection = null;
+        boolean autoCommit = true;
 
         try {
             connection = getConnection(PoolIdentifier.SAVE);
+            autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
 
-            int id = getUserID(connection, profile.getPlayerName(), profile.getUniqueId());
+            statement = connection.prepareStatement(saveQuery);
+
+            for (PlayerProfile profile : profiles) {
+                int id = getUserID(connection, profile.getPlayerName(), profile.getUniqueId());
 
-            if (id == -1) {
-                id = newUser(connection, profile.getPlayerName(), profile.getUniqueId());
                 if (id == -1) {
-                    mcMMO.p.getLogger().severe("Failed to create new account for " + profile.getPlayerName());
-                    return false;
+                    id = newUser(connection, profile.getPlayerName(), profile.getUniqueId());
+                    if (id == -1) {
+                        mcMMO.p.getLogger().severe("Failed to create new account for " + profile.getPlayerName());
+                        failed.add(profile);
+                        continue;
+                    }
+
+                    if (profile.getUniqueId() != null) {
+                        createdIds.put(profile.getUniqueId(), id);
+                    }
                 }
-            }
 
-            statement = connection.prepareStatement("UPDATE " + tablePrefix + "users SET lastlogin = UNIX_TIMESTAMP() WHERE id = ?");
-            statement.setInt(1, id);
-            success &= (statement.executeUpdate() != 0);
-            statement.close();
-            if (!success) {
-                mcMMO.p.getLogger().severe("Failed to update last login for " + profile.getPlayerName());
-                return false;
-            }
+                int parameter = 1;
 
-            statement = connection.prepareStatement("UPDATE " + tablePrefix + "skills SET "
-                    + " taming = ?, mining = ?, repair = ?, woodcutting = ?"
-                    + ", unarmed = ?, herbalism = ?, excavation = ?"
-                    + ", archery = ?, swords = ?, axes = ?, acrobatics = ?"
-                    + ", fishing = ?, alchemy = ?, total = ? WHERE user_id = ?");
-            statement.setInt(1, profile.getSkillLevel(PrimarySkillType.TAMING));
-            statement.setInt(2, profile.getSkillLevel(PrimarySkillType.MINING));
-            statement.setInt(3, profile.getSkillLevel(PrimarySkillType.REPAIR));
-            statement.setInt(4, profile.getSkillLevel(PrimarySkillType.WOODCUTTING));
-            statement.setInt(5, profile.getSkillLevel(PrimarySkillType.UNARMED));
-            statement.setInt(6, profile.getSkillLevel(PrimarySkillType.HERBALISM));
-            statement.setInt(7, profile.getSkillLevel(PrimarySkillType.EXCAVATION));
-            statement.setInt(8, profile.getSkillLevel(PrimarySkillType.ARCHERY));
-            statement.setInt(9, profile.getSkillLevel(PrimarySkillType.SWORDS));
-            statement.setInt(10, profile.getSkillLevel(PrimarySkillType.AXES));
-            statement.setInt(11, profile.getSkillLevel(PrimarySkillType.ACROBATICS));
-            statement.setInt(12, profile.getSkillLevel(PrimarySkillType.FISHING));
-            statement.setInt(13, profile.getSkillLevel(PrimarySkillType.ALCHEMY));
-            int total = 0;
-            for (PrimarySkillType primarySkillType : PrimarySkillType.NON_CHILD_SKILLS)
-                total += profile.getSkillLevel(primarySkillType);
-            statement.setInt(14, total);
-            statement.setInt(15, id);
-            success &= (statement.executeUpdate() != 0);
-            statement.close();
-            if (!success) {
-                mcMMO.p.getLogger().severe("Failed to update skills for " + profile.getPlayerName());
-                return false;
-            }
+                for (PrimarySkillType primarySkillType : SAVED_SKILLS) {
+                    statement.setInt(parameter++, profile.getSkillLevel(primarySkillType));
+                }
 
-            statement = connection.prepareStatement("UPDATE " + tablePrefix + "experience SET "
-                    + " taming = ?, mining = ?, repair = ?, woodcutting = ?"
-                    + ", unarmed = ?, herbalism = ?, excavation = ?"
-                    + ", archery = ?, swords = ?, axes = ?, acrobatics = ?"
-                    + ", fishing = ?, alchemy = ? WHERE user_id = ?");
-            statement.setInt(1, profile.getSkillXpLevel(PrimarySkillType.TAMING));
-            statement.setInt(2, profile.getSkillXpLevel(PrimarySkillType.MINING));
-            statement.setInt(3, profile.getSkillXpLevel(PrimarySkillType.REPAIR));
-            statement.setInt(4, profile.getSkillXpLevel(PrimarySkillType.WOODCUTTING));
-            statement.setInt(5, profile.getSkillXpLevel(PrimarySkillType.UNARMED));
-            statement.setInt(6, profile.getSkillXpLevel(PrimarySkillType.HERBALISM));
-            statement.setInt(7, profile.getSkillXpLevel(PrimarySkillType.EXCAVATION));
-            statement.setInt(8, profile.getSkillXpLevel(PrimarySkillType.ARCHERY));
-            statement.setInt(9, profile.getSkillXpLevel(PrimarySkillType.SWORDS));
-            statement.setInt(10, profile.getSkillXpLevel(PrimarySkillType.AXES));
-            statement.setInt(11, profile.getSkillXpLevel(PrimarySkillType.ACROBATICS));
-            statement.setInt(12, profile.getSkillXpLevel(PrimarySkillType.FISHING));
-            statement.setInt(13, profile.getSkillXpLevel(PrimarySkillType.ALCHEMY));
-            statement.setInt(14, id);
-            success &= (statement.executeUpdate() != 0);
-            statement.close();
-            if (!success) {
-                mcMMO.p.getLogger().severe("Failed to update experience for " + profile.getPlayerName());
-                return false;
-            }
+                int total = 0;
+                for (PrimarySkillType primarySkillType : PrimarySkillType.NON_CHILD_SKILLS)
+                    total += profile.getSkillLevel(primarySkillType);
+                statement.setInt(parameter++, total);
 
-            statement = connection.prepareStatement("UPDATE " + tablePrefix + "cooldowns SET "
-                    + "  mining = ?, woodcutting = ?, unarmed = ?"
-                    + ", herbalism = ?, excavation = ?, swords = ?"
-                    + ", axes = ?, blast_mining = ?, chimaera_wing = ? WHERE user_id = ?");
-            statement.setLong(1, profile.getAbilityDATS(SuperAbilityType.SUPER_BREAKER));
-            statement.setLong(2, profile.getAbilityDATS(SuperAbilityType.TREE_FELLER));
-            statement.setLong(3, profile.getAbilityDATS(SuperAbilityType.BERSERK));
-            statement.setLong(4, profile.getAbilityDATS(SuperAbilityType.GREEN_TERRA));
-            statement.setLong(5, profile.getAbilityDATS(SuperAbilityType.GIGA_DRILL_BREAKER));
-            statement.setLong(6, profile.getAbilityDATS(SuperAbilityType.SERRATED_STRIKES));
-            statement.setLong(7, profile.getAbilityDATS(SuperAbilityType.SKULL_SPLITTER));
-            statement.setLong(8, profile.getAbilityDATS(SuperAbilityType.BLAST_MINING));
-            statement.setLong(9, profile.getUniqueData(UniqueDataType.CHIMAERA_WING_DATS));
-            statement.setInt(10, id);
-            success = (statement.executeUpdate() != 0);
-            statement.close();
-            if (!success) {
-                mcMMO.p.getLogger().severe("Failed to update cooldowns for " + profile.getPlayerName());
-                return false;
+                for (PrimarySkillType primarySkillType : SAVED_SKILLS) {
+                    statement.setInt(parameter++, profile.getSkillXpLevel(primarySkillType));
+                }
+
+                statement.setLong(parameter++, profile.getAbilityDATS(SuperAbilityType.SUPER_BREAKER));
+                statement.setLong(parameter++, profile.getAbilityDATS(SuperAbilityType.TREE_FELLER));
+                statement.setLong(parameter++, profile.getAbilityDATS(SuperAbilityType.BERSERK));
+                statement.setLong(parameter++, profile.getAbilityDATS(SuperAbilityType.GREEN_TERRA));
+                statement.setLong(parameter++, profile.getAbilityDATS(SuperAbilityType.GIGA_DRILL_BREAKER));
+                statement.setLong(parameter++, profile.getAbilityDATS(SuperAbilityType.SERRATED_STRIKES));
+                statement.setLong(parameter++, profile.getAbilityDATS(SuperAbilityType.SKULL_SPLITTER));
+                statement.setLong(parameter++, profile.getAbilityDATS(SuperAbilityType.BLAST_MINING));
+                statement.setLong(parameter++, profile.getUniqueData(UniqueDataType.CHIMAERA_WING_DATS));
+                statement.setString(parameter++, profile.getMobHealthbarType() == null ? Config.getInstance().getMobHealthbarDefault().name() : profile.getMobHealthbarType().name());
+                statement.setInt(parameter++, profile.getScoreboardTipsShown());
+                statement.setInt(parameter, id);
+                statement.addBatch();
+
+                batched.add(profile);
+                batchedIds.add(id);
             }
 
-            statement = connection.prepareStatement("UPDATE " + tablePrefix + "huds SET mobhealthbar = ?, scoreboardtips = ? WHERE user_id = ?");
-            statement.setString(1, profile.getMobHealthbarType() == null ? Config.getInstance().getMobHealthbarDefault().name() : profile.getMobHealthbarType().name());
-            statement.setInt(2, profile.getScoreboardTipsShown());
-            statement.setInt(3, id);
-            success = (statement.executeUpdate() != 0);
-            statement.close();
-            if (!success) {
-                mcMMO.p.getLogger().severe("Failed to update hud settings for " + profile.getPlayerName());
-                return false;
+            int[] results = statement.executeBatch();
+
+            for (int i = 0; i < batched.size(); i++) {
+                // Statement.SUCCESS_NO_INFO is reported when the driver rewrote the batch, only 0 means nothing matched
+                if (results[i] == 0) {
+                    // The join matches nothing while one of the tables is missing its row, add it so the retry goes through
+                    mcMMO.p.getLogger().severe("Failed to update profile for " + batched.get(i).getPlayerName());
+                    writeMissingRows(connection, batchedIds.get(i));
+                    failed.add(batched.get(i));
+                }
             }
+
+            connection.commit();
+            cachedUserIDs.putAll(createdIds);
         }
         catch (SQLException ex) {
             printErrors(ex);
+            tryRollback(connection);
+            return new ArrayList<>(profiles);
         }
         finally {
             tryClose(statement);
+            tryResetAutoCommit(connection, autoCommit);
             tryClose(connection);
         }
 
-        return success;
+        return failed;
+    }
+
+    private String buildSaveQuery() {
+        StringBuilder query = new StringBuilder("UPDATE " + tablePrefix + "users u "
+                + "JOIN " + tablePrefix + "skills s ON (u.id = s.user_id) "
+                + "JOIN " + tablePrefix + "experience e ON (u.id = e.user_id) "
+                + "JOIN " + tablePrefix + "cooldowns c ON (u.id = c.user_id) "
+                + "JOIN " + tablePrefix + "huds h ON (u.id = h.user_id) "
+                + "SET u.lastlogin = UNIX_TIMESTAMP()");
+
+        for (PrimarySkillType primarySkillType : SAVED_SKILLS) {
+            query.append(", s.").append(primarySkillType.name().toLowerCase(Locale.ENGLISH)).append(" = ?");
+        }
+
+        query.append(", s.total = ?");
+
+        for (PrimarySkillType primarySkillType : SAVED_SKILLS) {
+            query.append(", e.").append(primarySkillType.name().toLowerCase(Locale.ENGLISH)).append(" = ?");
+        }
+
+        query.append(", c.mining = ?, c.woodcutting = ?, c.unarmed = ?"
+                + ", c.herbalism = ?, c.excavation = ?, c.swords = ?"
+                + ", c.axes = ?, c.blast_mining = ?, c.chimaera_wing = ?"
+                + ", h.mobhealthbar = ?, h.scoreboardtips = ?"
+                + " WHERE u.id = ?");
+
+        return query.toString();
     }
 
     public @NotNull List<PlayerStat> readLeaderboard(@Nullable PrimarySkillType skill, int pageNumber, int statsPerPage) throws InvalidSkillException {
@@ -407,80 +446,25 @@ public final class SQLDatabaseManager implements DatabaseManager {
 
         try {
             connection = getConnection(PoolIdentifier.MISC);
-            for (PrimarySkillType primarySkillType : PrimarySkillType.NON_CHILD_SKILLS) {
-                String skillName = primarySkillType.name().toLowerCase(Locale.ENGLISH);
-                // Get count of all users with higher skill level than player
-                String sql = "SELECT COUNT(*) AS 'rank' FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id WHERE " + skillName + " > 0 " +
-                        "AND " + skillName + " > (SELECT " + skillName + " FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id " +
-                        "WHERE user = ?)";
-
-                statement = connection.prepareStatement(sql);
-                statement.setString(1, playerName);
-                resultSet = statement.executeQuery();
-
-                resultSet.next();
-
-                int rank = resultSet.getInt("rank");
-
-                // Ties are settled by alphabetical order
-                sql = "SELECT user, " + skillName + " FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id WHERE " + skillName + " > 0 " +
-                        "AND " + skillName + " = (SELECT " + skillName + " FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id " +
-                        "WHERE user = '" + playerName + "') ORDER BY user";
-
-                resultSet.close();
-                statement.close();
-
-                statement = connection.prepareStatement(sql);
-                resultSet = statement.executeQuery();
-
-                while (resultSet.next()) {
-                    if (resultSet.getString("user").equalsIgnoreCase(playerName)) {
-                        skills.put(primarySkillType, rank + resultSet.getRow());
-                        break;
-                    }
-                }
-
-                resultSet.close();
-                statement.close();
-            }
-
-            String sql = "SELECT COUNT(*) AS 'rank' FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id " +
-                    "WHERE " + ALL_QUERY_VERSION + " > 0 " +
-                    "AND " + ALL_QUERY_VERSION + " > " +
-                    "(SELECT " + ALL_QUERY_VERSION + " " +
-                    "FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id WHERE user = ?)";
-
-            statement = connection.prepareStatement(sql);
+            statement = connection.prepareStatement(rankQuery);
             statement.setString(1, playerName);
             resultSet = statement.executeQuery();
 
-            resultSet.next();
-
-            int rank = resultSet.getInt("rank");
-
-            resultSet.close();
-            statement.close();
+            if (resultSet.next()) {
+                for (PrimarySkillType primarySkillType : PrimarySkillType.NON_CHILD_SKILLS) {
+                    int rank = resultSet.getInt(primarySkillType.name().toLowerCase(Locale.ENGLISH));
 
-            sql = "SELECT user, " + ALL_QUERY_VERSION + " " +
-                    "FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id " +
-                    "WHERE " + ALL_QUERY_VERSION + " > 0 " +
-                    "AND " + ALL_QUERY_VERSION + " = " +
-                    "(SELECT " + ALL_QUERY_VERSION + " " +
-                    "FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id WHERE user = ?) ORDER BY user";
+                    if (!resultSet.wasNull()) {
+                        skills.put(primarySkillType, rank);
+                    }
+                }
 
-            statement = connection.prepareStatement(sql);
-            statement.setString(1, playerName);
-            resultSet = statement.executeQuery();
+                int rank = resultSet.getInt(ALL_QUERY_VERSION);
 
-            while (resultSet.next()) {
-                if (resultSet.getString("user").equalsIgnoreCase(playerName)) {
-                    skills.put(null, rank + resultSet.getRow());
-                    break;
+                if (!resultSet.wasNull()) {
+                    skills.put(null, rank);
                 }
             }
-
-            resultSet.close();
-            statement.close();
         }
         catch (SQLException ex) {
             printErrors(ex);
@@ -494,6 +478,45 @@ public final class SQLDatabaseManager implements DatabaseManager {
         return skills;
     }
 
+    /**
+     * Builds a query that resolves every skill rank and the power level rank of a player in one round trip.
+     * <p>
+     * Each rank is the number of users with a higher level, plus those with the same level whose name sorts first.
+     * Players without any levels in a skill are left unranked (NULL) in that skill.
+     *
+     * @return the rank query, taking the player name as its only parameter
+     */
+    private String buildRankQuery() {
+        List<String> columns = new ArrayList<>();
+
+        for (PrimarySkillType primarySkillType : PrimarySkillType.NON_CHILD_SKILLS) {
+            columns.add(primarySkillType.name().toLowerCase(Locale.ENGLISH));
+        }
+
+        columns.add(ALL_QUERY_VERSION);
+
+        StringBuilder query = new StringBuilder("SELECT ");
+        String rankedUsers = "SELECT COUNT(*) FROM " + tablePrefix + "users AS ou JOIN " + tablePrefix + "skills AS os ON os.user_id = ou.id WHERE ";
+
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i);
+
+            if (i > 0) {
+                query.append(", ");
+            }
+
+            // Two separate counts so both can be answered from the skill column index
+            query.append("CASE WHEN s.").append(column).append(" > 0 THEN 1")
+                    .append(" + (").append(rankedUsers).append("os.").append(column).append(" > s.").append(column).append(")")
+                    .append(" + (").append(rankedUsers).append("os.").append(column).append(" = s.").append(column).append(" AND ou.user < u.user)")
+                    .append(" END AS ").append(column);
+        }
+
+        query.append(" FROM ").append(tablePrefix).append("users AS u JOIN ").append(tablePrefix).append("skills AS s ON s.user_id = u.id WHERE u.user = ? LIMIT 1");
+
+        return query.toString();
+    }
+
     public void newUser(String playerName, UUID uuid) {
         Connection connection = null;
 
@@ -577,6 +600,8 @@ public final class SQLDatabaseManager implements DatabaseManager {
                     if (id == -1) {
                         return new PlayerProfile(playerName, false);
                     }
+
+                    cacheUserID(uuid, id);
                 } else {
                     return new PlayerProfile(playerName, false);
                 }
@@ -2407,8 +2432,10 @@ public final class SQLDatabaseManager implements DatabaseManager {
         if (uuid == null)
             return getUserIDByName(connection, playerName);
 
-        if (cachedUserIDs.containsKey(uuid))
-            return cachedUserIDs.get(uuid);
+        Integer cachedID = cachedUserIDs.get(uuid);
+
+        if (cachedID != null)
+            return cachedID;
 
         ResultSet resultSet = null;
         PreparedStatement statement = null;
@@ -2422,7 +2449,7 @@ public final class SQLDatabaseManager implements DatabaseManager {
             if (resultSet.next()) {
                 int id = resultSet.getInt("id");
 
-                cachedUserIDs.put(uuid, id);
+                cacheUserID(uuid, id);
 
                 return id;
             }
@@ -2438,6 +2465,12 @@ public final class SQLDatabaseManager implements DatabaseManager {
         return -1;
     }
 
+    private void cacheUserID(UUID uuid, int id) {
+        if (uuid != null) {
+            cachedUserIDs.put(uuid, id);
+        }
+    }
+
     private int getUserIDByName(final Connection connection, final String playerName) {
         ResultSet resultSet = null;
         PreparedStatement statement = null;
@@ -2463,6 +2496,28 @@ public final class SQLDatabaseManager implements DatabaseManager {
         return -1;
     }
     
+    private void tryRollback(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.rollback();
+            }
+            catch (SQLException e) {
+                // Ignore
+            }
+        }
+    }
+
+    private void tryResetAutoCommit(Connection connection, boolean autoCommit) {
+        if (connection != null) {
+            try {
+                connection.setAutoCommit(autoCommit);
+            }
+            catch (SQLException e) {
+                // Ignore
+            }
+        }
+    }
+
     private void tryClose(AutoCloseable closeable) {
         if (closeable != null) {
             try {
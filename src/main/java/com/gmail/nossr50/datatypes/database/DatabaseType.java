@@ -2,6 +2,7 @@ package com.gmail.nossr50.datatypes.database;
 
 public enum DatabaseType {
     FLATFILE,
+    FLATFILE_INDEXED,
     SQL,
     CUSTOM;
 
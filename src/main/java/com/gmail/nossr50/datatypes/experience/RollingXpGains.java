@@ -0,0 +1,105 @@
+package com.gmail.nossr50.datatypes.experience;
+
+import com.gmail.nossr50.config.experience.ExperienceConfig;
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The XP a player gained in each skill during the last diminished returns interval.
+ * <p>
+ * Gains are added to a ring of time buckets spanning the interval, one ring per skill, with a running total kept next
+ * to it. Buckets leave the total as they expire, so reading or adding is constant time and nothing is allocated per gain.
+ * Gains expire when their bucket does, up to one bucket (1/60 of the interval) earlier than their exact time.
+ * Only meant to be used from the main thread.
+ */
+public class RollingXpGains {
+    private static final int BUCKET_COUNT = 60;
+
+    private final float[][] buckets = new float[PrimarySkillType.values().length][];
+    private final float[] totals = new float[PrimarySkillType.values().length];
+    private final long[] lastBuckets = new long[PrimarySkillType.values().length];
+    private long bucketLength;
+
+    /**
+     * Register an experience gain
+     *
+     * @param primarySkillType Skill being used
+     * @param xp Experience amount to add
+     */
+    public void add(@NotNull PrimarySkillType primarySkillType, float xp) {
+        int skill = primarySkillType.ordinal();
+        long bucket = advance(skill);
+
+        if (buckets[skill] == null) {
+            buckets[skill] = new float[BUCKET_COUNT];
+            lastBuckets[skill] = bucket;
+        }
+
+        buckets[skill][(int) (bucket % BUCKET_COUNT)] += xp;
+        totals[skill] += xp;
+    }
+
+    /**
+     * Get the experience gained during the interval
+     *
+     * @param primarySkillType Skill to check
+     * @return xp Experience amount registered
+     */
+    public float get(@NotNull PrimarySkillType primarySkillType) {
+        int skill = primarySkillType.ordinal();
+        advance(skill);
+        return totals[skill];
+    }
+
+    /**
+     * Expire the buckets of a skill which are older than the interval
+     *
+     * @return the bucket the current time falls in
+     */
+    private long advance(int skill) {
+        long length = getBucketLength();
+
+        // The interval was changed by a reload, the old buckets don't line up anymore
+        if (length != bucketLength) {
+            bucketLength = length;
+            Arrays.fill(buckets, null);
+            Arrays.fill(totals, 0F);
+        }
+
+        long bucket = System.currentTimeMillis() / length;
+        float[] ring = buckets[skill];
+
+        if (ring == null) {
+            return bucket;
+        }
+
+        long lastBucket = lastBuckets[skill];
+
+        if (bucket - lastBucket >= BUCKET_COUNT) {
+            Arrays.fill(ring, 0F);
+            totals[skill] = 0F;
+        }
+        else {
+            for (long expired = lastBucket + 1; expired <= bucket; expired++) {
+                int index = (int) (expired % BUCKET_COUNT);
+                totals[skill] -= ring[index];
+                ring[index] = 0F;
+            }
+
+            // Don't let float rounding leave a negative total behind
+            if (totals[skill] < 0F) {
+                totals[skill] = 0F;
+            }
+        }
+
+        lastBuckets[skill] = bucket;
+        return bucket;
+    }
+
+    private static long getBucketLength() {
+        return Math.max(1L, TimeUnit.MINUTES.toMillis(ExperienceConfig.getInstance().getDiminishedReturnsTimeInterval()) / BUCKET_COUNT);
+    }
+}
@@ -8,8 +8,8 @@ import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.locale.LocaleLoader;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.party.PartyManager;
+import com.gmail.nossr50.party.PartyProximityService;
 import com.gmail.nossr50.util.EventUtils;
-import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.sounds.SoundManager;
 import com.gmail.nossr50.util.sounds.SoundType;
 import org.bukkit.Bukkit;
@@ -30,6 +30,7 @@ public class Party {
     private final @NotNull Predicate<CommandSender> samePartyPredicate;
     private final LinkedHashMap<UUID, String> members = new LinkedHashMap<>();
     private final List<Player> onlineMembers = new ArrayList<>();
+    private final PartyProximityService.MemberPositions memberPositions = new PartyProximityService.MemberPositions();
 
     private PartyLeader leader;
     private String name;
@@ -114,13 +115,19 @@ public class Party {
     }
 
     public boolean addOnlineMember(Player player) {
+        memberPositions.invalidate();
         return onlineMembers.add(player);
     }
 
     public boolean removeOnlineMember(Player player) {
+        memberPositions.invalidate();
         return onlineMembers.remove(player);
     }
 
+    public PartyProximityService.MemberPositions getMemberPositions() {
+        return memberPositions;
+    }
+
     public String getName() {
         return name;
     }
@@ -382,19 +389,7 @@ public class Party {
      */
     public List<Player> getNearMembers(McMMOPlayer mcMMOPlayer) {
         List<Player> nearMembers = new ArrayList<>();
-        Party party = mcMMOPlayer.getParty();
-
-        if (party != null) {
-            Player player = mcMMOPlayer.getPlayer();
-            double range = Config.getInstance().getPartyShareRange();
-
-            for (Player member : party.getOnlineMembers()) {
-                if (!player.equals(member) && member.isValid() && Misc.isNear(player.getLocation(), member.getLocation(), range)) {
-                    nearMembers.add(member);
-                }
-            }
-        }
-
+        mcMMO.getPartyProximityService().collectNearMembers(mcMMOPlayer, false, nearMembers);
         return nearMembers;
     }
 
@@ -44,6 +44,7 @@ import com.gmail.nossr50.skills.woodcutting.WoodcuttingManager;
 import com.gmail.nossr50.util.BlockUtils;
 import com.gmail.nossr50.util.EventUtils;
 import com.gmail.nossr50.util.Misc;
+import com.gmail.nossr50.util.PermissionCache;
 import com.gmail.nossr50.util.Permissions;
 import com.gmail.nossr50.util.experience.ExperienceBarManager;
 import com.gmail.nossr50.util.player.NotificationManager;
@@ -80,6 +81,7 @@ public class McMMOPlayer implements Identified {
 
     private final Player        player;
     private final PlayerProfile profile;
+    private final PermissionCache permissionCache;
 
     private final Map<PrimarySkillType, SkillManager> skillManagers = new HashMap<>();
     private final ExperienceBarManager experienceBarManager;
@@ -125,6 +127,7 @@ public class McMMOPlayer implements Identified {
         this.player = player;
         playerMetadata = new FixedMetadataValue(mcMMO.p, playerName);
         this.profile = profile;
+        this.permissionCache = new PermissionCache(player);
 
         if (profile.getUniqueId() == null) {
             profile.setUniqueId(uuid);
@@ -588,7 +591,7 @@ public class McMMOPlayer implements Identified {
             return;
         }
 
-        if (!Config.getInstance().getPartyXpNearMembersNeeded() || !PartyManager.getNearMembers(this).isEmpty()) {
+        if (!Config.getInstance().getPartyXpNearMembersNeeded() || mcMMO.getPartyProximityService().hasNearMembers(this)) {
             party.applyXpGain(modifyXpGain(skill, xp));
         }
     }
@@ -675,6 +678,17 @@ public class McMMOPlayer implements Identified {
         return player;
     }
 
+    public PermissionCache getPermissionCache() {
+        return permissionCache;
+    }
+
+    /**
+     * Looks up the skill permissions of this player again, to be called after changing them
+     */
+    public void refreshPermissions() {
+        permissionCache.invalidate();
+    }
+
     public PlayerProfile getProfile() {
         return profile;
     }
@@ -882,7 +896,7 @@ public class McMMOPlayer implements Identified {
         }
 
         setToolPreparationMode(tool, false);
-        new AbilityDisableTask(this, ability).runTaskLater(mcMMO.p, ticks * Misc.TICK_CONVERSION_FACTOR);
+        new AbilityDisableTask(this, ability).schedule(ticks * Misc.TICK_CONVERSION_FACTOR);
     }
 
     public void processAbilityActivation(PrimarySkillType skill) {
@@ -944,7 +958,7 @@ public class McMMOPlayer implements Identified {
             }
 
             setToolPreparationMode(tool, true);
-            new ToolLowerTask(this, tool).runTaskLater(mcMMO.p, 4 * Misc.TICK_CONVERSION_FACTOR);
+            new ToolLowerTask(this, tool).schedule(4 * Misc.TICK_CONVERSION_FACTOR);
         }
     }
 
@@ -1066,7 +1080,10 @@ public class McMMOPlayer implements Identified {
     public void logout(boolean syncSave) {
         Player thisPlayer = getPlayer();
         BleedTimerTask.bleedOut(getPlayer());
+        // Award the XP of trees still being felled before the profile is saved
+        getWoodcuttingManager().finishTreeFeller();
         cleanup();
+        mcMMO.getTimerWheel().cancelAll(thisPlayer.getUniqueId());
 
         if (syncSave) {
             getProfile().save(true);
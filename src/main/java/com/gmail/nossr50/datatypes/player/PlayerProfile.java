@@ -5,7 +5,7 @@ import com.gmail.nossr50.config.Config;
 import com.gmail.nossr50.config.experience.ExperienceConfig;
 import com.gmail.nossr50.datatypes.MobHealthbarType;
 import com.gmail.nossr50.datatypes.experience.FormulaType;
-import com.gmail.nossr50.datatypes.experience.SkillXpGain;
+import com.gmail.nossr50.datatypes.experience.RollingXpGains;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SuperAbilityType;
 import com.gmail.nossr50.mcMMO;
@@ -18,7 +18,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.DelayQueue;
 
 public class PlayerProfile {
     private final String playerName;
@@ -38,8 +37,7 @@ public class PlayerProfile {
     private final Map<UniqueDataType, Integer> uniquePlayerData = new HashMap<>(); //Misc data that doesn't fit into other categories (chimaera wing, etc..)
 
     // Store previous XP gains for diminished returns
-    private final DelayQueue<SkillXpGain> gainedSkillsXp = new DelayQueue<>();
-    private final HashMap<PrimarySkillType, Float> rollingSkillsXp = new HashMap<>();
+    private final RollingXpGains rollingSkillsXp = new RollingXpGains();
 
     @Deprecated
     public PlayerProfile(String playerName) {
@@ -92,7 +90,7 @@ public class PlayerProfile {
     }
 
     public void scheduleAsyncSave() {
-        new PlayerProfileSaveTask(this, false).runTaskAsynchronously(mcMMO.p);
+        save(false);
     }
 
     public void scheduleSyncSave() {
@@ -108,17 +106,31 @@ public class PlayerProfile {
         new PlayerProfileSaveTask(this, true).runTaskLater(mcMMO.p, 20);
     }
 
+    /**
+     * Saves the profile if it has changed since the last save
+     *
+     * @param useSync if true the profile is written right away, otherwise it is queued for the next {@link com.gmail.nossr50.database.ProfileSaveQueue} flush
+     */
     public void save(boolean useSync) {
         if (!changed || !loaded) {
             saveAttempts = 0;
             return;
         }
 
+        // Clear the flag before copying so changes made while the copy is taken are picked up by the next save
+        changed = false;
+
         // TODO should this part be synchronized?
         PlayerProfile profileCopy = new PlayerProfile(playerName, uuid, ImmutableMap.copyOf(skills), ImmutableMap.copyOf(skillsXp), ImmutableMap.copyOf(abilityDATS), mobHealthbarType, scoreboardTipsShown, ImmutableMap.copyOf(uniquePlayerData));
-        changed = !mcMMO.getDatabaseManager().saveUser(profileCopy);
 
-        if (changed) {
+        if (!useSync) {
+            // Retries are handled by the queue
+            mcMMO.getProfileSaveQueue().enqueue(this, profileCopy);
+            return;
+        }
+
+        if (!mcMMO.getProfileSaveQueue().saveNow(profileCopy)) {
+            markProfileDirty();
             mcMMO.p.getLogger().severe("PlayerProfile saving failed for player: " + playerName + " " + uuid);
 
             if(saveAttempts > 0)
@@ -130,12 +142,7 @@ public class PlayerProfile {
             if(saveAttempts < 10)
             {
                 saveAttempts++;
-
-                if(useSync)
-                    scheduleSyncSave(); //Execute sync saves immediately
-                else
-                    scheduleAsyncSaveDelay();
-
+                scheduleSyncSave(); //Execute sync saves immediately
             } else {
                 mcMMO.p.getLogger().severe("mcMMO has failed to save the profile for "
                         +getPlayerName()+" numerous times." +
@@ -377,13 +384,7 @@ public class PlayerProfile {
      * @return xp Experience amount registered
      */
     public float getRegisteredXpGain(PrimarySkillType primarySkillType) {
-        float xp = 0F;
-
-        if (rollingSkillsXp.get(primarySkillType) != null) {
-            xp = rollingSkillsXp.get(primarySkillType);
-        }
-
-        return xp;
+        return rollingSkillsXp.get(primarySkillType);
     }
 
     /**
@@ -394,19 +395,7 @@ public class PlayerProfile {
      * @param xp Experience amount to add
      */
     public void registerXpGain(PrimarySkillType primarySkillType, float xp) {
-        gainedSkillsXp.add(new SkillXpGain(primarySkillType, xp));
-        rollingSkillsXp.put(primarySkillType, getRegisteredXpGain(primarySkillType) + xp);
-    }
-
-    /**
-     * Remove experience gains older than a given time
-     * This is used for diminished XP returns
-     */
-    public void purgeExpiredXpGains() {
-        SkillXpGain gain;
-        while ((gain = gainedSkillsXp.poll()) != null) {
-            rollingSkillsXp.put(gain.getSkill(), getRegisteredXpGain(gain.getSkill()) - gain.getXp());
-        }
+        rollingSkillsXp.add(primarySkillType, xp);
     }
 
     /**
@@ -109,6 +109,7 @@ public enum SubSkillType {
     WOODCUTTING_TREE_FELLER(1);
 
     private final int numRanks;
+    private String permissionNodeAddress;
     //TODO: SuperAbilityType should also contain flags for active by default? Not sure if it should work that way.
 
     /**
@@ -159,8 +160,11 @@ public enum SubSkillType {
      */
     public String getPermissionNodeAddress()
     {
-        //TODO: This could be optimized
-        return "mcmmo.ability." + getParentSkill().toString().toLowerCase(Locale.ENGLISH) + "." + getConfigName(toString()).toLowerCase(Locale.ENGLISH);
+        if (permissionNodeAddress == null) {
+            permissionNodeAddress = ("mcmmo.ability." + getParentSkill().toString().toLowerCase(Locale.ENGLISH) + "." + getConfigName(toString()).toLowerCase(Locale.ENGLISH)).intern();
+        }
+
+        return permissionNodeAddress;
     }
 
     /**
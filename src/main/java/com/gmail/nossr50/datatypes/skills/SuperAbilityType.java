@@ -7,6 +7,7 @@ import com.gmail.nossr50.util.BlockUtils;
 import com.gmail.nossr50.util.Permissions;
 import com.gmail.nossr50.util.text.StringUtils;
 import org.bukkit.Material;
+import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 import org.bukkit.entity.Player;
 
@@ -233,6 +234,36 @@ public enum SuperAbilityType {
         }
     }
 
+    /**
+     * Check if a block is affected by this ability, without taking a snapshot of it.
+     *
+     * @param block the block to check
+     * @return true if the block is affected by this ability, false otherwise
+     */
+    public boolean blockCheck(Block block) {
+        Material material = block.getType();
+
+        switch (this) {
+            case BERSERK:
+                return (BlockUtils.affectedByGigaDrillBreaker(block) || material == Material.SNOW || mcMMO.getMaterialMapStore().isGlass(material));
+
+            case GIGA_DRILL_BREAKER:
+                return BlockUtils.affectedByGigaDrillBreaker(block);
+
+            case GREEN_TERRA:
+                return BlockUtils.canMakeMossy(material);
+
+            case SUPER_BREAKER:
+                return BlockUtils.affectedBySuperBreaker(block);
+
+            case TREE_FELLER:
+                return BlockUtils.hasWoodcuttingXP(block);
+
+            default:
+                return false;
+        }
+    }
+
     /**
      * Grabs the associated SubSkillType definition for this SuperAbilityType
      * @return the matching SubSkillType definition for this SuperAbilityType
@@ -212,6 +212,7 @@ public class PlayerListener implements Listener {
 
         McMMOPlayer mcMMOPlayer = UserManager.getPlayer(player);
 
+        mcMMOPlayer.refreshPermissions(); //Permissions can be per world
         mcMMOPlayer.checkGodMode();
         mcMMOPlayer.checkParty();
     }
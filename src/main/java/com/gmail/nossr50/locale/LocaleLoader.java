@@ -13,15 +13,43 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 public final class LocaleLoader {
     private static final String BUNDLE_ROOT = "com.gmail.nossr50.locale.locale";
-    private static Map<String, String> bundleCache = new HashMap<>();
+    private static final Map<String, ChatColor> BRACKET_COLORS = new HashMap<>();
+    private static final ChatColor[] AMPERSAND_COLORS = new ChatColor[128];
+    private static Map<String, LocaleTemplate> templateCache = new ConcurrentHashMap<>();
     private static ResourceBundle bundle = null;
     private static ResourceBundle filesystemBundle = null;
     private static ResourceBundle enBundle = null;
 
+    static {
+        addColor("BLACK", '0', ChatColor.BLACK);
+        addColor("DARK_BLUE", '1', ChatColor.DARK_BLUE);
+        addColor("DARK_GREEN", '2', ChatColor.DARK_GREEN);
+        addColor("DARK_AQUA", '3', ChatColor.DARK_AQUA);
+        addColor("DARK_RED", '4', ChatColor.DARK_RED);
+        addColor("DARK_PURPLE", '5', ChatColor.DARK_PURPLE);
+        addColor("GOLD", '6', ChatColor.GOLD);
+        addColor("GRAY", '7', ChatColor.GRAY);
+        addColor("DARK_GRAY", '8', ChatColor.DARK_GRAY);
+        addColor("BLUE", '9', ChatColor.BLUE);
+        addColor("GREEN", 'a', ChatColor.GREEN);
+        addColor("AQUA", 'b', ChatColor.AQUA);
+        addColor("RED", 'c', ChatColor.RED);
+        addColor("LIGHT_PURPLE", 'd', ChatColor.LIGHT_PURPLE);
+        addColor("YELLOW", 'e', ChatColor.YELLOW);
+        addColor("WHITE", 'f', ChatColor.WHITE);
+        addColor("BOLD", 'l', ChatColor.BOLD);
+        addColor("UNDERLINE", 'n', ChatColor.UNDERLINE);
+        addColor("ITALIC", 'o', ChatColor.ITALIC);
+        addColor("STRIKE", 'm', ChatColor.STRIKETHROUGH);
+        addColor("MAGIC", '?', ChatColor.MAGIC);
+        addColor("RESET", 'r', ChatColor.RESET);
+    }
+
     private LocaleLoader() {}
 
     public static String getString(String key) {
@@ -40,8 +68,7 @@ public final class LocaleLoader {
             initialize();
         }
 
-        String rawMessage = bundleCache.computeIfAbsent(key, LocaleLoader::getRawString);
-        return formatString(rawMessage, messageArguments);
+        return getTemplate(key).format(messageArguments);
     }
 
     //TODO: Remove this hacky crap with something better later
@@ -57,8 +84,22 @@ public final class LocaleLoader {
             initialize();
         }
 
-        String rawMessage = bundleCache.computeIfAbsent(key, LocaleLoader::getRawString);
-        return formatComponent(rawMessage, messageArguments);
+        return getTemplate(key).formatComponent(messageArguments);
+    }
+
+    /**
+     * Gets the string of a key from the Locale files without any arguments, wrapped in a text component.
+     * The component is shared by every caller until the locale is reloaded.
+     *
+     * @param key The key to look up the string with
+     * @return The text component of the string
+     */
+    public static TextComponent getStringComponent(String key) {
+        if (bundle == null) {
+            initialize();
+        }
+
+        return getTemplate(key).getPlainComponent();
     }
 
     /**
@@ -68,10 +109,15 @@ public final class LocaleLoader {
         bundle = null;
         filesystemBundle = null;
         enBundle = null;
-        bundleCache = new HashMap<>(); // Cheaper to replace than clear()
+        templateCache = new ConcurrentHashMap<>(); // Cheaper to replace than clear()
         initialize();
     }
 
+    private static LocaleTemplate getTemplate(String key) {
+        // Strings are parsed and colored once, until the locale is reloaded
+        return templateCache.computeIfAbsent(key, cacheKey -> new LocaleTemplate(getRawString(cacheKey)));
+    }
+
     private static String getRawString(String key) {
         if (filesystemBundle != null) {
             try {
@@ -158,52 +204,45 @@ public final class LocaleLoader {
     }
 
     public static String addColors(String input) {
-        input = input.replaceAll("\\Q[[BLACK]]\\E", ChatColor.BLACK.toString());
-        input = input.replaceAll("\\Q[[DARK_BLUE]]\\E", ChatColor.DARK_BLUE.toString());
-        input = input.replaceAll("\\Q[[DARK_GREEN]]\\E", ChatColor.DARK_GREEN.toString());
-        input = input.replaceAll("\\Q[[DARK_AQUA]]\\E", ChatColor.DARK_AQUA.toString());
-        input = input.replaceAll("\\Q[[DARK_RED]]\\E", ChatColor.DARK_RED.toString());
-        input = input.replaceAll("\\Q[[DARK_PURPLE]]\\E", ChatColor.DARK_PURPLE.toString());
-        input = input.replaceAll("\\Q[[GOLD]]\\E", ChatColor.GOLD.toString());
-        input = input.replaceAll("\\Q[[GRAY]]\\E", ChatColor.GRAY.toString());
-        input = input.replaceAll("\\Q[[DARK_GRAY]]\\E", ChatColor.DARK_GRAY.toString());
-        input = input.replaceAll("\\Q[[BLUE]]\\E", ChatColor.BLUE.toString());
-        input = input.replaceAll("\\Q[[GREEN]]\\E", ChatColor.GREEN.toString());
-        input = input.replaceAll("\\Q[[AQUA]]\\E", ChatColor.AQUA.toString());
-        input = input.replaceAll("\\Q[[RED]]\\E", ChatColor.RED.toString());
-        input = input.replaceAll("\\Q[[LIGHT_PURPLE]]\\E", ChatColor.LIGHT_PURPLE.toString());
-        input = input.replaceAll("\\Q[[YELLOW]]\\E", ChatColor.YELLOW.toString());
-        input = input.replaceAll("\\Q[[WHITE]]\\E", ChatColor.WHITE.toString());
-        input = input.replaceAll("\\Q[[BOLD]]\\E", ChatColor.BOLD.toString());
-        input = input.replaceAll("\\Q[[UNDERLINE]]\\E", ChatColor.UNDERLINE.toString());
-        input = input.replaceAll("\\Q[[ITALIC]]\\E", ChatColor.ITALIC.toString());
-        input = input.replaceAll("\\Q[[STRIKE]]\\E", ChatColor.STRIKETHROUGH.toString());
-        input = input.replaceAll("\\Q[[MAGIC]]\\E", ChatColor.MAGIC.toString());
-        input = input.replaceAll("\\Q[[RESET]]\\E", ChatColor.RESET.toString());
-
-        input = input.replaceAll("\\Q&0\\E", ChatColor.BLACK.toString());
-        input = input.replaceAll("\\Q&1\\E", ChatColor.DARK_BLUE.toString());
-        input = input.replaceAll("\\Q&2\\E", ChatColor.DARK_GREEN.toString());
-        input = input.replaceAll("\\Q&3\\E", ChatColor.DARK_AQUA.toString());
-        input = input.replaceAll("\\Q&4\\E", ChatColor.DARK_RED.toString());
-        input = input.replaceAll("\\Q&5\\E", ChatColor.DARK_PURPLE.toString());
-        input = input.replaceAll("\\Q&6\\E", ChatColor.GOLD.toString());
-        input = input.replaceAll("\\Q&7\\E", ChatColor.GRAY.toString());
-        input = input.replaceAll("\\Q&8\\E", ChatColor.DARK_GRAY.toString());
-        input = input.replaceAll("\\Q&9\\E", ChatColor.BLUE.toString());
-        input = input.replaceAll("\\Q&a\\E", ChatColor.GREEN.toString());
-        input = input.replaceAll("\\Q&b\\E", ChatColor.AQUA.toString());
-        input = input.replaceAll("\\Q&c\\E", ChatColor.RED.toString());
-        input = input.replaceAll("\\Q&d\\E", ChatColor.LIGHT_PURPLE.toString());
-        input = input.replaceAll("\\Q&e\\E", ChatColor.YELLOW.toString());
-        input = input.replaceAll("\\Q&f\\E", ChatColor.WHITE.toString());
-        input = input.replaceAll("\\Q&l\\E", ChatColor.BOLD.toString());
-        input = input.replaceAll("\\Q&n\\E", ChatColor.UNDERLINE.toString());
-        input = input.replaceAll("\\Q&o\\E", ChatColor.ITALIC.toString());
-        input = input.replaceAll("\\Q&m\\E", ChatColor.STRIKETHROUGH.toString());
-        input = input.replaceAll("\\Q&?\\E", ChatColor.MAGIC.toString());
-        input = input.replaceAll("\\Q&r\\E", ChatColor.RESET.toString());
-
-        return input;
+        if (input.indexOf('&') == -1 && input.indexOf("[[") == -1) {
+            return input;
+        }
+
+        StringBuilder builder = new StringBuilder(input.length());
+        int length = input.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+
+            if (c == '&' && i + 1 < length) {
+                char code = input.charAt(i + 1);
+                ChatColor color = code < AMPERSAND_COLORS.length ? AMPERSAND_COLORS[code] : null;
+
+                if (color != null) {
+                    builder.append(color);
+                    i++;
+                    continue;
+                }
+            }
+            else if (c == '[' && input.startsWith("[[", i)) {
+                int end = input.indexOf("]]", i + 2);
+                ChatColor color = end == -1 ? null : BRACKET_COLORS.get(input.substring(i + 2, end));
+
+                if (color != null) {
+                    builder.append(color);
+                    i = end + 1;
+                    continue;
+                }
+            }
+
+            builder.append(c);
+        }
+
+        return builder.toString();
+    }
+
+    private static void addColor(String name, char code, ChatColor color) {
+        BRACKET_COLORS.put(name, color);
+        AMPERSAND_COLORS[code] = color;
     }
 }
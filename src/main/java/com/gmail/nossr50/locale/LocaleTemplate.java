@@ -0,0 +1,219 @@
+package com.gmail.nossr50.locale;
+
+import com.gmail.nossr50.util.text.TextUtils;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+
+import java.text.DateFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A locale string parsed once, giving the same results as {@link LocaleLoader#formatString(String, Object...)} and
+ * {@link LocaleLoader#formatComponent(String, Object...)} without parsing the pattern or translating the colors of the
+ * string itself again.
+ * <p>
+ * Only strings made of text and plain {0} style arguments are parsed, anything else goes through
+ * {@link java.text.MessageFormat} like before.
+ */
+final class LocaleTemplate {
+    private final String rawMessage;
+    private final String coloredMessage;
+    private final boolean parsed;
+    private final String[] literals;
+    private final String[] coloredLiterals;
+    private final int[] argumentIndexes;
+    private final boolean colorsSplitByArguments;
+    private volatile TextComponent textComponent;
+    private volatile TextComponent plainComponent;
+
+    LocaleTemplate(String rawMessage) {
+        this.rawMessage = rawMessage;
+        this.coloredMessage = LocaleLoader.addColors(rawMessage);
+
+        List<String> literalList = new ArrayList<>();
+        List<Integer> argumentList = new ArrayList<>();
+        boolean parsed = true;
+        int start = 0;
+
+        while (true) {
+            int open = rawMessage.indexOf('{', start);
+
+            if (open == -1) {
+                literalList.add(rawMessage.substring(start));
+                break;
+            }
+
+            int close = rawMessage.indexOf('}', open);
+
+            if (close == -1 || !isArgumentIndex(rawMessage, open + 1, close)) {
+                parsed = false;
+                break;
+            }
+
+            literalList.add(rawMessage.substring(start, open));
+            argumentList.add(Integer.parseInt(rawMessage.substring(open + 1, close)));
+            start = close + 1;
+        }
+
+        this.parsed = parsed;
+        this.literals = literalList.toArray(new String[0]);
+        this.coloredLiterals = new String[literals.length];
+        this.argumentIndexes = new int[argumentList.size()];
+
+        boolean colorsSplit = false;
+
+        for (int i = 0; i < literals.length; i++) {
+            coloredLiterals[i] = LocaleLoader.addColors(literals[i]);
+
+            // A color code cut in two by an argument can only be translated once the argument is in
+            if (i < argumentIndexes.length && endsInsideColorCode(literals[i])) {
+                colorsSplit = true;
+            }
+        }
+
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            argumentIndexes[i] = argumentList.get(i);
+        }
+
+        this.colorsSplitByArguments = colorsSplit;
+    }
+
+    /**
+     * @see LocaleLoader#formatString(String, Object...)
+     */
+    String format(Object[] messageArguments) {
+        if (messageArguments == null) {
+            return coloredMessage;
+        }
+
+        if (!parsed) {
+            return LocaleLoader.formatString(rawMessage, messageArguments);
+        }
+
+        String[] arguments = formatArguments(messageArguments);
+        boolean colorsInArguments = colorsSplitByArguments;
+
+        for (String argument : arguments) {
+            if (argument.indexOf('&') != -1 || argument.indexOf('[') != -1) {
+                colorsInArguments = true;
+                break;
+            }
+        }
+
+        // Colors of the arguments are translated too, along with any code running into them
+        if (colorsInArguments) {
+            return LocaleLoader.addColors(join(literals, arguments));
+        }
+
+        return join(coloredLiterals, arguments);
+    }
+
+    /**
+     * @see LocaleLoader#formatComponent(String, Object...)
+     */
+    TextComponent formatComponent(Object[] messageArguments) {
+        if (messageArguments == null || messageArguments.length == 0) {
+            TextComponent component = textComponent;
+
+            // Components are immutable, the one without arguments is shared
+            if (component == null) {
+                component = TextUtils.colorizeText(rawMessage);
+                textComponent = component;
+            }
+
+            return component;
+        }
+
+        if (!parsed) {
+            return LocaleLoader.formatComponent(rawMessage, messageArguments);
+        }
+
+        return TextUtils.colorizeText(join(literals, formatArguments(messageArguments)));
+    }
+
+    /**
+     * @return the string without arguments wrapped in a text component, shared by every caller
+     */
+    TextComponent getPlainComponent() {
+        TextComponent component = plainComponent;
+
+        if (component == null) {
+            component = Component.text(coloredMessage);
+            plainComponent = component;
+        }
+
+        return component;
+    }
+
+    private String[] formatArguments(Object[] messageArguments) {
+        String[] arguments = new String[argumentIndexes.length];
+
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            int index = argumentIndexes[i];
+
+            // Missing arguments are left as they are, like MessageFormat does
+            arguments[i] = index < messageArguments.length ? formatArgument(messageArguments[index]) : "{" + index + "}";
+        }
+
+        return arguments;
+    }
+
+    private static String formatArgument(Object argument) {
+        if (argument == null) {
+            return "null";
+        }
+
+        if (argument instanceof Number) {
+            return NumberFormat.getInstance(Locale.getDefault(Locale.Category.FORMAT)).format(argument);
+        }
+
+        if (argument instanceof Date) {
+            return DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, Locale.getDefault(Locale.Category.FORMAT)).format(argument);
+        }
+
+        return argument.toString();
+    }
+
+    private static String join(String[] parts, String[] arguments) {
+        StringBuilder builder = new StringBuilder(64);
+
+        for (int i = 0; i < parts.length; i++) {
+            builder.append(parts[i]);
+
+            if (i < arguments.length) {
+                builder.append(arguments[i]);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static boolean isArgumentIndex(String string, int start, int end) {
+        if (start == end || end - start > 9) {
+            return false;
+        }
+
+        for (int i = start; i < end; i++) {
+            char c = string.charAt(i);
+
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean endsInsideColorCode(String literal) {
+        if (literal.endsWith("&") || literal.endsWith("[")) {
+            return true;
+        }
+
+        int codeStart = literal.lastIndexOf("[[");
+        return codeStart != -1 && literal.indexOf("]]", codeStart) == -1;
+    }
+}
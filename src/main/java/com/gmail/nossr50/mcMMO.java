@@ -3,7 +3,6 @@ package com.gmail.nossr50;
 import com.gmail.nossr50.chat.ChatManager;
 import com.gmail.nossr50.commands.CommandManager;
 import com.gmail.nossr50.config.*;
-import com.gmail.nossr50.config.experience.ExperienceConfig;
 import com.gmail.nossr50.config.mods.ArmorConfigManager;
 import com.gmail.nossr50.config.mods.BlockConfigManager;
 import com.gmail.nossr50.config.mods.EntityConfigManager;
@@ -14,19 +13,28 @@ import com.gmail.nossr50.config.skills.salvage.SalvageConfigManager;
 import com.gmail.nossr50.config.treasure.TreasureConfig;
 import com.gmail.nossr50.database.DatabaseManager;
 import com.gmail.nossr50.database.DatabaseManagerFactory;
+import com.gmail.nossr50.database.ProfileSaveQueue;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.subskills.acrobatics.Roll;
 import com.gmail.nossr50.listeners.*;
 import com.gmail.nossr50.party.PartyManager;
+import com.gmail.nossr50.party.PartyProximityService;
 import com.gmail.nossr50.runnables.CheckDateTask;
+import com.gmail.nossr50.runnables.RegionFileCleanupTask;
 import com.gmail.nossr50.runnables.SaveTimerTask;
+import com.gmail.nossr50.runnables.TimerWheelTask;
 import com.gmail.nossr50.runnables.backups.CleanBackupsTask;
 import com.gmail.nossr50.runnables.commands.NotifySquelchReminderTask;
+import com.gmail.nossr50.runnables.database.ProfileSaveQueueTask;
 import com.gmail.nossr50.runnables.database.UserPurgeTask;
 import com.gmail.nossr50.runnables.party.PartyAutoKickTask;
-import com.gmail.nossr50.runnables.player.ClearRegisteredXPGainTask;
+import com.gmail.nossr50.runnables.party.PartyProximityTask;
+import com.gmail.nossr50.runnables.player.NotificationFlushTask;
+import com.gmail.nossr50.runnables.player.PermissionCacheRefreshTask;
 import com.gmail.nossr50.runnables.player.PlayerProfileLoadingTask;
 import com.gmail.nossr50.runnables.player.PowerLevelUpdatingTask;
+import com.gmail.nossr50.runnables.skills.ArcheryTrackerCleanupTask;
+import com.gmail.nossr50.runnables.skills.AwardCombatXpTask;
 import com.gmail.nossr50.runnables.skills.BleedTimerTask;
 import com.gmail.nossr50.skills.alchemy.Alchemy;
 import com.gmail.nossr50.skills.child.ChildConfig;
@@ -39,14 +47,18 @@ import com.gmail.nossr50.skills.salvage.salvageables.SimpleSalvageableManager;
 import com.gmail.nossr50.util.*;
 import com.gmail.nossr50.util.blockmeta.chunkmeta.ChunkManager;
 import com.gmail.nossr50.util.blockmeta.chunkmeta.ChunkManagerFactory;
+import com.gmail.nossr50.util.blockmeta.chunkmeta.HashChunkManager;
 import com.gmail.nossr50.util.commands.CommandRegistrationManager;
 import com.gmail.nossr50.util.compat.CompatibilityManager;
 import com.gmail.nossr50.util.experience.FormulaManager;
 import com.gmail.nossr50.util.platform.PlatformManager;
 import com.gmail.nossr50.util.platform.ServerSoftwareType;
+import com.gmail.nossr50.util.player.NotificationQueue;
 import com.gmail.nossr50.util.player.PlayerLevelUtils;
 import com.gmail.nossr50.util.player.UserManager;
+import com.gmail.nossr50.util.scheduler.TimerWheel;
 import com.gmail.nossr50.util.scoreboards.ScoreboardManager;
+import com.gmail.nossr50.util.skills.CombatXpAccumulator;
 import com.gmail.nossr50.util.skills.RankUtils;
 import com.gmail.nossr50.util.skills.SmeltingTracker;
 import com.gmail.nossr50.util.upgrade.UpgradeManager;
@@ -77,6 +89,11 @@ public class mcMMO extends JavaPlugin {
     private static SalvageableManager salvageableManager;
     private static ModManager         modManager;
     private static DatabaseManager    databaseManager;
+    private static ProfileSaveQueue   profileSaveQueue;
+    private static CombatXpAccumulator combatXpAccumulator;
+    private static TimerWheel         timerWheel;
+    private static PartyProximityService partyProximityService;
+    private static NotificationQueue  notificationQueue;
     private static FormulaManager     formulaManager;
     private static HolidayManager     holidayManager;
     private static UpgradeManager     upgradeManager;
@@ -199,6 +216,11 @@ public class mcMMO extends JavaPlugin {
             }
 
             databaseManager = DatabaseManagerFactory.getDatabaseManager();
+            profileSaveQueue = new ProfileSaveQueue();
+            combatXpAccumulator = new CombatXpAccumulator();
+            timerWheel = new TimerWheel();
+            partyProximityService = new PartyProximityService();
+            notificationQueue = new NotificationQueue();
 
             //Check for the newer API and tell them what to do if its missing
             checkForOutdatedAPI();
@@ -234,11 +256,11 @@ public class mcMMO extends JavaPlugin {
 
                 debug("Version " + getDescription().getVersion() + " is enabled!");
 
+                placeStore = ChunkManagerFactory.getChunkManager(); // Get our ChunkletManager
+
                 scheduleTasks();
                 CommandRegistrationManager.registerCommands();
 
-                placeStore = ChunkManagerFactory.getChunkManager(); // Get our ChunkletManager
-
                 if (Config.getInstance().getPTPCommandWorldPermissions()) {
                     Permissions.generateWorldTeleportPermissions();
                 }
@@ -366,6 +388,7 @@ public class mcMMO extends JavaPlugin {
             }
         }
 
+        profileSaveQueue.drain();   // Write saves queued after the players were saved
         databaseManager.onDisable();
         debug("Was disabled."); // How informative!
     }
@@ -434,6 +457,26 @@ public class mcMMO extends JavaPlugin {
         return databaseManager;
     }
 
+    public static ProfileSaveQueue getProfileSaveQueue() {
+        return profileSaveQueue;
+    }
+
+    public static CombatXpAccumulator getCombatXpAccumulator() {
+        return combatXpAccumulator;
+    }
+
+    public static TimerWheel getTimerWheel() {
+        return timerWheel;
+    }
+
+    public static PartyProximityService getPartyProximityService() {
+        return partyProximityService;
+    }
+
+    public static NotificationQueue getNotificationQueue() {
+        return notificationQueue;
+    }
+
     public static ModManager getModManager() {
         return modManager;
     }
@@ -611,11 +654,34 @@ public class mcMMO extends JavaPlugin {
         long saveIntervalTicks = Config.getInstance().getSaveInterval() * 1200;
         new SaveTimerTask().runTaskTimer(this, saveIntervalTicks, saveIntervalTicks);
 
+        // Write queued profile saves (Runs every second)
+        new ProfileSaveQueueTask().runTaskTimerAsynchronously(this, Misc.TICK_CONVERSION_FACTOR, Misc.TICK_CONVERSION_FACTOR);
+
+        // Close region files that haven't been used for a while (Runs every minute)
+        if (placeStore instanceof HashChunkManager) {
+            new RegionFileCleanupTask(((HashChunkManager) placeStore).getRegionFileCache()).runTaskTimerAsynchronously(this, 60 * Misc.TICK_CONVERSION_FACTOR, 60 * Misc.TICK_CONVERSION_FACTOR);
+        }
+
         // Cleanup the backups folder
         new CleanBackupsTask().runTaskAsynchronously(mcMMO.p);
 
-        // Bleed timer (Runs every 0.5 seconds)
-        new BleedTimerTask().runTaskTimer(this, Misc.TICK_CONVERSION_FACTOR, (Misc.TICK_CONVERSION_FACTOR / 2));
+        // Ability, tool, health bar, replant, XP bar and scoreboard timers
+        new TimerWheelTask().runTaskTimer(this, 1, 1);
+
+        // Party member positions, read again on the first query of every tick
+        new PartyProximityTask().runTaskTimer(this, 1, 1);
+
+        // Notifications, sent on the tick after they are queued
+        new NotificationFlushTask().runTaskTimer(this, 1, 1);
+
+        // Combat XP, awarded on the tick after the damage is dealt
+        new AwardCombatXpTask().runTaskTimer(this, 1, 1);
+
+        // Entities hit by retrievable arrows which are gone, checked every 10 minutes
+        new ArcheryTrackerCleanupTask().runTaskTimer(this, 12000, 12000);
+
+        // Bleed timer (Bleeds deal damage every 0.5 seconds, spread over several ticks when there are a lot of them)
+        new BleedTimerTask().runTaskTimer(this, Misc.TICK_CONVERSION_FACTOR, 1);
 
         // Old & Powerless User remover
         long purgeIntervalTicks = Config.getInstance().getPurgeInterval() * 60L * 60L * Misc.TICK_CONVERSION_FACTOR;
@@ -637,6 +703,9 @@ public class mcMMO extends JavaPlugin {
             new PartyAutoKickTask().runTaskTimer(this, kickIntervalTicks, kickIntervalTicks);
         }
 
+        // Drop cached permissions of players who were opped, deopped or have had them for a while
+        new PermissionCacheRefreshTask().runTaskTimer(this, Misc.TICK_CONVERSION_FACTOR, Misc.TICK_CONVERSION_FACTOR);
+
         // Update power level tag scoreboards
         new PowerLevelUpdatingTask().runTaskTimer(this, 2 * Misc.TICK_CONVERSION_FACTOR, 2 * Misc.TICK_CONVERSION_FACTOR);
 
@@ -644,11 +713,6 @@ public class mcMMO extends JavaPlugin {
             new CheckDateTask().runTaskTimer(this, 10L * Misc.TICK_CONVERSION_FACTOR, 60L * 60L * Misc.TICK_CONVERSION_FACTOR);
         }
 
-        // Clear the registered XP data so players can earn XP again
-        if (ExperienceConfig.getInstance().getDiminishedReturnsEnabled()) {
-            new ClearRegisteredXPGainTask().runTaskTimer(this, 60, 60);
-        }
-
         if(AdvancedConfig.getInstance().allowPlayerTips())
         {
             new NotifySquelchReminderTask().runTaskTimer(this, 60, ((20 * 60) * 60));
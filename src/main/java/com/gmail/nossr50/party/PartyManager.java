@@ -16,7 +16,6 @@ import com.gmail.nossr50.events.party.McMMOPartyChangeEvent;
 import com.gmail.nossr50.events.party.McMMOPartyChangeEvent.EventReason;
 import com.gmail.nossr50.locale.LocaleLoader;
 import com.gmail.nossr50.mcMMO;
-import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.Permissions;
 import com.gmail.nossr50.util.player.NotificationManager;
 import com.gmail.nossr50.util.player.UserManager;
@@ -149,39 +148,13 @@ public final class PartyManager {
      */
     public static List<Player> getNearMembers(McMMOPlayer mcMMOPlayer) {
         List<Player> nearMembers = new ArrayList<>();
-        Party party = mcMMOPlayer.getParty();
-
-        if (party != null) {
-            Player player = mcMMOPlayer.getPlayer();
-            double range = Config.getInstance().getPartyShareRange();
-
-            for (Player member : party.getOnlineMembers()) {
-                if (!player.equals(member) && member.isValid() && Misc.isNear(player.getLocation(), member.getLocation(), range)) {
-                    nearMembers.add(member);
-                }
-            }
-        }
-
+        mcMMO.getPartyProximityService().collectNearMembers(mcMMOPlayer, false, nearMembers);
         return nearMembers;
     }
 
     public static List<Player> getNearVisibleMembers(McMMOPlayer mcMMOPlayer) {
         List<Player> nearMembers = new ArrayList<>();
-        Party party = mcMMOPlayer.getParty();
-
-        if (party != null) {
-            Player player = mcMMOPlayer.getPlayer();
-            double range = Config.getInstance().getPartyShareRange();
-
-            for (Player member : party.getVisibleMembers(player)) {
-                if (!player.equals(member)
-                        && member.isValid()
-                        && Misc.isNear(player.getLocation(), member.getLocation(), range)) {
-                    nearMembers.add(member);
-                }
-            }
-        }
-
+        mcMMO.getPartyProximityService().collectNearMembers(mcMMOPlayer, true, nearMembers);
         return nearMembers;
     }
 
@@ -319,7 +292,7 @@ public final class PartyManager {
         mcMMO.getDatabaseManager().removeFromParty(player, party.getName());
 
         if (player.isOnline()) {
-            party.getOnlineMembers().remove(player.getPlayer());
+            party.removeOnlineMember(player.getPlayer());
         }
 
         if (members.isEmpty()) {
@@ -534,7 +507,7 @@ public final class PartyManager {
         mcMMO.getDatabaseManager().addUserToParty(mcMMOPlayer.getPlayer().getName(), mcMMOPlayer.getPlayer().getUniqueId(), party.getName());
         mcMMOPlayer.setParty(party);
         party.getMembers().put(player.getUniqueId(), player.getName());
-        party.getOnlineMembers().add(player);
+        party.addOnlineMember(player);
     }
 
     /**
@@ -0,0 +1,188 @@
+package com.gmail.nossr50.party;
+
+import com.gmail.nossr50.config.Config;
+import com.gmail.nossr50.datatypes.party.Party;
+import com.gmail.nossr50.datatypes.player.McMMOPlayer;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Answers which party members are near a player, without allocating.
+ * <p>
+ * The positions of the online members of a party are read into primitive arrays the first time the party is asked
+ * about in a tick, so the checks done for every XP gain and item pickup don't read every member's location again.
+ * Advanced by {@link com.gmail.nossr50.runnables.party.PartyProximityTask} once per tick, only meant to be used from
+ * the main thread.
+ */
+public final class PartyProximityService {
+    private final Location scratch = new Location(null, 0, 0, 0);
+    private long currentTick;
+
+    public void tick() {
+        currentTick++;
+    }
+
+    /**
+     * Check if any party member is within the party share range of a player
+     *
+     * @param mcMMOPlayer The player to check
+     * @return true if a party member is near
+     */
+    public boolean hasNearMembers(@NotNull McMMOPlayer mcMMOPlayer) {
+        return findNearMembers(mcMMOPlayer, false, null, true) > 0;
+    }
+
+    /**
+     * Find the party members within the party share range of a player
+     *
+     * @param mcMMOPlayer The player to check
+     * @param visibleOnly true to leave out the members the player can't see
+     * @param nearMembers the list to add the near members to, or null to only count them
+     * @return the number of near members
+     */
+    public int collectNearMembers(@NotNull McMMOPlayer mcMMOPlayer, boolean visibleOnly, @Nullable List<Player> nearMembers) {
+        return findNearMembers(mcMMOPlayer, visibleOnly, nearMembers, false);
+    }
+
+    private int findNearMembers(McMMOPlayer mcMMOPlayer, boolean visibleOnly, @Nullable List<Player> nearMembers, boolean stopAtFirst) {
+        Party party = mcMMOPlayer.getParty();
+
+        if (party == null) {
+            return 0;
+        }
+
+        Player player = mcMMOPlayer.getPlayer();
+        MemberPositions positions = party.getMemberPositions();
+
+        if (positions.tick != currentTick) {
+            positions.update(party.getOnlineMembers(), scratch);
+            positions.tick = currentTick;
+        }
+
+        int self = positions.indexOf(player);
+        World world;
+        double x;
+        double y;
+        double z;
+
+        if (self != -1) {
+            world = positions.worlds[self];
+            x = positions.xs[self];
+            y = positions.ys[self];
+            z = positions.zs[self];
+        }
+        else {
+            player.getLocation(scratch);
+            world = scratch.getWorld();
+            x = scratch.getX();
+            y = scratch.getY();
+            z = scratch.getZ();
+            scratch.setWorld(null);
+        }
+
+        double range = Config.getInstance().getPartyShareRange();
+        double rangeSquared = range * range;
+        int found = 0;
+
+        for (int i = 0; i < positions.size; i++) {
+            Player member = positions.members[i];
+
+            if (i == self || positions.worlds[i] != world || player.equals(member) || !member.isValid()) {
+                continue;
+            }
+
+            // A range of 0 reaches the whole world
+            if (range != 0) {
+                double dx = positions.xs[i] - x;
+                double dy = positions.ys[i] - y;
+                double dz = positions.zs[i] - z;
+
+                if (dx * dx + dy * dy + dz * dz >= rangeSquared) {
+                    continue;
+                }
+            }
+
+            if (visibleOnly && !player.canSee(member)) {
+                continue;
+            }
+
+            found++;
+
+            if (nearMembers != null) {
+                nearMembers.add(member);
+            }
+
+            if (stopAtFirst) {
+                break;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Positions of the online members of a party as of a tick
+     */
+    public static final class MemberPositions {
+        private Player[] members = new Player[8];
+        private World[] worlds = new World[8];
+        private double[] xs = new double[8];
+        private double[] ys = new double[8];
+        private double[] zs = new double[8];
+        private int size;
+        private long tick = -1;
+
+        /**
+         * Read the positions again on the next query, called when members come online or go offline
+         */
+        public void invalidate() {
+            tick = -1;
+        }
+
+        private void update(List<Player> onlineMembers, Location scratch) {
+            int count = onlineMembers.size();
+
+            if (count > members.length) {
+                int capacity = Math.max(count, members.length * 2);
+                members = new Player[capacity];
+                worlds = new World[capacity];
+                xs = new double[capacity];
+                ys = new double[capacity];
+                zs = new double[capacity];
+            }
+
+            for (int i = 0; i < count; i++) {
+                Player member = onlineMembers.get(i);
+                member.getLocation(scratch);
+
+                members[i] = member;
+                worlds[i] = scratch.getWorld();
+                xs[i] = scratch.getX();
+                ys[i] = scratch.getY();
+                zs[i] = scratch.getZ();
+            }
+
+            // Don't hold on to members who went offline
+            Arrays.fill(members, count, Math.max(count, size), null);
+            Arrays.fill(worlds, count, Math.max(count, size), null);
+            scratch.setWorld(null);
+            size = count;
+        }
+
+        private int indexOf(Player player) {
+            for (int i = 0; i < size; i++) {
+                if (members[i] == player) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+    }
+}
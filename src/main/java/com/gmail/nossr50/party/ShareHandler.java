@@ -9,6 +9,7 @@ import com.gmail.nossr50.datatypes.party.Party;
 import com.gmail.nossr50.datatypes.party.ShareMode;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.player.UserManager;
 import org.bukkit.entity.Item;
@@ -31,7 +32,7 @@ public final class ShareHandler {
     public static boolean handleXpShare(float xp, McMMOPlayer mcMMOPlayer, PrimarySkillType primarySkillType, XPGainReason xpGainReason) {
         Party party = mcMMOPlayer.getParty();
 
-        if (party.getXpShareMode() != ShareMode.EQUAL) {
+        if (party.getXpShareMode() != ShareMode.EQUAL || !mcMMO.getPartyProximityService().hasNearMembers(mcMMOPlayer)) {
             return false;
         }
 
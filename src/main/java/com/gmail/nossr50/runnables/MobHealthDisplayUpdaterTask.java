@@ -1,13 +1,15 @@
 package com.gmail.nossr50.runnables;
 
 import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.scheduler.TimerType;
+import com.gmail.nossr50.util.scheduler.WheelTimer;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.scheduler.BukkitRunnable;
 
-public class MobHealthDisplayUpdaterTask extends BukkitRunnable {
+public class MobHealthDisplayUpdaterTask extends WheelTimer {
     private final LivingEntity target;
 
     public MobHealthDisplayUpdaterTask(LivingEntity target) {
+        super(TimerType.MOB_HEALTH_DISPLAY, null);
         this.target = target;
     }
 
@@ -0,0 +1,17 @@
+package com.gmail.nossr50.runnables;
+
+import com.gmail.nossr50.util.blockmeta.chunkmeta.RegionFileCache;
+import org.bukkit.scheduler.BukkitRunnable;
+
+public class RegionFileCleanupTask extends BukkitRunnable {
+    private final RegionFileCache regionFileCache;
+
+    public RegionFileCleanupTask(RegionFileCache regionFileCache) {
+        this.regionFileCache = regionFileCache;
+    }
+
+    @Override
+    public void run() {
+        regionFileCache.closeIdle();
+    }
+}
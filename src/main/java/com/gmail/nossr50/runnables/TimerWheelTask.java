@@ -0,0 +1,11 @@
+package com.gmail.nossr50.runnables;
+
+import com.gmail.nossr50.mcMMO;
+import org.bukkit.scheduler.BukkitRunnable;
+
+public class TimerWheelTask extends BukkitRunnable {
+    @Override
+    public void run() {
+        mcMMO.getTimerWheel().tick();
+    }
+}
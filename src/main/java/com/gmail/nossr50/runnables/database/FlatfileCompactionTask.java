@@ -0,0 +1,17 @@
+package com.gmail.nossr50.runnables.database;
+
+import com.gmail.nossr50.database.IndexedFlatfileDatabaseManager;
+import org.bukkit.scheduler.BukkitRunnable;
+
+public class FlatfileCompactionTask extends BukkitRunnable {
+    private final IndexedFlatfileDatabaseManager databaseManager;
+
+    public FlatfileCompactionTask(IndexedFlatfileDatabaseManager databaseManager) {
+        this.databaseManager = databaseManager;
+    }
+
+    @Override
+    public void run() {
+        databaseManager.compactIfNeeded();
+    }
+}
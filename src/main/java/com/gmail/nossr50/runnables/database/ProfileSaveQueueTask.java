@@ -0,0 +1,11 @@
+package com.gmail.nossr50.runnables.database;
+
+import com.gmail.nossr50.mcMMO;
+import org.bukkit.scheduler.BukkitRunnable;
+
+public class ProfileSaveQueueTask extends BukkitRunnable {
+    @Override
+    public void run() {
+        mcMMO.getProfileSaveQueue().flush();
+    }
+}
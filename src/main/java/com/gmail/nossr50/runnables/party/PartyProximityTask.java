@@ -0,0 +1,11 @@
+package com.gmail.nossr50.runnables.party;
+
+import com.gmail.nossr50.mcMMO;
+import org.bukkit.scheduler.BukkitRunnable;
+
+public class PartyProximityTask extends BukkitRunnable {
+    @Override
+    public void run() {
+        mcMMO.getPartyProximityService().tick();
+    }
+}
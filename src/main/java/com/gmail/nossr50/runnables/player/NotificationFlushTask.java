@@ -0,0 +1,11 @@
+package com.gmail.nossr50.runnables.player;
+
+import com.gmail.nossr50.mcMMO;
+import org.bukkit.scheduler.BukkitRunnable;
+
+public class NotificationFlushTask extends BukkitRunnable {
+    @Override
+    public void run() {
+        mcMMO.getNotificationQueue().flush();
+    }
+}
@@ -4,11 +4,14 @@ import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.util.player.UserManager;
 import org.bukkit.scheduler.BukkitRunnable;
 
-public class ClearRegisteredXPGainTask extends BukkitRunnable {
+/**
+ * Bukkit has no event for op or permission changes, so cached permissions are checked for those every second
+ */
+public class PermissionCacheRefreshTask extends BukkitRunnable {
     @Override
     public void run() {
         for (McMMOPlayer mcMMOPlayer : UserManager.getPlayers()) {
-            mcMMOPlayer.getProfile().purgeExpiredXpGains();
+            mcMMOPlayer.getPermissionCache().tick();
         }
     }
 }
@@ -42,6 +42,9 @@ public class PlayerProfileLoadingTask extends BukkitRunnable {
             return;
         }
 
+        // Make sure a save queued when the player last logged out is written before reading the profile back
+        mcMMO.getProfileSaveQueue().flushPlayer(player.getUniqueId());
+
         PlayerProfile profile = mcMMO.getDatabaseManager().loadPlayerProfile(player.getName(), player.getUniqueId(), true);
 
         // If successful, schedule the apply
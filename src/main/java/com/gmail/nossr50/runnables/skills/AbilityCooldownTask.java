@@ -4,13 +4,15 @@ import com.gmail.nossr50.datatypes.interactions.NotificationType;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.SuperAbilityType;
 import com.gmail.nossr50.util.player.NotificationManager;
-import org.bukkit.scheduler.BukkitRunnable;
+import com.gmail.nossr50.util.scheduler.TimerType;
+import com.gmail.nossr50.util.scheduler.WheelTimer;
 
-public class AbilityCooldownTask extends BukkitRunnable {
+public class AbilityCooldownTask extends WheelTimer {
     private final McMMOPlayer mcMMOPlayer;
     private final SuperAbilityType ability;
 
     public AbilityCooldownTask(McMMOPlayer mcMMOPlayer, SuperAbilityType ability) {
+        super(TimerType.ABILITY_COOLDOWN, mcMMOPlayer.getPlayer().getUniqueId());
         this.mcMMOPlayer = mcMMOPlayer;
         this.ability = ability;
     }
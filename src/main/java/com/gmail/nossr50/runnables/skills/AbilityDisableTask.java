@@ -5,23 +5,24 @@ import com.gmail.nossr50.config.Config;
 import com.gmail.nossr50.datatypes.interactions.NotificationType;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.SuperAbilityType;
-import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.util.EventUtils;
 import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.player.NotificationManager;
+import com.gmail.nossr50.util.scheduler.TimerType;
+import com.gmail.nossr50.util.scheduler.WheelTimer;
 import com.gmail.nossr50.util.skills.ParticleEffectUtils;
 import com.gmail.nossr50.util.skills.PerksUtils;
 import com.gmail.nossr50.util.skills.SkillUtils;
 import org.bukkit.Chunk;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
-public class AbilityDisableTask extends BukkitRunnable {
+public class AbilityDisableTask extends WheelTimer {
     private final McMMOPlayer mcMMOPlayer;
     private final SuperAbilityType ability;
 
     public AbilityDisableTask(McMMOPlayer mcMMOPlayer, SuperAbilityType ability) {
+        super(TimerType.ABILITY_DISABLE, mcMMOPlayer.getPlayer().getUniqueId());
         this.mcMMOPlayer = mcMMOPlayer;
         this.ability = ability;
     }
@@ -65,7 +66,7 @@ public class AbilityDisableTask extends BukkitRunnable {
         if (AdvancedConfig.getInstance().sendAbilityNotificationToOtherPlayers()) {
             SkillUtils.sendSkillMessage(player, NotificationType.SUPER_ABILITY_ALERT_OTHERS, ability.getAbilityPlayerOff());
         }
-        new AbilityCooldownTask(mcMMOPlayer, ability).runTaskLater(mcMMO.p, PerksUtils.handleCooldownPerks(player, ability.getCooldown()) * Misc.TICK_CONVERSION_FACTOR);
+        new AbilityCooldownTask(mcMMOPlayer, ability).schedule(PerksUtils.handleCooldownPerks(player, ability.getCooldown()) * Misc.TICK_CONVERSION_FACTOR);
     }
 
     private void resendChunkRadiusAt(Player player) {
@@ -2,8 +2,8 @@ package com.gmail.nossr50.runnables.skills;
 
 import com.gmail.nossr50.config.AdvancedConfig;
 import com.gmail.nossr50.datatypes.interactions.NotificationType;
-import com.gmail.nossr50.events.fake.FakeEntityDamageByEntityEvent;
 import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.MobHealthbarUtils;
 import com.gmail.nossr50.util.player.NotificationManager;
 import com.gmail.nossr50.util.skills.CombatUtils;
@@ -17,146 +17,196 @@ import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
 
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
-import java.util.Map.Entry;
 
+/**
+ * Deals the damage of every bleeding entity, runs every tick.
+ * <p>
+ * Bleeds deal damage every {@link #BLEED_PERIOD} ticks, but no more than
+ * {@link AdvancedConfig#getRuptureMaxBleedsPerTick()} of them are handled in a single tick, the rest being handled
+ * on the following ticks. Bleeds are kept in parallel arrays indexed by a slot, and only hold weak references to
+ * entities so the ones that are gone aren't kept around.
+ */
 public class BleedTimerTask extends BukkitRunnable {
-    private static final Map<LivingEntity, BleedContainer> bleedList = new HashMap<>();
-    private static boolean isIterating = false;
+    private static final int BLEED_PERIOD = Misc.TICK_CONVERSION_FACTOR / 2;
+
+    private static final Map<Integer, Integer> slots = new HashMap<>(); // Entity ID -> slot
+    private static int[] entityIds = new int[16];
+    private static int[] bleedTicks = new int[16];
+    private static int[] toolTiers = new int[16];
+    private static double[] rankDamages = new double[16];
+    private static double[] tierMultipliers = new double[16];
+    private static long[] dueTicks = new long[16];
+    private static WeakReference<?>[] targets = new WeakReference<?>[16];
+    private static WeakReference<?>[] damageSources = new WeakReference<?>[16];
+    private static int size;
+
+    private static long currentTick;
+    private static int cursor; // Next slot to look at, wrapping around once it reaches the end
 
     @Override
     public void run() {
-        isIterating = true;
-        Iterator<Entry<LivingEntity, BleedContainer>> bleedIterator = bleedList.entrySet().iterator();
+        currentTick++;
 
-        while (bleedIterator.hasNext()) {
-            Entry<LivingEntity, BleedContainer> containerEntry = bleedIterator.next();
-            LivingEntity target = containerEntry.getKey();
-            int toolTier = containerEntry.getValue().toolTier;
+        int budget = AdvancedConfig.getInstance().getRuptureMaxBleedsPerTick();
 
-//            String debugMessage = "";
-//            debugMessage += ChatColor.GOLD + "Target ["+target.getName()+"]: " + ChatColor.RESET;
+        // Round robin over the slots, so the bleeds the last ticks didn't have the time for are the next ones handled
+        for (int scanned = 0; scanned < size && budget > 0; scanned++) {
+            if (cursor >= size) {
+                cursor = 0;
+            }
 
-//            debugMessage+="RemainingTicks=["+containerEntry.getValue().bleedTicks+"], ";
+            if (dueTicks[cursor] > currentTick) {
+                cursor++;
+                continue;
+            }
 
-            if (containerEntry.getValue().bleedTicks <= 0 || !target.isValid()) {
-                if(target instanceof Player)
-                {
-                    NotificationManager.sendPlayerInformation((Player) target, NotificationType.SUBSKILL_MESSAGE, "Swords.Combat.Bleeding.Stopped");
-                }
+            budget--;
 
-                bleedIterator.remove();
-                continue;
+            if (processBleed(cursor)) {
+                cursor++;
+            }
+            else {
+                // Another bleed is moved into the slot, so the cursor stays on it
+                remove(cursor);
             }
+        }
+    }
 
-            int armorCount = 0;
+    /**
+     * Deal a bleed's damage
+     *
+     * @return false if the bleed is over
+     */
+    private static boolean processBleed(int slot) {
+        LivingEntity target = (LivingEntity) targets[slot].get();
 
-            double damage;
+        if (target == null) {
+            return false;
+        }
 
+        if (bleedTicks[slot] <= 0 || !target.isValid()) {
             if (target instanceof Player) {
-                damage = AdvancedConfig.getInstance().getRuptureDamagePlayer();
+                NotificationManager.sendPlayerInformation((Player) target, NotificationType.SUBSKILL_MESSAGE, "Swords.Combat.Bleeding.Stopped");
+            }
 
-                //Above Bleed Rank 3 deals 50% more damage
-                if (containerEntry.getValue().toolTier >= 4 && containerEntry.getValue().bleedRank >= 3)
-                    damage = damage * 1.5;
+            return false;
+        }
 
-                Player player = (Player) target;
+        dueTicks[slot] = getNextRound();
 
-                if (!player.isOnline()) {
-                    continue;
-                }
+        double damage = rankDamages[slot];
 
-                //Count Armor
-                for (ItemStack armorPiece : ((Player) target).getInventory().getArmorContents()) {
-                    //We only want to count slots that contain armor.
-                    if (armorPiece != null) {
-                        armorCount++;
-                    }
-                }
+        if (target instanceof Player) {
+            Player player = (Player) target;
 
-            } else {
-                damage = AdvancedConfig.getInstance().getRuptureDamageMobs();
+            if (!player.isOnline()) {
+                return true;
+            }
 
-//                debugMessage+="BaseDMG=["+damage+"], ";
+            int armorCount = 0;
 
-                //Above Bleed Rank 3 deals 50% more damage
-                if (containerEntry.getValue().bleedRank >= 3)
-                {
-                    damage = damage * 1.5;
+            //Count Armor
+            for (ItemStack armorPiece : player.getInventory().getArmorContents()) {
+                //We only want to count slots that contain armor.
+                if (armorPiece != null) {
+                    armorCount++;
                 }
-
-//                debugMessage+="Rank4Bonus=["+String.valueOf(containerEntry.getValue().bleedRank >= 3)+"], ";
-
-
-                MobHealthbarUtils.handleMobHealthbars(target, damage, mcMMO.p); //Update health bars
             }
 
-//            debugMessage+="FullArmor=["+String.valueOf(armorCount > 3)+"], ";
-
-            if(armorCount > 3)
-            {
+            if (armorCount > 3) {
                 damage = damage * .75;
             }
+        }
+        else {
+            MobHealthbarUtils.handleMobHealthbars(target, damage, mcMMO.p); //Update health bars
+        }
 
-//            debugMessage+="AfterRankAndArmorChecks["+damage+"], ";
-
-            //Weapons below Diamond get damage cut in half
-            if(toolTier < 4)
-                damage = damage / 2;
-
-//            debugMessage+="AfterDiamondCheck=["+String.valueOf(damage)+"], ";
-
-            //Wood weapons get damage cut in half again
-            if(toolTier < 2)
-                damage = damage / 2;
+        damage = damage * tierMultipliers[slot];
 
-//            debugMessage+="AfterWoodenCheck=["+String.valueOf(damage)+"], ";
+        LivingEntity damageSource = (LivingEntity) damageSources[slot].get();
+        int toolTier = toolTiers[slot];
+        double victimHealth = target.getHealth();
 
-            double victimHealth = target.getHealth();
+        //Fire a fake event
+        EntityDamageEvent fakeEntityDamageEvent = CombatUtils.sendEntityDamageEvent(damageSource, target, EntityDamageEvent.DamageCause.CUSTOM, damage);
+        Bukkit.getPluginManager().callEvent(fakeEntityDamageEvent);
 
-//            debugMessage+="TargetHealthBeforeDMG=["+String.valueOf(target.getHealth())+"], ";
+        CombatUtils.dealNoInvulnerabilityTickDamageRupture(target, damage, damageSource, toolTier);
 
-            //Fire a fake event
-            FakeEntityDamageByEntityEvent fakeEntityDamageByEntityEvent = (FakeEntityDamageByEntityEvent) CombatUtils.sendEntityDamageEvent(containerEntry.getValue().damageSource, target, EntityDamageEvent.DamageCause.CUSTOM, damage);
-            Bukkit.getPluginManager().callEvent(fakeEntityDamageByEntityEvent);
+        double victimHealthAftermath = target.getHealth();
 
-            CombatUtils.dealNoInvulnerabilityTickDamageRupture(target, damage, containerEntry.getValue().damageSource, toolTier);
+        if (victimHealthAftermath <= 0 || victimHealth != victimHealthAftermath) {
+            //Play Bleed Sound
+            SoundManager.worldSendSound(target.getWorld(), target.getLocation(), SoundType.BLEED);
 
-            double victimHealthAftermath = target.getHealth();
+            ParticleEffectUtils.playBleedEffect(target);
+        }
 
-//            debugMessage+="TargetHealthAfterDMG=["+String.valueOf(target.getHealth())+"], ";
+        //Lower Bleed Ticks
+        bleedTicks[slot]--;
+        return true;
+    }
 
-            if(victimHealthAftermath <= 0 || victimHealth != victimHealthAftermath)
-            {
-                //Play Bleed Sound
-                SoundManager.worldSendSound(target.getWorld(), target.getLocation(), SoundType.BLEED);
+    /**
+     * Bleed damage before the armor of the target and the tier of the weapon are taken into account
+     */
+    private static double getRankDamage(boolean playerTarget, int bleedRank, int toolTier) {
+        if (playerTarget) {
+            //Above Bleed Rank 3 deals 50% more damage
+            double damage = AdvancedConfig.getInstance().getRuptureDamagePlayer();
+            return toolTier >= 4 && bleedRank >= 3 ? damage * 1.5 : damage;
+        }
 
-                ParticleEffectUtils.playBleedEffect(target);
-            }
+        //Above Bleed Rank 3 deals 50% more damage
+        double damage = AdvancedConfig.getInstance().getRuptureDamageMobs();
+        return bleedRank >= 3 ? damage * 1.5 : damage;
+    }
 
-            //Lower Bleed Ticks
-            BleedContainer loweredBleedContainer = copyContainer(containerEntry.getValue());
-            loweredBleedContainer.bleedTicks -= 1;
+    private static double getTierMultiplier(int toolTier) {
+        //Weapons below Diamond get damage cut in half, wood weapons get damage cut in half again
+        return toolTier < 2 ? 0.25 : toolTier < 4 ? 0.5 : 1;
+    }
 
-//            debugMessage+="RemainingTicks=["+loweredBleedContainer.bleedTicks+"]";
-            containerEntry.setValue(loweredBleedContainer);
+    private static long getNextRound() {
+        return currentTick - (currentTick % BLEED_PERIOD) + BLEED_PERIOD;
+    }
 
-//            Bukkit.broadcastMessage(debugMessage);
+    private static void remove(int slot) {
+        int last = --size;
+
+        slots.remove(entityIds[slot]);
+
+        if (slot != last) {
+            entityIds[slot] = entityIds[last];
+            bleedTicks[slot] = bleedTicks[last];
+            toolTiers[slot] = toolTiers[last];
+            rankDamages[slot] = rankDamages[last];
+            tierMultipliers[slot] = tierMultipliers[last];
+            dueTicks[slot] = dueTicks[last];
+            targets[slot] = targets[last];
+            damageSources[slot] = damageSources[last];
+            slots.put(entityIds[slot], slot);
         }
-        isIterating = false;
-    }
 
-    public static BleedContainer copyContainer(BleedContainer container)
-    {
-        LivingEntity target = container.target;
-        LivingEntity source = container.damageSource;
-        int bleedTicks = container.bleedTicks;
-        int bleedRank = container.bleedRank;
-        int toolTier = container.toolTier;
+        targets[last] = null;
+        damageSources[last] = null;
+    }
 
-        return new BleedContainer(target, bleedTicks, bleedRank, toolTier, source);
+    private static void grow() {
+        int capacity = entityIds.length * 2;
+
+        entityIds = Arrays.copyOf(entityIds, capacity);
+        bleedTicks = Arrays.copyOf(bleedTicks, capacity);
+        toolTiers = Arrays.copyOf(toolTiers, capacity);
+        rankDamages = Arrays.copyOf(rankDamages, capacity);
+        tierMultipliers = Arrays.copyOf(tierMultipliers, capacity);
+        dueTicks = Arrays.copyOf(dueTicks, capacity);
+        targets = Arrays.copyOf(targets, capacity);
+        damageSources = Arrays.copyOf(damageSources, capacity);
     }
 
     /**
@@ -168,9 +218,10 @@ public class BleedTimerTask extends BukkitRunnable {
         /*
          * Don't remove anything from the list outside of run()
          */
+        Integer slot = slots.get(entity.getEntityId());
 
-        if (bleedList.containsKey(entity)) {
-            CombatUtils.dealNoInvulnerabilityTickDamage(entity, bleedList.get(entity).bleedTicks * 2, bleedList.get(entity).damageSource);
+        if (slot != null) {
+            CombatUtils.dealNoInvulnerabilityTickDamage(entity, bleedTicks[slot] * 2, (LivingEntity) damageSources[slot].get());
         }
     }
 
@@ -185,19 +236,37 @@ public class BleedTimerTask extends BukkitRunnable {
             throw new IllegalStateException("Cannot add bleed task async!");
         }
 
-        if (isIterating) throw new IllegalStateException("Cannot add task while iterating timers!");
-
         if(toolTier < 4)
             ticks = Math.max(1, (ticks / 3));
 
         ticks+=1;
 
+        Integer existingSlot = slots.get(entity.getEntityId());
+        int slot;
+
+        if (existingSlot != null) {
+            slot = existingSlot;
+        }
+        else {
+            if (size == entityIds.length) {
+                grow();
+            }
+
+            slot = size++;
+            slots.put(entity.getEntityId(), slot);
+            dueTicks[slot] = getNextRound();
+        }
 
-        BleedContainer newBleedContainer = new BleedContainer(entity, ticks, bleedRank, toolTier, attacker);
-        bleedList.put(entity, newBleedContainer);
+        entityIds[slot] = entity.getEntityId();
+        bleedTicks[slot] = ticks;
+        toolTiers[slot] = toolTier;
+        rankDamages[slot] = getRankDamage(entity instanceof Player, bleedRank, toolTier);
+        tierMultipliers[slot] = getTierMultiplier(toolTier);
+        targets[slot] = new WeakReference<>(entity);
+        damageSources[slot] = new WeakReference<>(attacker);
     }
 
     public static boolean isBleeding(LivingEntity entity) {
-        return bleedList.containsKey(entity);
+        return slots.containsKey(entity.getEntityId());
     }
 }
@@ -2,6 +2,8 @@ package com.gmail.nossr50.runnables.skills;
 
 import com.gmail.nossr50.datatypes.meta.RecentlyReplantedCropMeta;
 import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.scheduler.TimerType;
+import com.gmail.nossr50.util.scheduler.WheelTimer;
 import com.gmail.nossr50.util.skills.ParticleEffectUtils;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -17,7 +19,7 @@ import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public class DelayedCropReplant extends BukkitRunnable {
+public class DelayedCropReplant extends WheelTimer {
 
     private final int desiredCropAge;
     private final Location cropLocation;
@@ -32,6 +34,7 @@ public class DelayedCropReplant extends BukkitRunnable {
      * @param desiredCropAge desired age of the crop
      */
     public DelayedCropReplant(BlockBreakEvent blockBreakEvent, BlockState cropState, int desiredCropAge, boolean wasImmaturePlant) {
+        super(TimerType.CROP_REPLANT, null);
         BlockData cropData = cropState.getBlockData();
 
         if(cropData instanceof Directional) {
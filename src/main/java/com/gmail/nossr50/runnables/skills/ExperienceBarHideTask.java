@@ -3,15 +3,17 @@ package com.gmail.nossr50.runnables.skills;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.util.experience.ExperienceBarManager;
-import org.bukkit.scheduler.BukkitRunnable;
+import com.gmail.nossr50.util.scheduler.TimerType;
+import com.gmail.nossr50.util.scheduler.WheelTimer;
 
-public class ExperienceBarHideTask extends BukkitRunnable {
+public class ExperienceBarHideTask extends WheelTimer {
     public final McMMOPlayer mcMMOPlayer;
     public final PrimarySkillType primarySkillType;
     public final ExperienceBarManager experienceBarManagerRef;
 
     public ExperienceBarHideTask(ExperienceBarManager experienceBarManagerRef, McMMOPlayer mcMMOPlayer, PrimarySkillType primarySkillType)
     {
+        super(TimerType.EXPERIENCE_BAR_HIDE, mcMMOPlayer.getPlayer().getUniqueId());
         this.experienceBarManagerRef = experienceBarManagerRef;
         this.mcMMOPlayer = mcMMOPlayer;
         this.primarySkillType = primarySkillType;
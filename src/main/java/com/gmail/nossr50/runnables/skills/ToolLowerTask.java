@@ -5,13 +5,15 @@ import com.gmail.nossr50.datatypes.interactions.NotificationType;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.ToolType;
 import com.gmail.nossr50.util.player.NotificationManager;
-import org.bukkit.scheduler.BukkitRunnable;
+import com.gmail.nossr50.util.scheduler.TimerType;
+import com.gmail.nossr50.util.scheduler.WheelTimer;
 
-public class ToolLowerTask extends BukkitRunnable {
+public class ToolLowerTask extends WheelTimer {
     private final McMMOPlayer mcMMOPlayer;
     private final ToolType tool;
 
     public ToolLowerTask(McMMOPlayer mcMMOPlayer, ToolType tool) {
+        super(TimerType.TOOL_LOWER, mcMMOPlayer.getPlayer().getUniqueId());
         this.mcMMOPlayer = mcMMOPlayer;
         this.tool = tool;
     }
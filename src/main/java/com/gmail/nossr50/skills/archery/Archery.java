@@ -12,12 +12,16 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
 public class Archery {
-    private static final List<TrackedEntity> trackedEntities = new ArrayList<>();
+    /**
+     * Entities hit by arrows that can be retrieved, forgotten when they die or by
+     * {@link com.gmail.nossr50.runnables.skills.ArcheryTrackerCleanupTask} once they are gone
+     */
+    private static final Map<UUID, TrackedEntity> trackedEntities = new HashMap<>();
 
     public static double skillShotMaxBonusDamage     = AdvancedConfig.getInstance().getSkillShotDamageMax();
 
@@ -26,25 +30,28 @@ public class Archery {
     public static final double DISTANCE_XP_MULTIPLIER = ExperienceConfig.getInstance().getArcheryDistanceMultiplier();
 
     protected static void incrementTrackerValue(LivingEntity livingEntity) {
-        for (TrackedEntity trackedEntity : trackedEntities) {
-            if (trackedEntity.getLivingEntity().getEntityId() == livingEntity.getEntityId()) {
-                trackedEntity.incrementArrowCount();
-                return;
-            }
+        TrackedEntity trackedEntity = trackedEntities.get(livingEntity.getUniqueId());
+
+        if (trackedEntity == null) {
+            addToTracker(livingEntity); // If the entity isn't tracked yet
+            return;
         }
 
-        addToTracker(livingEntity); // If the entity isn't tracked yet
+        trackedEntity.incrementArrowCount();
     }
 
     protected static void addToTracker(LivingEntity livingEntity) {
         TrackedEntity trackedEntity = new TrackedEntity(livingEntity);
 
         trackedEntity.incrementArrowCount();
-        trackedEntities.add(trackedEntity);
+        trackedEntities.put(livingEntity.getUniqueId(), trackedEntity);
     }
 
-    protected static void removeFromTracker(TrackedEntity trackedEntity) {
-        trackedEntities.remove(trackedEntity);
+    /**
+     * Stop tracking the entities which are no longer valid, like the ones which despawned or were unloaded
+     */
+    public static void removeInvalidTrackedEntities() {
+        trackedEntities.values().removeIf(trackedEntity -> !trackedEntity.getLivingEntity().isValid());
     }
 
     /**
@@ -53,14 +60,10 @@ public class Archery {
      * @param livingEntity The entity hit by the arrows
      */
     public static void arrowRetrievalCheck(@NotNull LivingEntity livingEntity) {
-        for (Iterator<TrackedEntity> entityIterator = trackedEntities.iterator(); entityIterator.hasNext();) {
-            TrackedEntity trackedEntity = entityIterator.next();
-
-            if (trackedEntity.getID() == livingEntity.getUniqueId()) {
-                Misc.spawnItems(livingEntity.getLocation(), new ItemStack(Material.ARROW), trackedEntity.getArrowCount(), ItemSpawnReason.ARROW_RETRIEVAL_ACTIVATED);
-                entityIterator.remove();
-                return;
-            }
+        TrackedEntity trackedEntity = trackedEntities.remove(livingEntity.getUniqueId());
+
+        if (trackedEntity != null) {
+            Misc.spawnItems(livingEntity.getLocation(), new ItemStack(Material.ARROW), trackedEntity.getArrowCount(), ItemSpawnReason.ARROW_RETRIEVAL_ACTIVATED);
         }
     }
 
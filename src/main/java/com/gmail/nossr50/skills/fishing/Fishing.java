@@ -4,9 +4,11 @@ import com.gmail.nossr50.config.treasure.TreasureConfig;
 import com.gmail.nossr50.datatypes.treasure.ShakeTreasure;
 import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.adapter.BiomeAdapter;
+import com.gmail.nossr50.util.random.AliasTable;
 import org.bukkit.Material;
 import org.bukkit.block.Biome;
 import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.inventory.ItemStack;
 
@@ -38,24 +40,20 @@ public final class Fishing {
     }
 
     /**
-     * Randomly chooses a drop among the list
+     * Randomly chooses a drop among the shake drops of an entity
      *
-     * @param possibleDrops
-     *            List of ItemStack that can be dropped
+     * @param entityType
+     *            Type of the shaken entity
      * @return Chosen ItemStack
      */
-    protected static ItemStack chooseDrop(List<ShakeTreasure> possibleDrops) {
-        int dropProbability = Misc.getRandom().nextInt(100);
-        double cumulatedProbability = 0;
+    protected static ItemStack chooseDrop(EntityType entityType) {
+        AliasTable<ShakeTreasure> shakeTable = TreasureConfig.getInstance().getShakeTable(entityType);
 
-        for (ShakeTreasure treasure : possibleDrops) {
-            cumulatedProbability += treasure.getDropChance();
-
-            if (dropProbability < cumulatedProbability) {
-                return treasure.getDrop().clone();
-            }
+        if (shakeTable == null) {
+            return null;
         }
 
-        return null;
+        ShakeTreasure treasure = shakeTable.sample(Misc.getRandom());
+        return treasure == null ? null : treasure.getDrop().clone();
     }
 }
@@ -467,7 +467,7 @@ public class FishingManager extends SkillManager {
                 return;
             }
 
-            ItemStack drop = Fishing.chooseDrop(possibleDrops);
+            ItemStack drop = Fishing.chooseDrop(target.getType());
 
             // It's possible that chooseDrop returns null if the sum of probability in possibleDrops is inferior than 100
             if (drop == null) {
@@ -549,7 +549,6 @@ public class FishingManager extends SkillManager {
      * @return The {@link FishingTreasure} found, or null if no treasure was found.
      */
     private FishingTreasure getFishingTreasure() {
-        double diceRoll = Misc.getRandom().nextDouble() * 100;
         int luck;
 
         if (getPlayer().getInventory().getItemInMainHand().getType() == Material.FISHING_ROD) {
@@ -560,37 +559,21 @@ public class FishingManager extends SkillManager {
             luck = getPlayer().getInventory().getItemInOffHand().getEnchantmentLevel(Enchantment.LUCK);
         }
 
-        // Rather than subtracting luck (and causing a minimum 3% chance for every drop), scale by luck.
-        diceRoll *= (1.0 - luck * Config.getInstance().getFishingLureModifier() / 100);
+        // Rather than subtracting luck (and causing a minimum 3% chance for every drop), the table scales the roll by luck.
+        Rarity rarity = TreasureConfig.getInstance().getFishingRarityTable(getLootTier(), luck).sample(Misc.getRandom());
 
-        FishingTreasure treasure = null;
-
-        for (Rarity rarity : Rarity.values()) {
-            double dropRate = TreasureConfig.getInstance().getItemDropRate(getLootTier(), rarity);
-
-            if (diceRoll <= dropRate) {
-                /*if (rarity == Rarity.TRAP) {
-                    handleTraps();
-                    break;
-                }*/
-
-                List<FishingTreasure> fishingTreasures = TreasureConfig.getInstance().fishingRewards.get(rarity);
-
-                if (fishingTreasures.isEmpty()) {
-                    return null;
-                }
-
-                treasure = fishingTreasures.get(Misc.getRandom().nextInt(fishingTreasures.size()));
-                break;
-            }
-
-            diceRoll -= dropRate;
+        if (rarity == null) {
+            return null;
         }
 
-        if (treasure == null) {
+        List<FishingTreasure> fishingTreasures = TreasureConfig.getInstance().fishingRewards.get(rarity);
+
+        if (fishingTreasures.isEmpty()) {
             return null;
         }
 
+        FishingTreasure treasure = fishingTreasures.get(Misc.getRandom().nextInt(fishingTreasures.size()));
+
         ItemStack treasureDrop = treasure.getDrop().clone();
         short maxDurability = treasureDrop.getType().getMaxDurability();
 
@@ -617,30 +600,20 @@ public class FishingManager extends SkillManager {
      */
     private Map<Enchantment, Integer> handleMagicHunter(ItemStack treasureDrop) {
         Map<Enchantment, Integer> enchants = new HashMap<>();
-        List<EnchantmentTreasure> fishingEnchantments = null;
-
-        double diceRoll = Misc.getRandom().nextDouble() * 100;
-
-        for (Rarity rarity : Rarity.values()) {
-            if (rarity == Rarity.RECORD) {
-                continue;
-            }
 
-            double dropRate = TreasureConfig.getInstance().getEnchantmentDropRate(getLootTier(), rarity);
+        // Enchanted books are skipped by the rarity roll, whatever rarity it lands on
+        if (treasureDrop.getType() == Material.ENCHANTED_BOOK) {
+            return enchants;
+        }
 
-            if (diceRoll <= dropRate) {
-                // Make sure enchanted books always get some kind of enchantment.  --hoorigan
-                if (treasureDrop.getType() == Material.ENCHANTED_BOOK) {
-                    diceRoll = dropRate + 1;
-                    continue;
-                }
-                fishingEnchantments = TreasureConfig.getInstance().fishingEnchantments.get(rarity);
-                break;
-            }
+        Rarity rarity = TreasureConfig.getInstance().getEnchantmentRarityTable(getLootTier()).sample(Misc.getRandom());
 
-            diceRoll -= dropRate;
+        if (rarity == null) {
+            return enchants;
         }
 
+        List<EnchantmentTreasure> fishingEnchantments = TreasureConfig.getInstance().fishingEnchantments.get(rarity);
+
         if (fishingEnchantments == null) {
             return enchants;
         }
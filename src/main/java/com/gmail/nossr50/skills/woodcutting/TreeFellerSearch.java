@@ -0,0 +1,276 @@
+package com.gmail.nossr50.skills.woodcutting;
+
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.BlockUtils;
+import com.gmail.nossr50.util.blockmeta.chunkmeta.ChunkManager;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Finds the blocks of a tree for Tree Feller.
+ * <p>
+ * Logs are searched breadth first from the broken block, positions being packed into longs and kept in a primitive
+ * set, so each position is read at most once and no block snapshot is taken while searching.
+ * The search stops as soon as more blocks than the Tree Feller threshold have been found.
+ */
+final class TreeFellerSearch {
+    /**
+     * The x/z differences to the blocks in a flat cylinder around the center
+     * block, which is excluded.
+     */
+    private static final int[][] directions = {
+            new int[] {-2, -1}, new int[] {-2, 0}, new int[] {-2, 1},
+            new int[] {-1, -2}, new int[] {-1, -1}, new int[] {-1, 0}, new int[] {-1, 1}, new int[] {-1, 2},
+            new int[] { 0, -2}, new int[] { 0, -1},                    new int[] { 0, 1}, new int[] { 0, 2},
+            new int[] { 1, -2}, new int[] { 1, -1}, new int[] { 1, 0}, new int[] { 1, 1}, new int[] { 1, 2},
+            new int[] { 2, -1}, new int[] { 2, 0}, new int[] { 2, 1},
+    };
+
+    private final World world;
+    private final int threshold;
+    private final ChunkManager placeStore;
+    private final Predicate<Block> isLog;
+    private final Predicate<Material> isNonWoodPartOfTree;
+    private final PositionSet visited = new PositionSet();
+    private final List<Block> blocks = new ArrayList<>();
+    private long[] centers = new long[64];
+    private int centerCount;
+    private int logCount;
+    private boolean reachedThreshold;
+
+    TreeFellerSearch(@NotNull World world, int threshold) {
+        this(world, threshold, mcMMO.getPlaceStore(), BlockUtils::hasWoodcuttingXP, BlockUtils::isNonWoodPartOfTree);
+    }
+
+    TreeFellerSearch(@NotNull World world, int threshold, @NotNull ChunkManager placeStore, @NotNull Predicate<Block> isLog, @NotNull Predicate<Material> isNonWoodPartOfTree) {
+        this.world = world;
+        this.threshold = threshold;
+        this.placeStore = placeStore;
+        this.isLog = isLog;
+        this.isNonWoodPartOfTree = isNonWoodPartOfTree;
+    }
+
+    /*
+     * Algorithm: An int[][] of X/Z directions is created on static class
+     * initialization, representing a cylinder with radius of about 2 - the
+     * (0,0) center and all (+-2, +-2) corners are omitted.
+     *
+     * visit() returns a boolean, which is used for the sole purpose of
+     * switching between these two behaviors:
+     *
+     * (Call the center "this log" for the below explanation.)
+     *
+     *  [A] There is another log above this log (TRUNK)
+     *    Only the flat cylinder in the directions array is searched.
+     *  [B] There is not another log above this log (BRANCH AND TOP)
+     *    The cylinder in the directions array is extended up and down by 1
+     *    block in the Y-axis, and the block below this log is checked as
+     *    well. Due to the fact that the directions array will catch all
+     *    blocks on a red mushroom, the special method for it is eliminated.
+     *
+     * Every log found becomes a center in turn, in the order they are found.
+     */
+    /**
+     * Search the tree the given block belongs to
+     *
+     * @param start the block being broken
+     * @return false if the tree has more blocks than the threshold
+     */
+    boolean search(@NotNull Block start) {
+        addCenter(pack(start.getX(), start.getY(), start.getZ()));
+
+        for (int next = 0; next < centerCount; next++) {
+            long center = centers[next];
+            int x = unpackX(center);
+            int y = unpackY(center);
+            int z = unpackZ(center);
+
+            // Check the block up and take different behavior (smaller search) if it's a log
+            if (visit(x, y + 1, z)) {
+                for (int[] dir : directions) {
+                    visit(x + dir[0], y, z + dir[1]);
+
+                    if (reachedThreshold) {
+                        return false;
+                    }
+                }
+            }
+            else {
+                // Cover DOWN
+                visit(x, y - 1, z);
+
+                // Search in a cube
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int[] dir : directions) {
+                        visit(x + dir[0], y + dy, z + dir[1]);
+
+                        if (reachedThreshold) {
+                            return false;
+                        }
+                    }
+                }
+            }
+
+            if (reachedThreshold) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Look at a block, adding it to the tree if it is part of it
+     *
+     * @return true if and only if the block is a log that wasn't looked at yet
+     */
+    private boolean visit(int x, int y, int z) {
+        long position = pack(x, y, z);
+
+        if (!visited.add(position) || placeStore.isTrue(x, y, z, world)) {
+            return false;
+        }
+
+        // Without this check Tree Feller propagates through leaves until the threshold is hit
+        if (blocks.size() > threshold) {
+            reachedThreshold = true;
+        }
+
+        Block block = world.getBlockAt(x, y, z);
+
+        if (isLog.test(block)) {
+            blocks.add(block);
+            addCenter(position);
+            logCount++;
+            return true;
+        }
+        else if (isNonWoodPartOfTree.test(block.getType())) {
+            blocks.add(block);
+        }
+
+        return false;
+    }
+
+    private void addCenter(long position) {
+        if (centerCount == centers.length) {
+            centers = Arrays.copyOf(centers, centerCount * 2);
+        }
+
+        centers[centerCount++] = position;
+    }
+
+    /**
+     * @return the blocks of the tree, in the order they were found
+     */
+    @NotNull List<Block> getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * @return the number of blocks of the tree which give Woodcutting XP
+     */
+    int getLogCount() {
+        return logCount;
+    }
+
+    /*
+     * Positions are packed as 26 bits of x, 26 bits of z and 12 bits of y, enough for any world within the border
+     */
+
+    static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    static int unpackX(long position) {
+        return (int) (position >> 38);
+    }
+
+    static int unpackY(long position) {
+        return (int) (position << 52 >> 52);
+    }
+
+    static int unpackZ(long position) {
+        return (int) (position << 26 >> 38);
+    }
+
+    /**
+     * Open addressing set of packed positions
+     */
+    static final class PositionSet {
+        // Only a position 2^25 blocks away on the x axis packs to this, far beyond the world border
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] positions = newTable(256);
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int capacity() {
+            return positions.length;
+        }
+
+        /**
+         * @return true if the position wasn't in the set
+         */
+        boolean add(long position) {
+            if ((size + 1) * 2 > positions.length) {
+                grow();
+            }
+
+            if (insert(positions, position)) {
+                size++;
+                return true;
+            }
+
+            return false;
+        }
+
+        private static boolean insert(long[] table, long position) {
+            int mask = table.length - 1;
+            int index = hash(position) & mask;
+
+            while (table[index] != EMPTY) {
+                if (table[index] == position) {
+                    return false;
+                }
+
+                index = (index + 1) & mask;
+            }
+
+            table[index] = position;
+            return true;
+        }
+
+        private void grow() {
+            long[] table = newTable(positions.length * 2);
+
+            for (long position : positions) {
+                if (position != EMPTY) {
+                    insert(table, position);
+                }
+            }
+
+            positions = table;
+        }
+
+        private static long[] newTable(int capacity) {
+            long[] table = new long[capacity];
+            Arrays.fill(table, EMPTY);
+            return table;
+        }
+
+        private static int hash(long position) {
+            long mixed = position * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32));
+        }
+    }
+}
@@ -21,35 +21,22 @@ import com.gmail.nossr50.util.skills.SkillUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
 import org.bukkit.block.BlockState;
 import org.bukkit.entity.Player;
 import org.bukkit.event.player.PlayerItemDamageEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 public class WoodcuttingManager extends SkillManager {
-    private boolean treeFellerReachedThreshold = false;
     private static int treeFellerThreshold; //TODO: Shared setting, will be removed in 2.2
 
-    /**
-     * The x/y differences to the blocks in a flat cylinder around the center
-     * block, which is excluded.
-     */
-    private static final int[][] directions = {
-            new int[] {-2, -1}, new int[] {-2, 0}, new int[] {-2, 1},
-            new int[] {-1, -2}, new int[] {-1, -1}, new int[] {-1, 0}, new int[] {-1, 1}, new int[] {-1, 2},
-            new int[] { 0, -2}, new int[] { 0, -1},                    new int[] { 0, 1}, new int[] { 0, 2},
-            new int[] { 1, -2}, new int[] { 1, -1}, new int[] { 1, 0}, new int[] { 1, 1}, new int[] { 1, 2},
-            new int[] { 2, -1}, new int[] { 2, 0}, new int[] { 2, 1},
-    };
+    private final List<TreeFellerDrops> pendingTreeFellerDrops = new ArrayList<>(); // Trees still being felled over several ticks
 
     public WoodcuttingManager(McMMOPlayer mcMMOPlayer) {
         super(mcMMOPlayer, PrimarySkillType.WOODCUTTING);
@@ -97,22 +84,16 @@ public class WoodcuttingManager extends SkillManager {
      */
     public void processTreeFeller(BlockState blockState) {
         Player player = getPlayer();
-        Set<BlockState> treeFellerBlocks = new HashSet<>();
-
-        treeFellerReachedThreshold = false;
-
-        processTree(blockState, treeFellerBlocks);
+        TreeFellerSearch treeFellerSearch = new TreeFellerSearch(blockState.getWorld(), treeFellerThreshold);
 
         // If the player is trying to break too many blocks
-        if (treeFellerReachedThreshold) {
-            treeFellerReachedThreshold = false;
-
+        if (!treeFellerSearch.search(blockState.getBlock())) {
             NotificationManager.sendPlayerInformation(player, NotificationType.SUBSKILL_MESSAGE_FAILED, "Woodcutting.Skills.TreeFeller.Threshold");
             return;
         }
 
         // If the tool can't sustain the durability loss
-        if (!handleDurabilityLoss(treeFellerBlocks, player.getInventory().getItemInMainHand(), player)) {
+        if (!handleDurabilityLoss(treeFellerSearch.getLogCount(), player.getInventory().getItemInMainHand(), player)) {
             NotificationManager.sendPlayerInformation(player, NotificationType.SUBSKILL_MESSAGE_FAILED, "Woodcutting.Skills.TreeFeller.Splinter");
 
             double health = player.getHealth();
@@ -124,86 +105,18 @@ public class WoodcuttingManager extends SkillManager {
             return;
         }
 
-        dropTreeFellerLootFromBlocks(treeFellerBlocks);
-        treeFellerReachedThreshold = false; // Reset the value after we're done with Tree Feller each time.
-    }
-
-    /**
-     * Processes Tree Feller in a recursive manner
-     *
-     * @param blockState Block being checked
-     * @param treeFellerBlocks List of blocks to be removed
-     */
-    /*
-     * Algorithm: An int[][] of X/Z directions is created on static class
-     * initialization, representing a cylinder with radius of about 2 - the
-     * (0,0) center and all (+-2, +-2) corners are omitted.
-     *
-     * processTreeFellerTargetBlock() returns a boolean, which is used for the sole purpose of
-     * switching between these two behaviors:
-     *
-     * (Call blockState "this log" for the below explanation.)
-     *
-     *  [A] There is another log above this log (TRUNK)
-     *    Only the flat cylinder in the directions array is searched.
-     *  [B] There is not another log above this log (BRANCH AND TOP)
-     *    The cylinder in the directions array is extended up and down by 1
-     *    block in the Y-axis, and the block below this log is checked as
-     *    well. Due to the fact that the directions array will catch all
-     *    blocks on a red mushroom, the special method for it is eliminated.
-     *
-     * This algorithm has been shown to achieve a performance of 2-5
-     * milliseconds on regular trees and 10-15 milliseconds on jungle trees
-     * once the JIT has optimized the function (use the ability about 4 times
-     * before taking measurements).
-     */
-    private void processTree(BlockState blockState, Set<BlockState> treeFellerBlocks) {
-        List<BlockState> futureCenterBlocks = new ArrayList<>();
-
-        // Check the block up and take different behavior (smaller search) if it's a log
-        if (processTreeFellerTargetBlock(blockState.getBlock().getRelative(BlockFace.UP).getState(), futureCenterBlocks, treeFellerBlocks)) {
-            for (int[] dir : directions) {
-                processTreeFellerTargetBlock(blockState.getBlock().getRelative(dir[0], 0, dir[1]).getState(), futureCenterBlocks, treeFellerBlocks);
-
-                if (treeFellerReachedThreshold) {
-                    return;
-                }
-            }
-        }
-        else {
-            // Cover DOWN
-            processTreeFellerTargetBlock(blockState.getBlock().getRelative(BlockFace.DOWN).getState(), futureCenterBlocks, treeFellerBlocks);
-            // Search in a cube
-            for (int y = -1; y <= 1; y++) {
-                for (int[] dir : directions) {
-                    processTreeFellerTargetBlock(blockState.getBlock().getRelative(dir[0], y, dir[1]).getState(), futureCenterBlocks, treeFellerBlocks);
-
-                    if (treeFellerReachedThreshold) {
-                        return;
-                    }
-                }
-            }
-        }
-
-        // Recursive call for each log found
-        for (BlockState futureCenterBlock : futureCenterBlocks) {
-            if (treeFellerReachedThreshold) {
-                return;
-            }
-
-            processTree(futureCenterBlock, treeFellerBlocks);
-        }
+        dropTreeFellerLootFromBlocks(treeFellerSearch.getBlocks());
     }
 
     /**
      * Handles the durability loss
      *
-     * @param treeFellerBlocks List of blocks to be removed
+     * @param logCount Number of blocks to be removed which give Woodcutting XP
      * @param inHand tool being used
      * @param player the player holding the item
      * @return True if the tool can sustain the durability loss
      */
-    private static boolean handleDurabilityLoss(@NotNull Set<BlockState> treeFellerBlocks, @NotNull ItemStack inHand, @NotNull Player player) {
+    private static boolean handleDurabilityLoss(int logCount, @NotNull ItemStack inHand, @NotNull Player player) {
         //Treat the NBT tag for unbreakable and the durability enchant differently
         ItemMeta meta = inHand.getItemMeta();
 
@@ -211,15 +124,9 @@ public class WoodcuttingManager extends SkillManager {
             return true;
         }
 
-        int durabilityLoss = 0;
+        int durabilityLoss = logCount * Config.getInstance().getAbilityToolDamage();
         Material type = inHand.getType();
 
-        for (BlockState blockState : treeFellerBlocks) {
-            if (BlockUtils.hasWoodcuttingXP(blockState)) {
-                durabilityLoss += Config.getInstance().getAbilityToolDamage();
-            }
-        }
-
         // Call PlayerItemDamageEvent first to make sure it's not cancelled
         //TODO: Put this event stuff in handleDurabilityChange
         final PlayerItemDamageEvent event = new PlayerItemDamageEvent(player, inHand, durabilityLoss);
@@ -235,96 +142,152 @@ public class WoodcuttingManager extends SkillManager {
     }
 
     /**
-     * Handle a block addition to the list of blocks to be removed and to the
-     * list of blocks used for future recursive calls of
-     * 'processTree()'
+     * Handles the dropping of blocks
      *
-     * @param blockState Block to be added
-     * @param futureCenterBlocks List of blocks that will be used to call
-     *     'processTree()'
-     * @param treeFellerBlocks List of blocks to be removed
-     * @return true if and only if the given blockState was a Log not already
-     *     in treeFellerBlocks.
+     * @param treeFellerBlocks List of blocks to be dropped
      */
-    private boolean processTreeFellerTargetBlock(@NotNull BlockState blockState, @NotNull List<BlockState> futureCenterBlocks, @NotNull Set<BlockState> treeFellerBlocks) {
-        if (treeFellerBlocks.contains(blockState) || mcMMO.getPlaceStore().isTrue(blockState)) {
-            return false;
-        }
+    private void dropTreeFellerLootFromBlocks(@NotNull List<Block> treeFellerBlocks) {
+        int blocksPerTick = Config.getInstance().getTreeFellerBlocksPerTick();
 
-        // Without this check Tree Feller propagates through leaves until the threshold is hit
-        if (treeFellerBlocks.size() > treeFellerThreshold) {
-            treeFellerReachedThreshold = true;
+        if (blocksPerTick <= 0 || treeFellerBlocks.size() <= blocksPerTick) {
+            TreeFellerDrops drops = new TreeFellerDrops(treeFellerBlocks, treeFellerBlocks.size());
+            drops.dropBatch();
+            drops.finish();
+            return;
         }
 
-        if (BlockUtils.hasWoodcuttingXP(blockState)) {
-            treeFellerBlocks.add(blockState);
-            futureCenterBlocks.add(blockState);
-            return true;
+        // Very large trees are felled over several ticks
+        TreeFellerDrops drops = new TreeFellerDrops(treeFellerBlocks, blocksPerTick);
+
+        if (drops.dropBatch()) {
+            pendingTreeFellerDrops.add(drops);
+            drops.runTaskTimer(mcMMO.p, 1, 1);
         }
-        else if (BlockUtils.isNonWoodPartOfTree(blockState)) {
-            treeFellerBlocks.add(blockState);
-            return false;
+        else {
+            drops.finish();
         }
-        return false;
     }
 
     /**
-     * Handles the dropping of blocks
-     *
-     * @param treeFellerBlocks List of blocks to be dropped
+     * Fells the rest of the trees still being felled over several ticks, so their XP is awarded while the player is still loaded
      */
-    private void dropTreeFellerLootFromBlocks(@NotNull Set<BlockState> treeFellerBlocks) {
-        Player player = getPlayer();
-        int xp = 0;
-        int processedLogCount = 0;
+    public void finishTreeFeller() {
+        for (TreeFellerDrops drops : new ArrayList<>(pendingTreeFellerDrops)) {
+            drops.cancel();
+
+            while (drops.dropBatch()) {
+                // Keep going until the whole tree is down
+            }
+
+            drops.finish();
+        }
+    }
+
+    /**
+     * Drops the loot of the blocks of a tree and removes them, a batch of blocks at a time
+     */
+    private final class TreeFellerDrops extends BukkitRunnable {
+        private final List<Block> treeFellerBlocks;
+        private final int batchSize;
+        private int next;
+        private int xp;
+        private int processedLogCount;
+
+        private TreeFellerDrops(List<Block> treeFellerBlocks, int batchSize) {
+            this.treeFellerBlocks = treeFellerBlocks;
+            this.batchSize = batchSize;
+        }
 
-        for (BlockState blockState : treeFellerBlocks) {
-            int beforeXP = xp;
-            Block block = blockState.getBlock();
+        @Override
+        public void run() {
+            // Trees are finished when the player logs out, this only happens if they are gone without logging out
+            if (!getPlayer().isOnline()) {
+                cancel();
+                pendingTreeFellerDrops.remove(this);
+                return;
+            }
 
-            if (!EventUtils.simulateBlockBreak(block, player, true)) {
-                break; // TODO: Shouldn't we use continue instead?
+            if (!dropBatch()) {
+                cancel();
+                finish();
             }
+        }
 
-            /*
-             * Handle Drops & XP
-             */
+        /**
+         * Drop the next batch of blocks
+         *
+         * @return true if there are blocks left to drop
+         */
+        private boolean dropBatch() {
+            Player player = getPlayer();
+            int end = Math.min(treeFellerBlocks.size(), next + batchSize);
+
+            while (next < end) {
+                Block block = treeFellerBlocks.get(next++);
+                int beforeXP = xp;
+
+                // The world may have changed since the tree was found, don't remove blocks placed there since
+                if (!isNaturalPartOfTree(block)) {
+                    continue;
+                }
+
+                if (!EventUtils.simulateBlockBreak(block, player, true)) {
+                    next = treeFellerBlocks.size(); // TODO: Shouldn't we skip only this block instead?
+                    break;
+                }
 
-            if (BlockUtils.hasWoodcuttingXP(blockState)) {
-                //Add XP
-                xp += processTreeFellerXPGains(blockState, processedLogCount);
+                // Only snapshot the blocks actually felled
+                BlockState blockState = block.getState();
 
-                //Drop displaced block
-                Misc.spawnItemsFromCollection(Misc.getBlockCenter(blockState), block.getDrops(), ItemSpawnReason.TREE_FELLER_DISPLACED_BLOCK);
+                /*
+                 * Handle Drops & XP
+                 */
 
-                //Bonus Drops / Harvest lumber checks
-                processHarvestLumber(blockState);
-            } else if (BlockUtils.isNonWoodPartOfTree(blockState)) {
-                //Drop displaced non-woodcutting XP blocks
+                if (BlockUtils.hasWoodcuttingXP(blockState)) {
+                    //Add XP
+                    xp += processTreeFellerXPGains(blockState, processedLogCount);
 
-                if(RankUtils.hasUnlockedSubskill(player, SubSkillType.WOODCUTTING_KNOCK_ON_WOOD)) {
+                    //Drop displaced block
                     Misc.spawnItemsFromCollection(Misc.getBlockCenter(blockState), block.getDrops(), ItemSpawnReason.TREE_FELLER_DISPLACED_BLOCK);
 
-                    if(RankUtils.hasReachedRank(2, player, SubSkillType.WOODCUTTING_KNOCK_ON_WOOD)) {
-                        if(RandomChanceUtil.rollDice(75, 100)) {
-                            int randOrbCount = Math.max(1, Misc.getRandom().nextInt(20));
-                            Misc.spawnExperienceOrb(blockState.getLocation(), randOrbCount);
+                    //Bonus Drops / Harvest lumber checks
+                    processHarvestLumber(blockState);
+                } else if (BlockUtils.isNonWoodPartOfTree(blockState)) {
+                    //Drop displaced non-woodcutting XP blocks
+
+                    if(RankUtils.hasUnlockedSubskill(player, SubSkillType.WOODCUTTING_KNOCK_ON_WOOD)) {
+                        Misc.spawnItemsFromCollection(Misc.getBlockCenter(blockState), block.getDrops(), ItemSpawnReason.TREE_FELLER_DISPLACED_BLOCK);
+
+                        if(RankUtils.hasReachedRank(2, player, SubSkillType.WOODCUTTING_KNOCK_ON_WOOD)) {
+                            if(RandomChanceUtil.rollDice(75, 100)) {
+                                int randOrbCount = Math.max(1, Misc.getRandom().nextInt(20));
+                                Misc.spawnExperienceOrb(blockState.getLocation(), randOrbCount);
+                            }
                         }
-                    }
 
-                } else {
-                    Misc.spawnItemsFromCollection(Misc.getBlockCenter(blockState), block.getDrops(), ItemSpawnReason.TREE_FELLER_DISPLACED_BLOCK, 1);
+                    } else {
+                        Misc.spawnItemsFromCollection(Misc.getBlockCenter(blockState), block.getDrops(), ItemSpawnReason.TREE_FELLER_DISPLACED_BLOCK, 1);
+                    }
                 }
+
+                blockState.setType(Material.AIR);
+                blockState.update(true);
+
+                //Update only when XP changes
+                processedLogCount = updateProcessedLogCount(xp, processedLogCount, beforeXP);
             }
 
-            blockState.setType(Material.AIR);
-            blockState.update(true);
+            return next < treeFellerBlocks.size();
+        }
 
-            //Update only when XP changes
-            processedLogCount = updateProcessedLogCount(xp, processedLogCount, beforeXP);
+        private boolean isNaturalPartOfTree(Block block) {
+            return (BlockUtils.hasWoodcuttingXP(block) || BlockUtils.isNonWoodPartOfTree(block.getType())) && !mcMMO.getPlaceStore().isTrue(block);
         }
 
-        applyXpGain(xp, XPGainReason.PVE);
+        private void finish() {
+            pendingTreeFellerDrops.remove(this);
+            applyXpGain(xp, XPGainReason.PVE);
+        }
     }
 
     private int updateProcessedLogCount(int xp, int processedLogCount, int beforeXP) {
@@ -85,6 +85,17 @@ public final class BlockUtils {
         return !mcMMO.getMaterialMapStore().isAbilityActivationBlackListed(blockState.getType());
     }
 
+    /**
+     * Check if a given material should allow for the activation of abilities
+     *
+     * @param material The {@link Material} of the block to check
+     * @return true if the block should allow ability activation, false
+     * otherwise
+     */
+    public static boolean canActivateAbilities(Material material) {
+        return !mcMMO.getMaterialMapStore().isAbilityActivationBlackListed(material);
+    }
+
     /**
      * Check if a given block should allow for the activation of tools
      * Activating a tool is step 1 of a 2 step process for super ability activation
@@ -119,6 +130,16 @@ public final class BlockUtils {
         return mcMMO.getMaterialMapStore().isMossyWhiteListed(blockState.getType());
     }
 
+    /**
+     * Determine if a given material can be made mossy
+     *
+     * @param material The {@link Material} of the block to check
+     * @return true if the block can be made mossy, false otherwise
+     */
+    public static boolean canMakeMossy(Material material) {
+        return mcMMO.getMaterialMapStore().isMossyWhiteListed(material);
+    }
+
     /**
      * Determine if a given block should be affected by Green Terra
      *
@@ -126,13 +147,27 @@ public final class BlockUtils {
      * @return true if the block should affected by Green Terra, false otherwise
      */
     public static boolean affectedByGreenTerra(BlockState blockState) {
-        if (ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.HERBALISM, blockState.getBlockData())) {
+        if (ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.HERBALISM, blockState)) {
             return true;
         }
 
         return mcMMO.getModManager().isCustomHerbalismBlock(blockState);
     }
 
+    /**
+     * Determine if a given block should be affected by Green Terra, without taking a snapshot of it
+     *
+     * @param block The {@link Block} to check
+     * @return true if the block should affected by Green Terra, false otherwise
+     */
+    public static boolean affectedByGreenTerra(Block block) {
+        if (ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.HERBALISM, block)) {
+            return true;
+        }
+
+        return mcMMO.getModManager().isCustomHerbalismBlock(block.getType());
+    }
+
     /**
      * Determine if a given block should be affected by Super Breaker
      *
@@ -141,12 +176,27 @@ public final class BlockUtils {
      * otherwise
      */
     public static Boolean affectedBySuperBreaker(BlockState blockState) {
-        if (ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.MINING, blockState.getBlockData()))
+        if (ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.MINING, blockState))
             return true;
 
         return isOre(blockState) || mcMMO.getModManager().isCustomMiningBlock(blockState);
     }
 
+    /**
+     * Determine if a given block should be affected by Super Breaker, without taking a snapshot of it
+     *
+     * @param block The {@link Block} to check
+     * @return true if the block should affected by Super Breaker, false
+     * otherwise
+     */
+    public static boolean affectedBySuperBreaker(Block block) {
+        if (ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.MINING, block))
+            return true;
+
+        Material material = block.getType();
+        return MaterialUtils.isOre(material) || mcMMO.getModManager().isCustomMiningBlock(material);
+    }
+
     /**
      * Determine if a given block should be affected by Giga Drill Breaker
      *
@@ -155,11 +205,24 @@ public final class BlockUtils {
      * otherwise
      */
     public static boolean affectedByGigaDrillBreaker(BlockState blockState) {
-        if (ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.EXCAVATION, blockState.getBlockData()))
+        if (ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.EXCAVATION, blockState))
             return true;
         return mcMMO.getModManager().isCustomExcavationBlock(blockState);
     }
 
+    /**
+     * Determine if a given block should be affected by Giga Drill Breaker, without taking a snapshot of it
+     *
+     * @param block The {@link Block} to check
+     * @return true if the block should affected by Giga Drill Breaker, false
+     * otherwise
+     */
+    public static boolean affectedByGigaDrillBreaker(Block block) {
+        if (ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.EXCAVATION, block))
+            return true;
+        return mcMMO.getModManager().isCustomExcavationBlock(block.getType());
+    }
+
     /**
      * Check if a given block is a log
      *
@@ -167,7 +230,17 @@ public final class BlockUtils {
      * @return true if the block is a log, false otherwise
      */
     public static boolean hasWoodcuttingXP(BlockState blockState) {
-        return ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.WOODCUTTING, blockState.getBlockData());
+        return ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.WOODCUTTING, blockState);
+    }
+
+    /**
+     * Check if a given block is a log, without taking a snapshot of it
+     *
+     * @param block The {@link Block} to check
+     * @return true if the block is a log, false otherwise
+     */
+    public static boolean hasWoodcuttingXP(Block block) {
+        return ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.WOODCUTTING, block);
     }
 
     /**
@@ -223,6 +296,17 @@ public final class BlockUtils {
         return mcMMO.getMaterialMapStore().isBlockCrackerWhiteListed(blockState.getType());
     }
 
+    /**
+     * Determine if a given material should be affected by Block Cracker
+     *
+     * @param material The {@link Material} of the block to check
+     * @return true if the block should affected by Block Cracker, false
+     * otherwise
+     */
+    public static boolean affectedByBlockCracker(Material material) {
+        return mcMMO.getMaterialMapStore().isBlockCrackerWhiteListed(material);
+    }
+
     /**
      * Determine if a given block can be made into Mycelium
      *
@@ -281,6 +365,6 @@ public final class BlockUtils {
     }
 
     public static boolean isPartOfTree(Block rayCast) {
-        return hasWoodcuttingXP(rayCast.getState()) || isNonWoodPartOfTree(rayCast.getType());
+        return hasWoodcuttingXP(rayCast) || isNonWoodPartOfTree(rayCast.getType());
     }
 }
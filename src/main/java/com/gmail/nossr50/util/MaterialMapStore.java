@@ -20,6 +20,7 @@ public class MaterialMapStore {
     private final @NotNull HashSet<String> toolBlackList;
     private final @NotNull HashSet<String> mossyWhiteList;
     private final @NotNull HashSet<String> treeFellerDestructibleWhiteList;
+    private final boolean[] treeFellerDestructible = new boolean[Material.values().length];
     private final @NotNull HashSet<String> herbalismAbilityBlackList;
     private final @NotNull HashSet<String> blockCrackerWhiteList;
     private final @NotNull HashSet<String> canMakeShroomyWhiteList;
@@ -147,7 +148,8 @@ public class MaterialMapStore {
 
     public boolean isTreeFellerDestructible(@NotNull Material material)
     {
-        return treeFellerDestructibleWhiteList.contains(material.getKey().getKey());
+        // Looked up for every block around the logs of a tree
+        return treeFellerDestructible[material.ordinal()];
     }
 
     public boolean isHerbalismAbilityWhiteListed(@NotNull Material material)
@@ -785,6 +787,12 @@ public class MaterialMapStore {
         treeFellerDestructibleWhiteList.add("warped_wart_block");
         treeFellerDestructibleWhiteList.add("brown_mushroom_block");
         treeFellerDestructibleWhiteList.add("red_mushroom_block");
+
+        for (Material material : Material.values()) {
+            if (!material.isLegacy() && treeFellerDestructibleWhiteList.contains(material.getKey().getKey())) {
+                treeFellerDestructible[material.ordinal()] = true;
+            }
+        }
     }
 
     private void fillMossyWhiteList()
@@ -141,15 +141,27 @@ public class ModManager {
     }
 
     public boolean isCustomExcavationBlock(BlockState state) {
-        return Config.getInstance().getBlockModsEnabled() && customExcavationBlocks.contains(state.getType());
+        return isCustomExcavationBlock(state.getType());
+    }
+
+    public boolean isCustomExcavationBlock(Material material) {
+        return Config.getInstance().getBlockModsEnabled() && customExcavationBlocks.contains(material);
     }
 
     public boolean isCustomHerbalismBlock(BlockState state) {
-        return Config.getInstance().getBlockModsEnabled() && customHerbalismBlocks.contains(state.getType());
+        return isCustomHerbalismBlock(state.getType());
+    }
+
+    public boolean isCustomHerbalismBlock(Material material) {
+        return Config.getInstance().getBlockModsEnabled() && customHerbalismBlocks.contains(material);
     }
 
     public boolean isCustomMiningBlock(BlockState state) {
-        return Config.getInstance().getBlockModsEnabled() && customMiningBlocks.contains(state.getType());
+        return isCustomMiningBlock(state.getType());
+    }
+
+    public boolean isCustomMiningBlock(Material material) {
+        return Config.getInstance().getBlockModsEnabled() && customMiningBlocks.contains(material);
     }
 
     public CustomBlock getBlock(BlockState state) {
@@ -0,0 +1,102 @@
+package com.gmail.nossr50.util;
+
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import com.gmail.nossr50.datatypes.skills.SubSkillType;
+import org.bukkit.entity.Player;
+
+import java.util.BitSet;
+import java.util.Locale;
+
+/**
+ * Remembers the result of the permission checks a player goes through on every block break, hit or XP gain.
+ * <p>
+ * Results are looked up again once {@link #invalidate()} is called, which happens when the player changes worlds,
+ * gets opped or deopped, and every {@link #MAX_AGE_SECONDS} seconds to pick up changes made by permission plugins.
+ * Only meant to be used from the main thread.
+ */
+public final class PermissionCache {
+    private static final int MAX_AGE_SECONDS = 10;
+    private static final int SKILL_COUNT = PrimarySkillType.values().length;
+    private static final int SUB_SKILL_COUNT = SubSkillType.values().length;
+
+    /**
+     * Permission nodes that exist once per skill
+     */
+    public enum SkillNode {
+        SKILL("mcmmo.skills."),
+        LUCKY("mcmmo.perks.lucky."),
+        XP_QUADRUPLE("mcmmo.perks.xp.quadruple."),
+        XP_TRIPLE("mcmmo.perks.xp.triple."),
+        XP_150_PERCENT("mcmmo.perks.xp.150percentboost."),
+        XP_DOUBLE("mcmmo.perks.xp.double."),
+        XP_50_PERCENT("mcmmo.perks.xp.50percentboost."),
+        XP_10_PERCENT("mcmmo.perks.xp.10percentboost."),
+        XP_CUSTOM("mcmmo.perks.xp.customboost."),
+        VANILLA_XP_BOOST("mcmmo.ability.", ".vanillaxpboost"),
+        BONUS_DAMAGE("mcmmo.ability.", ".bonusdamage");
+
+        private final String[] nodes = new String[SKILL_COUNT];
+
+        SkillNode(String prefix) {
+            this(prefix, "");
+        }
+
+        SkillNode(String prefix, String suffix) {
+            for (PrimarySkillType skill : PrimarySkillType.values()) {
+                nodes[skill.ordinal()] = (prefix + skill.toString().toLowerCase(Locale.ENGLISH) + suffix).intern();
+            }
+        }
+
+        public String getNode(PrimarySkillType skill) {
+            return nodes[skill.ordinal()];
+        }
+    }
+
+    private final Player player;
+    private final BitSet checked = new BitSet();
+    private final BitSet granted = new BitSet();
+    private boolean op;
+    private int age;
+
+    public PermissionCache(Player player) {
+        this.player = player;
+        this.op = player.isOp();
+    }
+
+    public boolean hasPermission(SkillNode node, PrimarySkillType skill) {
+        return hasPermission(SUB_SKILL_COUNT + node.ordinal() * SKILL_COUNT + skill.ordinal(), node.getNode(skill));
+    }
+
+    public boolean hasPermission(SubSkillType subSkillType) {
+        return hasPermission(subSkillType.ordinal(), subSkillType.getPermissionNodeAddress());
+    }
+
+    private boolean hasPermission(int index, String node) {
+        if (!checked.get(index)) {
+            granted.set(index, player.hasPermission(node));
+            checked.set(index);
+        }
+
+        return granted.get(index);
+    }
+
+    /**
+     * Forgets every result, so they are all looked up again
+     */
+    public void invalidate() {
+        checked.clear();
+        age = 0;
+    }
+
+    /**
+     * Called every second, forgets every result if the player was opped or deopped or they are too old
+     */
+    public void tick() {
+        boolean isOp = player.isOp();
+
+        if (isOp != op || ++age >= MAX_AGE_SECONDS) {
+            op = isOp;
+            invalidate();
+        }
+    }
+}
@@ -1,16 +1,19 @@
 package com.gmail.nossr50.util;
 
 import com.gmail.nossr50.commands.party.PartySubcommandType;
+import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.ItemType;
 import com.gmail.nossr50.datatypes.skills.MaterialType;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.datatypes.skills.subskills.AbstractSubSkill;
 import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.player.UserManager;
 import org.bukkit.Material;
 import org.bukkit.Server;
 import org.bukkit.World;
 import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
 import org.bukkit.permissions.Permissible;
 import org.bukkit.permissions.Permission;
 import org.bukkit.permissions.PermissionDefault;
@@ -114,16 +117,16 @@ public final class Permissions {
     public static boolean hasRepairEnchantBypassPerk(Permissible permissible) { return permissible.hasPermission("mcmmo.perks.bypass.repairenchant"); }
     public static boolean hasSalvageEnchantBypassPerk(Permissible permissible) { return permissible.hasPermission("mcmmo.perks.bypass.salvageenchant"); }
 
-    public static boolean lucky(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.perks.lucky." + skill.toString().toLowerCase(Locale.ENGLISH)); }
+    public static boolean lucky(Permissible permissible, PrimarySkillType skill) { return hasSkillPermission(permissible, PermissionCache.SkillNode.LUCKY, skill); }
 
     /* XP PERKS */
-    public static boolean quadrupleXp(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.perks.xp.quadruple." + skill.toString().toLowerCase(Locale.ENGLISH)); }
-    public static boolean tripleXp(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.perks.xp.triple." + skill.toString().toLowerCase(Locale.ENGLISH)); }
-    public static boolean doubleAndOneHalfXp(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.perks.xp.150percentboost." + skill.toString().toLowerCase(Locale.ENGLISH)); }
-    public static boolean doubleXp(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.perks.xp.double." + skill.toString().toLowerCase(Locale.ENGLISH)); }
-    public static boolean oneAndOneHalfXp(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.perks.xp.50percentboost." + skill.toString().toLowerCase(Locale.ENGLISH)); }
-    public static boolean oneAndOneTenthXp(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.perks.xp.10percentboost." + skill.toString().toLowerCase(Locale.ENGLISH)); }
-    public static boolean customXpBoost(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.perks.xp.customboost." + skill.toString().toLowerCase(Locale.ENGLISH)); }
+    public static boolean quadrupleXp(Permissible permissible, PrimarySkillType skill) { return hasSkillPermission(permissible, PermissionCache.SkillNode.XP_QUADRUPLE, skill); }
+    public static boolean tripleXp(Permissible permissible, PrimarySkillType skill) { return hasSkillPermission(permissible, PermissionCache.SkillNode.XP_TRIPLE, skill); }
+    public static boolean doubleAndOneHalfXp(Permissible permissible, PrimarySkillType skill) { return hasSkillPermission(permissible, PermissionCache.SkillNode.XP_150_PERCENT, skill); }
+    public static boolean doubleXp(Permissible permissible, PrimarySkillType skill) { return hasSkillPermission(permissible, PermissionCache.SkillNode.XP_DOUBLE, skill); }
+    public static boolean oneAndOneHalfXp(Permissible permissible, PrimarySkillType skill) { return hasSkillPermission(permissible, PermissionCache.SkillNode.XP_50_PERCENT, skill); }
+    public static boolean oneAndOneTenthXp(Permissible permissible, PrimarySkillType skill) { return hasSkillPermission(permissible, PermissionCache.SkillNode.XP_10_PERCENT, skill); }
+    public static boolean customXpBoost(Permissible permissible, PrimarySkillType skill) { return hasSkillPermission(permissible, PermissionCache.SkillNode.XP_CUSTOM, skill); }
 
     /* ACTIVATION PERKS */
     public static boolean twelveSecondActivationBoost(Permissible permissible) { return permissible.hasPermission("mcmmo.perks.activationtime.twelveseconds"); }
@@ -139,11 +142,31 @@ public final class Permissions {
      * SKILLS
      */
 
-    public static boolean skillEnabled(Permissible permissible, PrimarySkillType skill) {return permissible.hasPermission("mcmmo.skills." + skill.toString().toLowerCase(Locale.ENGLISH)); }
-    public static boolean vanillaXpBoost(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.ability." + skill.toString().toLowerCase(Locale.ENGLISH) + ".vanillaxpboost"); }
-    public static boolean isSubSkillEnabled(Permissible permissible, SubSkillType subSkillType) { return permissible.hasPermission(subSkillType.getPermissionNodeAddress()); }
+    public static boolean skillEnabled(Permissible permissible, PrimarySkillType skill) {return hasSkillPermission(permissible, PermissionCache.SkillNode.SKILL, skill); }
+    public static boolean vanillaXpBoost(Permissible permissible, PrimarySkillType skill) { return hasSkillPermission(permissible, PermissionCache.SkillNode.VANILLA_XP_BOOST, skill); }
+    public static boolean isSubSkillEnabled(Permissible permissible, SubSkillType subSkillType) {
+        PermissionCache permissionCache = getPermissionCache(permissible);
+        return permissionCache != null ? permissionCache.hasPermission(subSkillType) : permissible.hasPermission(subSkillType.getPermissionNodeAddress());
+    }
     public static boolean isSubSkillEnabled(Permissible permissible, AbstractSubSkill abstractSubSkill) { return permissible.hasPermission(abstractSubSkill.getPermissionNode()); }
-    public static boolean bonusDamage(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.ability." + skill.toString().toLowerCase(Locale.ENGLISH) + ".bonusdamage"); }
+    public static boolean bonusDamage(Permissible permissible, PrimarySkillType skill) { return hasSkillPermission(permissible, PermissionCache.SkillNode.BONUS_DAMAGE, skill); }
+
+    private static boolean hasSkillPermission(Permissible permissible, PermissionCache.SkillNode node, PrimarySkillType skill) {
+        PermissionCache permissionCache = getPermissionCache(permissible);
+        return permissionCache != null ? permissionCache.hasPermission(node, skill) : permissible.hasPermission(node.getNode(skill));
+    }
+
+    /**
+     * The cache of a loaded player, only used from the main thread
+     */
+    private static PermissionCache getPermissionCache(Permissible permissible) {
+        if (!(permissible instanceof Player) || !mcMMO.p.getServer().isPrimaryThread()) {
+            return null;
+        }
+
+        McMMOPlayer mcMMOPlayer = UserManager.getLoadedPlayer((Player) permissible);
+        return mcMMOPlayer != null ? mcMMOPlayer.getPermissionCache() : null;
+    }
 
     /* ACROBATICS */
     public static boolean dodge(Permissible permissible) { return permissible.hasPermission("mcmmo.ability.acrobatics.dodge"); }
@@ -0,0 +1,269 @@
+package com.gmail.nossr50.util.blockmeta.chunkmeta;
+
+import com.gmail.nossr50.util.blockmeta.ChunkletStore;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * ChunkStore keeping one bit per block, split into 16x16x16 sections that are only allocated once a block in them is set.
+ * <p>
+ * Stores are written with a hand rolled binary format instead of Java serialization, see {@link #serialize(DataOutputStream)}.
+ */
+public class BitSetChunkStore implements ChunkStore {
+    private static final long serialVersionUID = -1L;
+    static final int MAGIC_NUMBER = 0xEA5EDEBC;
+    private static final int CURRENT_VERSION = 1;
+
+    private static final int SECTION_SHIFT = 4;
+    private static final int SECTION_SIZE = 1 << SECTION_SHIFT;
+    private static final int WORDS_PER_SECTION = (SECTION_SIZE * SECTION_SIZE * SECTION_SIZE) / Long.SIZE;
+
+    transient private boolean dirty = false;
+    /** Indexed by y >> 4, null while no block of the section is set */
+    private final long[][] sections;
+    private final int worldHeight;
+    private final int cx;
+    private final int cz;
+    private final UUID worldUid;
+
+    public BitSetChunkStore(World world, int cx, int cz) {
+        this(world.getUID(), world.getMaxHeight(), cx, cz);
+    }
+
+    private BitSetChunkStore(UUID worldUid, int worldHeight, int cx, int cz) {
+        this.worldUid = worldUid;
+        this.worldHeight = worldHeight;
+        this.cx = cx;
+        this.cz = cz;
+        this.sections = new long[(worldHeight + SECTION_SIZE - 1) >> SECTION_SHIFT][];
+    }
+
+    @Override
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    @Override
+    public void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    @Override
+    public int getChunkX() {
+        return cx;
+    }
+
+    @Override
+    public int getChunkZ() {
+        return cz;
+    }
+
+    public UUID getWorldUid() {
+        return worldUid;
+    }
+
+    @Override
+    public boolean isTrue(int x, int y, int z) {
+        if (y >= worldHeight || y < 0)
+            return false;
+
+        long[] section = sections[y >> SECTION_SHIFT];
+
+        if (section == null) {
+            return false;
+        }
+
+        int index = getIndex(x, y, z);
+        return (section[index >>> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public void setTrue(int x, int y, int z) {
+        if (y >= worldHeight || y < 0)
+            return;
+
+        long[] section = sections[y >> SECTION_SHIFT];
+
+        if (section == null) {
+            section = new long[WORDS_PER_SECTION];
+            sections[y >> SECTION_SHIFT] = section;
+        }
+
+        int index = getIndex(x, y, z);
+        section[index >>> 6] |= 1L << index;
+        dirty = true;
+    }
+
+    @Override
+    public void setFalse(int x, int y, int z) {
+        if (y >= worldHeight || y < 0)
+            return;
+
+        long[] section = sections[y >> SECTION_SHIFT];
+
+        if (section == null) {
+            return;
+        }
+
+        int index = getIndex(x, y, z);
+        section[index >>> 6] &= ~(1L << index);
+        dirty = true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (long[] section : sections) {
+            if (!isEmpty(section)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public void copyFrom(ChunkletStore otherStore) {
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                for (int y = 0; y < worldHeight; y++) {
+                    if (otherStore.isTrue(x, y, z)) {
+                        setTrue(x, y, z);
+                    }
+                    else {
+                        setFalse(x, y, z);
+                    }
+                }
+            }
+        }
+        dirty = true;
+    }
+
+    /**
+     * Writes the store, skipping every section that has no block set
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream can't be written to
+     */
+    public void serialize(@NotNull DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC_NUMBER);
+        out.writeInt(CURRENT_VERSION);
+
+        out.writeLong(worldUid.getLeastSignificantBits());
+        out.writeLong(worldUid.getMostSignificantBits());
+        out.writeInt(cx);
+        out.writeInt(cz);
+        out.writeShort(worldHeight);
+
+        int usedSections = 0;
+
+        for (long[] section : sections) {
+            if (!isEmpty(section)) {
+                usedSections++;
+            }
+        }
+
+        out.writeByte(usedSections);
+
+        for (int i = 0; i < sections.length; i++) {
+            if (isEmpty(sections[i])) {
+                continue;
+            }
+
+            out.writeByte(i);
+
+            for (long word : sections[i]) {
+                out.writeLong(word);
+            }
+        }
+
+        dirty = false;
+    }
+
+    /**
+     * Reads a store written by {@link #serialize(DataOutputStream)}
+     *
+     * @param in the stream to read from, positioned right after the magic number
+     * @return the store that was read
+     * @throws IOException if the stream can't be read or holds an unknown version
+     */
+    static @NotNull BitSetChunkStore deserialize(@NotNull DataInputStream in) throws IOException {
+        int fileVersionNumber = in.readInt();
+
+        if (fileVersionNumber > CURRENT_VERSION) {
+            throw new IOException("Unsupported chunk store version " + fileVersionNumber);
+        }
+
+        long lsb = in.readLong();
+        long msb = in.readLong();
+        int cx = in.readInt();
+        int cz = in.readInt();
+        int worldHeight = in.readUnsignedShort();
+
+        BitSetChunkStore chunkStore = new BitSetChunkStore(new UUID(msb, lsb), worldHeight, cx, cz);
+        int usedSections = in.readUnsignedByte();
+
+        for (int i = 0; i < usedSections; i++) {
+            int sectionIndex = in.readUnsignedByte();
+            long[] section = new long[WORDS_PER_SECTION];
+
+            for (int word = 0; word < WORDS_PER_SECTION; word++) {
+                section[word] = in.readLong();
+            }
+
+            if (sectionIndex < chunkStore.sections.length) {
+                chunkStore.sections[sectionIndex] = section;
+            }
+        }
+
+        return chunkStore;
+    }
+
+    /**
+     * Copies a store of another type, such as one read from the old serialized format
+     *
+     * @param world the world the store belongs to
+     * @param other the store to copy
+     * @return a dirty copy of the store, so that it gets written back in the current format
+     */
+    static @NotNull BitSetChunkStore convert(@NotNull World world, @NotNull ChunkStore other) {
+        BitSetChunkStore chunkStore = new BitSetChunkStore(world, other.getChunkX(), other.getChunkZ());
+        // Old stores don't bounds check their reads
+        int height = other instanceof PrimitiveChunkStore ? Math.min(chunkStore.worldHeight, ((PrimitiveChunkStore) other).store[0][0].length) : chunkStore.worldHeight;
+
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                for (int y = 0; y < height; y++) {
+                    if (other.isTrue(x, y, z)) {
+                        chunkStore.setTrue(x, y, z);
+                    }
+                }
+            }
+        }
+
+        chunkStore.dirty = true;
+        return chunkStore;
+    }
+
+    private static boolean isEmpty(long[] section) {
+        if (section == null) {
+            return true;
+        }
+
+        for (long word : section) {
+            if (word != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int getIndex(int x, int y, int z) {
+        return ((y & (SECTION_SIZE - 1)) << 8) | (z << 4) | x;
+    }
+}
@@ -0,0 +1,194 @@
+package com.gmail.nossr50.util.blockmeta.chunkmeta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Open addressing map from (world index, chunk x, chunk z) to the chunk stores currently loaded.
+ * <p>
+ * Lookups take no lock and allocate nothing, and every thread remembers the last chunk it looked up so runs of
+ * lookups in the same chunk skip probing entirely. Writes are serialized on the map.
+ */
+final class ChunkStoreMap {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Entry TOMBSTONE = new Entry(-1, 0, null);
+
+    private volatile AtomicReferenceArray<Entry> table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    private int size;
+    private int usedSlots; // Live entries and tombstones
+    // Bumped after every write, a thread's last lookup is only reused while it hasn't changed
+    private volatile int version;
+
+    private final ThreadLocal<LastLookup> lastLookup = ThreadLocal.withInitial(LastLookup::new);
+
+    ChunkStore get(int worldIndex, int cx, int cz) {
+        long chunkKey = getChunkKey(cx, cz);
+        int currentVersion = version;
+        LastLookup last = lastLookup.get();
+
+        if (last.version == currentVersion && last.entry != null && last.entry.matches(worldIndex, chunkKey)) {
+            return last.entry.chunkStore;
+        }
+
+        AtomicReferenceArray<Entry> entries = table;
+        int mask = entries.length() - 1;
+
+        for (int i = hash(worldIndex, chunkKey) & mask; ; i = (i + 1) & mask) {
+            Entry entry = entries.get(i);
+
+            if (entry == null) {
+                return null;
+            }
+
+            if (entry != TOMBSTONE && entry.matches(worldIndex, chunkKey)) {
+                last.version = currentVersion;
+                last.entry = entry;
+                return entry.chunkStore;
+            }
+        }
+    }
+
+    synchronized void put(int worldIndex, int cx, int cz, ChunkStore chunkStore) {
+        long chunkKey = getChunkKey(cx, cz);
+        AtomicReferenceArray<Entry> entries = table;
+        int mask = entries.length() - 1;
+        int freeSlot = -1;
+
+        for (int i = hash(worldIndex, chunkKey) & mask; ; i = (i + 1) & mask) {
+            Entry entry = entries.get(i);
+
+            if (entry == null) {
+                if (freeSlot == -1) {
+                    freeSlot = i;
+                    usedSlots++;
+                }
+
+                break;
+            }
+
+            if (entry == TOMBSTONE) {
+                if (freeSlot == -1) {
+                    freeSlot = i;
+                }
+            }
+            else if (entry.matches(worldIndex, chunkKey)) {
+                entries.set(i, new Entry(worldIndex, chunkKey, chunkStore));
+                version++;
+                return;
+            }
+        }
+
+        entries.set(freeSlot, new Entry(worldIndex, chunkKey, chunkStore));
+        size++;
+        version++;
+
+        if (usedSlots * 2 > entries.length()) {
+            rehash();
+        }
+    }
+
+    synchronized ChunkStore remove(int worldIndex, int cx, int cz) {
+        long chunkKey = getChunkKey(cx, cz);
+        AtomicReferenceArray<Entry> entries = table;
+        int mask = entries.length() - 1;
+
+        for (int i = hash(worldIndex, chunkKey) & mask; ; i = (i + 1) & mask) {
+            Entry entry = entries.get(i);
+
+            if (entry == null) {
+                return null;
+            }
+
+            if (entry != TOMBSTONE && entry.matches(worldIndex, chunkKey)) {
+                entries.set(i, TOMBSTONE);
+                size--;
+                version++;
+                return entry.chunkStore;
+            }
+        }
+    }
+
+    /**
+     * @return every chunk store of the world, at the time of the call
+     */
+    List<ChunkStore> values(int worldIndex) {
+        AtomicReferenceArray<Entry> entries = table;
+        List<ChunkStore> values = new ArrayList<>();
+
+        for (int i = 0; i < entries.length(); i++) {
+            Entry entry = entries.get(i);
+
+            if (entry != null && entry != TOMBSTONE && entry.worldIndex == worldIndex) {
+                values.add(entry.chunkStore);
+            }
+        }
+
+        return values;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Copies the live entries into a new table, dropping tombstones and growing it if it is more than a quarter full.
+     * Readers still probing the old table see it as it was, it isn't written to anymore.
+     */
+    private void rehash() {
+        AtomicReferenceArray<Entry> entries = table;
+        int capacity = size * 4 > entries.length() ? entries.length() * 2 : entries.length();
+        AtomicReferenceArray<Entry> rehashed = new AtomicReferenceArray<>(capacity);
+        int mask = capacity - 1;
+
+        for (int i = 0; i < entries.length(); i++) {
+            Entry entry = entries.get(i);
+
+            if (entry == null || entry == TOMBSTONE) {
+                continue;
+            }
+
+            int slot = hash(entry.worldIndex, entry.chunkKey) & mask;
+
+            while (rehashed.get(slot) != null) {
+                slot = (slot + 1) & mask;
+            }
+
+            rehashed.set(slot, entry);
+        }
+
+        usedSlots = size;
+        table = rehashed;
+        version++;
+    }
+
+    static long getChunkKey(int cx, int cz) {
+        return (((long) cx) << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    private static int hash(int worldIndex, long chunkKey) {
+        long hash = (chunkKey ^ ((long) worldIndex << 48)) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32);
+    }
+
+    private static final class Entry {
+        private final int worldIndex;
+        private final long chunkKey;
+        private final ChunkStore chunkStore;
+
+        private Entry(int worldIndex, long chunkKey, ChunkStore chunkStore) {
+            this.worldIndex = worldIndex;
+            this.chunkKey = chunkKey;
+            this.chunkStore = chunkStore;
+        }
+
+        private boolean matches(int worldIndex, long chunkKey) {
+            return this.chunkKey == chunkKey && this.worldIndex == worldIndex;
+        }
+    }
+
+    private static final class LastLookup {
+        private int version = -1;
+        private Entry entry;
+    }
+}
@@ -9,39 +9,91 @@ import org.bukkit.entity.Entity;
 
 import java.io.*;
 import java.util.*;
-
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ChunkManager backed by the mcmmo_regions files of each world.
+ * <p>
+ * Chunk stores are read on a dedicated I/O thread as soon as their chunk loads, and written back from it in batches
+ * grouped by region file once their chunk unloads. Region files are shared through a {@link RegionFileCache}, the I/O
+ * thread never takes the lock of the manager itself.
+ * <p>
+ * Block lookups and changes in a chunk whose store is loaded don't take any lock, only loading and unloading stores does.
+ */
 public class HashChunkManager implements ChunkManager {
-    private final HashMap<UUID, HashMap<Long, McMMOSimpleRegionFile>> regionFiles = new HashMap<>();
-    public HashMap<String, ChunkStore> store = new HashMap<>();
+    /* Past this many queued reads or writes, chunk stores are read and written on the calling thread instead */
+    private static final int MAX_IO_BACKLOG = 1024;
+    /* Chunk stores smaller than this fit in one region file segment uncompressed, deflating them wouldn't save any space */
+    private static final int MIN_COMPRESSED_SIZE = 1024;
+
+    private final RegionFileCache regionFiles = new RegionFileCache();
+    private final ChunkStoreMap store = new ChunkStoreMap();
+    private final ConcurrentHashMap<UUID, Integer> worldIndexes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextWorldIndex = new AtomicInteger();
     public ArrayList<BlockStoreConversionZDirectory> converters = new ArrayList<>();
     private final HashMap<UUID, Boolean> oldData = new HashMap<>();
 
+    private final Object flushLock = new Object();
+    // A single worker that goes away while there is nothing to do, so no shutdown is needed
+    private final ExecutorService ioExecutor = new ThreadPoolExecutor(0, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+        Thread thread = new Thread(runnable, "mcMMO Chunk IO");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HashMap<String, Future<ChunkStore>> pendingLoads = new HashMap<>();
+    private final LinkedHashMap<String, PendingChunkWrite> pendingWrites = new LinkedHashMap<>();
+    private boolean writeFlushScheduled;
+
+    /* Metrics */
+    private final AtomicInteger queuedReads = new AtomicInteger();
+    private final AtomicLong asyncReads = new AtomicLong();
+    private final AtomicLong syncReads = new AtomicLong();
+    private final AtomicLong writtenChunks = new AtomicLong();
+    private final AtomicLong syncFallbacks = new AtomicLong();
+    private volatile long lastFlushMillis;
+
     @Override
     public synchronized void closeAll() {
-        for (UUID uid : regionFiles.keySet()) {
-            HashMap<Long, McMMOSimpleRegionFile> worldRegions = regionFiles.get(uid);
-            for (Iterator<McMMOSimpleRegionFile> worldRegionIterator = worldRegions.values().iterator(); worldRegionIterator.hasNext(); ) {
-                McMMOSimpleRegionFile rf = worldRegionIterator.next();
-                if (rf != null) {
-                    rf.close();
-                    worldRegionIterator.remove();
-                }
-            }
-        }
-        regionFiles.clear();
+        regionFiles.closeAll();
     }
 
+    /**
+     * Reads a chunk store from its region file, safe to call from any thread
+     */
     @Override
-    public synchronized ChunkStore readChunkStore(World world, int x, int z) throws IOException {
-        McMMOSimpleRegionFile rf = getSimpleRegionFile(world, x, z);
-        InputStream in = rf.getInputStream(x, z);
-        if (in == null) {
-            return null;
+    public ChunkStore readChunkStore(World world, int x, int z) throws IOException {
+        // The stream may read the region file directly, it is decoded before the file can be closed
+        try (RegionFileCache.Handle handle = regionFiles.acquire(world, x, z)) {
+            DataInputStream regionStream = handle.getRegionFile().getInputStream(x, z);
+
+            if (regionStream == null) {
+                return null;
+            }
+
+            return decodeChunkStore(world, x, z, regionStream);
         }
-        try (ObjectInputStream objectStream = new ObjectInputStream(in)) {
-            Object o = objectStream.readObject();
-            if (o instanceof ChunkStore) {
-                return (ChunkStore) o;
+    }
+
+    private ChunkStore decodeChunkStore(World world, int x, int z, InputStream regionStream) throws IOException {
+        // Buffered so the magic number can be peeked at, the inflater doesn't support mark
+        DataInputStream in = new DataInputStream(new BufferedInputStream(regionStream));
+        try {
+            in.mark(4);
+
+            if (in.readInt() == BitSetChunkStore.MAGIC_NUMBER) {
+                return BitSetChunkStore.deserialize(in);
+            }
+
+            // Written with Java serialization before the binary format existed, converted now and rewritten on the next save
+            in.reset();
+
+            try (ObjectInputStream objectStream = new ObjectInputStream(in)) {
+                Object o = objectStream.readObject();
+                if (o instanceof ChunkStore) {
+                    return BitSetChunkStore.convert(world, (ChunkStore) o);
+                }
             }
 
             throw new RuntimeException("Wrong class type read for chunk meta data for " + x + ", " + z);
@@ -51,6 +103,9 @@ public class HashChunkManager implements ChunkManager {
             return null;
             //throw new RuntimeException("Unable to process chunk meta data for " + x + ", " + z, e);
         }
+        finally {
+            in.close();
+        }
     }
 
     @Override
@@ -58,50 +113,213 @@ public class HashChunkManager implements ChunkManager {
         if (!data.isDirty()) {
             return;
         }
-        try {
-            McMMOSimpleRegionFile rf = getSimpleRegionFile(world, x, z);
-            ObjectOutputStream objectStream = new ObjectOutputStream(rf.getOutputStream(x, z));
-            objectStream.writeObject(data);
-            objectStream.flush();
-            objectStream.close();
-            data.setDirty(false);
+
+        // Goes through the queue so it can't be overwritten by an older write that is still pending
+        queueWrite(world, x, z, data);
+        flushPendingWrites();
+    }
+
+    @Override
+    public synchronized void closeChunkStore(World world, int x, int z) {
+        regionFiles.close(world, x, z);
+    }
+
+    /**
+     * @return the region files opened by this manager
+     */
+    public RegionFileCache getRegionFileCache() {
+        return regionFiles;
+    }
+
+    /**
+     * Serializes a dirty chunk store and queues it to be written by the I/O thread
+     */
+    private void queueWrite(World world, int cx, int cz, ChunkStore data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            BitSetChunkStore chunkStore = data instanceof BitSetChunkStore ? (BitSetChunkStore) data : BitSetChunkStore.convert(world, data);
+            chunkStore.serialize(out);
         }
         catch (IOException e) {
-            throw new RuntimeException("Unable to write chunk meta data for " + x + ", " + z, e);
+            throw new RuntimeException("Unable to write chunk meta data for " + cx + ", " + cz, e);
+        }
+
+        data.setDirty(false);
+
+        String key = world.getName() + "," + cx + "," + cz;
+        boolean scheduleFlush;
+        int backlog;
+
+        synchronized (pendingWrites) {
+            pendingWrites.put(key, new PendingChunkWrite(key, world, cx, cz, bytes.toByteArray()));
+            backlog = pendingWrites.size();
+            scheduleFlush = !writeFlushScheduled;
+            writeFlushScheduled = true;
+        }
+
+        if (backlog >= MAX_IO_BACKLOG) {
+            syncFallbacks.incrementAndGet();
+            flushPendingWrites();
+        }
+        else if (scheduleFlush) {
+            ioExecutor.execute(this::flushPendingWrites);
         }
     }
 
-    @Override
-    public synchronized void closeChunkStore(World world, int x, int z) {
-        McMMOSimpleRegionFile rf = getSimpleRegionFile(world, x, z);
-        if (rf != null) {
-            rf.close();
+    /**
+     * Writes every queued chunk store, one region file at a time so each allocation table is only updated once
+     */
+    public void flushPendingWrites() {
+        synchronized (flushLock) {
+            List<PendingChunkWrite> writes;
+
+            synchronized (pendingWrites) {
+                writeFlushScheduled = false;
+                writes = new ArrayList<>(pendingWrites.values());
+            }
+
+            if (writes.isEmpty()) {
+                return;
+            }
+
+            long startMillis = System.currentTimeMillis();
+            Map<String, List<PendingChunkWrite>> writesByRegion = new LinkedHashMap<>();
+
+            for (PendingChunkWrite write : writes) {
+                writesByRegion.computeIfAbsent(write.world.getUID() + "," + (write.cx >> 5) + "," + (write.cz >> 5), k -> new ArrayList<>()).add(write);
+            }
+
+            List<PendingChunkWrite> written = new ArrayList<>(writes.size());
+
+            for (List<PendingChunkWrite> regionWrites : writesByRegion.values()) {
+                PendingChunkWrite first = regionWrites.get(0);
+
+                try (RegionFileCache.Handle handle = regionFiles.acquire(first.world, first.cx, first.cz)) {
+                    McMMORegionFile rf = handle.getRegionFile();
+
+                    rf.beginBatch();
+
+                    try {
+                        for (PendingChunkWrite write : regionWrites) {
+                            try (DataOutputStream out = rf.getOutputStream(write.cx, write.cz, write.data.length >= MIN_COMPRESSED_SIZE)) {
+                                out.write(write.data);
+                            }
+
+                            written.add(write);
+                        }
+                    }
+                    catch (IOException e) {
+                        // Left queued, they will be written with the next flush
+                        e.printStackTrace();
+                    }
+                    finally {
+                        try {
+                            rf.endBatch();
+                        }
+                        catch (IOException e) {
+                            e.printStackTrace();
+                        }
+                    }
+                }
+            }
+
+            synchronized (pendingWrites) {
+                for (PendingChunkWrite write : written) {
+                    // Only if it wasn't replaced by a newer write in the meantime
+                    pendingWrites.remove(write.key, write);
+                }
+            }
+
+            lastFlushMillis = System.currentTimeMillis() - startMillis;
+            writtenChunks.addAndGet(written.size());
+            mcMMO.p.debug("Wrote " + written.size() + " chunk stores to " + writesByRegion.size() + " region files in " + lastFlushMillis + "ms");
         }
     }
 
-    private synchronized McMMOSimpleRegionFile getSimpleRegionFile(World world, int x, int z) {
-        File directory = new File(world.getWorldFolder(), "mcmmo_regions");
+    /**
+     * Puts back a chunk store that was unloaded but hasn't been written yet
+     *
+     * @return true if there was such a store
+     */
+    private boolean restorePendingWrite(World world, int cx, int cz, String key) {
+        PendingChunkWrite pendingWrite;
 
-        directory.mkdirs();
+        synchronized (pendingWrites) {
+            pendingWrite = pendingWrites.get(key);
+        }
 
-        UUID key = world.getUID();
+        if (pendingWrite == null) {
+            return false;
+        }
 
-        HashMap<Long, McMMOSimpleRegionFile> worldRegions = regionFiles.computeIfAbsent(key, k -> new HashMap<>());
+        try {
+            ChunkStore chunkStore = decodeChunkStore(world, cx, cz, new ByteArrayInputStream(pendingWrite.data));
 
-        int rx = x >> 5;
-        int rz = z >> 5;
+            if (chunkStore != null) {
+                store.put(getWorldIndex(world), cx, cz, chunkStore);
+            }
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        return true;
+    }
+
+    /**
+     * Installs the result of a prefetch, waiting for it if it is still running
+     *
+     * @return true if the chunk had a prefetch
+     */
+    private boolean awaitPendingLoad(World world, int cx, int cz, String key) {
+        Future<ChunkStore> pendingLoad = pendingLoads.remove(key);
+
+        if (pendingLoad == null) {
+            return false;
+        }
+
+        try {
+            ChunkStore chunkStore = pendingLoad.get();
+            int worldIndex = getWorldIndex(world);
 
-        long key2 = (((long) rx) << 32) | ((rz) & 0xFFFFFFFFL);
+            if (store.get(worldIndex, cx, cz) == null) {
+                store.put(worldIndex, cx, cz, chunkStore != null ? chunkStore : ChunkStoreFactory.getChunkStore(world, cx, cz));
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+        }
+
+        return true;
+    }
 
-        McMMOSimpleRegionFile regionFile = worldRegions.get(key2);
+    private int getWorldIndex(World world) {
+        Integer worldIndex = worldIndexes.get(world.getUID());
 
-        if (regionFile == null) {
-            File file = new File(directory, "mcmmo_" + rx + "_" + rz + "_.mcm");
-            regionFile = new McMMOSimpleRegionFile(file, rx, rz);
-            worldRegions.put(key2, regionFile);
+        if (worldIndex == null) {
+            worldIndex = worldIndexes.computeIfAbsent(world.getUID(), uid -> nextWorldIndex.getAndIncrement());
         }
 
-        return regionFile;
+        return worldIndex;
+    }
+
+    private static String getKey(World world, int cx, int cz) {
+        return world.getName() + "," + cx + "," + cz;
+    }
+
+    /**
+     * @return the chunk store of the chunk if it is loaded, null otherwise
+     */
+    public ChunkStore getLoadedChunkStore(World world, int cx, int cz) {
+        return store.get(getWorldIndex(world), cx, cz);
+    }
+
+    private boolean hasOldData(World world) {
+        return oldData.computeIfAbsent(world.getUID(), uid -> new File(world.getWorldFolder(), "mcmmo_data").exists());
     }
 
     @Override
@@ -116,7 +334,13 @@ public class HashChunkManager implements ChunkManager {
 
     @Override
     public synchronized void loadChunk(int cx, int cz, World world, Entity[] entities) {
-        if (world == null || store.containsKey(world.getName() + "," + cx + "," + cz)) {
+        if (world == null) {
+            return;
+        }
+
+        String chunkKey = getKey(world, cx, cz);
+
+        if (store.get(getWorldIndex(world), cx, cz) != null || awaitPendingLoad(world, cx, cz, chunkKey) || restorePendingWrite(world, cx, cz, chunkKey)) {
             return;
         }
 
@@ -135,24 +359,27 @@ public class HashChunkManager implements ChunkManager {
 
         try {
             chunkStore = readChunkStore(world, cx, cz);
+            syncReads.incrementAndGet();
         }
         catch (Exception e) { e.printStackTrace(); }
 
         if (chunkStore == null) {
-            return;
+            // Remember that the chunk has nothing stored so it isn't read again on every lookup
+            chunkStore = ChunkStoreFactory.getChunkStore(world, cx, cz);
         }
 
-        store.put(world.getName() + "," + cx + "," + cz, chunkStore);
+        store.put(getWorldIndex(world), cx, cz, chunkStore);
     }
 
     @Override
     public synchronized void unloadChunk(int cx, int cz, World world) {
-        saveChunk(cx, cz, world);
+        // Nothing can have been changed while the prefetch was running, so its result can be dropped
+        pendingLoads.remove(getKey(world, cx, cz));
 
-        if (store.containsKey(world.getName() + "," + cx + "," + cz)) {
-            store.remove(world.getName() + "," + cx + "," + cz);
+        ChunkStore chunkStore = store.remove(getWorldIndex(world), cx, cz);
 
-            //closeChunkStore(world, cx, cz);
+        if (chunkStore != null && chunkStore.isDirty()) {
+            queueWrite(world, cx, cz, chunkStore);
         }
     }
 
@@ -162,16 +389,14 @@ public class HashChunkManager implements ChunkManager {
             return;
         }
 
-        String key = world.getName() + "," + cx + "," + cz;
-
-        if (store.containsKey(key)) {
-            ChunkStore out = store.get(world.getName() + "," + cx + "," + cz);
+        ChunkStore out = store.get(getWorldIndex(world), cx, cz);
 
+        if (out != null) {
             if (!out.isDirty()) {
                 return;
             }
 
-            writeChunkStore(world, cx, cz, out);
+            queueWrite(world, cx, cz, out);
         }
     }
 
@@ -181,11 +406,46 @@ public class HashChunkManager implements ChunkManager {
             return false;
         }
 
-        return store.containsKey(world.getName() + "," + cx + "," + cz);
+        return store.get(getWorldIndex(world), cx, cz) != null;
     }
 
+    /**
+     * Starts reading the chunk store on the I/O thread, so it is usually ready by the time a block of the chunk is checked
+     */
     @Override
-    public synchronized void chunkLoaded(int cx, int cz, World world) {}
+    public synchronized void chunkLoaded(int cx, int cz, World world) {
+        if (world == null) {
+            return;
+        }
+
+        String key = getKey(world, cx, cz);
+
+        if (store.get(getWorldIndex(world), cx, cz) != null || pendingLoads.containsKey(key) || restorePendingWrite(world, cx, cz, key)) {
+            return;
+        }
+
+        // Worlds with chunklet data are converted as their chunks are read, which has to happen on the server thread
+        if (hasOldData(world)) {
+            return;
+        }
+
+        if (queuedReads.get() >= MAX_IO_BACKLOG) {
+            // Read on first access instead
+            syncFallbacks.incrementAndGet();
+            return;
+        }
+
+        queuedReads.incrementAndGet();
+        pendingLoads.put(key, ioExecutor.submit(() -> {
+            try {
+                return readChunkStore(world, cx, cz);
+            }
+            finally {
+                queuedReads.decrementAndGet();
+                asyncReads.incrementAndGet();
+            }
+        }));
+    }
 
     @Override
     public synchronized void chunkUnloaded(int cx, int cz, World world) {
@@ -203,20 +463,17 @@ public class HashChunkManager implements ChunkManager {
         }
 
         closeAll();
-        String worldName = world.getName();
-
-        List<String> keys = new ArrayList<>(store.keySet());
-        for (String key : keys) {
-            String[] info = key.split(",");
-            if (worldName.equals(info[0])) {
-                try {
-                    saveChunk(Integer.parseInt(info[1]), Integer.parseInt(info[2]), world);
-                }
-                catch (Exception e) {
-                    // Ignore
-                }
+
+        for (ChunkStore chunkStore : store.values(getWorldIndex(world))) {
+            try {
+                saveChunk(chunkStore.getChunkX(), chunkStore.getChunkZ(), world);
+            }
+            catch (Exception e) {
+                // Ignore
             }
         }
+
+        flushPendingWrites();
     }
 
     @Override
@@ -225,20 +482,15 @@ public class HashChunkManager implements ChunkManager {
             return;
         }
 
-        String worldName = world.getName();
-
-        List<String> keys = new ArrayList<>(store.keySet());
-        for (String key : keys) {
-            String[] info = key.split(",");
-            if (worldName.equals(info[0])) {
-                try {
-                    unloadChunk(Integer.parseInt(info[1]), Integer.parseInt(info[2]), world);
-                }
-                catch (Exception e) {
-                    // Ignore
-                }
+        for (ChunkStore chunkStore : store.values(getWorldIndex(world))) {
+            try {
+                unloadChunk(chunkStore.getChunkX(), chunkStore.getChunkZ(), world);
+            }
+            catch (Exception e) {
+                // Ignore
             }
         }
+        flushPendingWrites();
         closeAll();
     }
 
@@ -264,7 +516,7 @@ public class HashChunkManager implements ChunkManager {
     }
 
     @Override
-    public synchronized boolean isTrue(int x, int y, int z, World world) {
+    public boolean isTrue(int x, int y, int z, World world) {
         if (world == null) {
             return false;
         }
@@ -272,17 +524,16 @@ public class HashChunkManager implements ChunkManager {
         int cx = x >> 4;
         int cz = z >> 4;
 
-        String key = world.getName() + "," + cx + "," + cz;
+        ChunkStore check = store.get(getWorldIndex(world), cx, cz);
 
-        if (!store.containsKey(key)) {
-            loadChunk(cx, cz, world, null);
-        }
+        if (check == null) {
+            check = loadChunkStore(cx, cz, world);
 
-        if (!store.containsKey(key)) {
-            return false;
+            if (check == null) {
+                return false;
+            }
         }
 
-        ChunkStore check = store.get(key);
         int ix = Math.abs(x) % 16;
         int iz = Math.abs(z) % 16;
 
@@ -290,7 +541,7 @@ public class HashChunkManager implements ChunkManager {
     }
 
     @Override
-    public synchronized boolean isTrue(Block block) {
+    public boolean isTrue(Block block) {
         if (block == null) {
             return false;
         }
@@ -299,7 +550,7 @@ public class HashChunkManager implements ChunkManager {
     }
 
     @Override
-    public synchronized boolean isTrue(BlockState blockState) {
+    public boolean isTrue(BlockState blockState) {
         if (blockState == null) {
             return false;
         }
@@ -308,7 +559,7 @@ public class HashChunkManager implements ChunkManager {
     }
 
     @Override
-    public synchronized void setTrue(int x, int y, int z, World world) {
+    public void setTrue(int x, int y, int z, World world) {
         if (world == null) {
             return;
         }
@@ -319,24 +570,21 @@ public class HashChunkManager implements ChunkManager {
         int ix = Math.abs(x) % 16;
         int iz = Math.abs(z) % 16;
 
-        String key = world.getName() + "," + cx + "," + cz;
-
-        if (!store.containsKey(key)) {
-            loadChunk(cx, cz, world, null);
-        }
-
-        ChunkStore cStore = store.get(key);
+        ChunkStore cStore = store.get(getWorldIndex(world), cx, cz);
 
         if (cStore == null) {
-            cStore = ChunkStoreFactory.getChunkStore(world, cx, cz);
-            store.put(key, cStore);
+            cStore = loadChunkStore(cx, cz, world);
+
+            if (cStore == null) {
+                cStore = createChunkStore(cx, cz, world);
+            }
         }
 
         cStore.setTrue(ix, y, iz);
     }
 
     @Override
-    public synchronized void setTrue(Block block) {
+    public void setTrue(Block block) {
         if (block == null) {
             return;
         }
@@ -354,7 +602,7 @@ public class HashChunkManager implements ChunkManager {
     }
 
     @Override
-    public synchronized void setFalse(int x, int y, int z, World world) {
+    public void setFalse(int x, int y, int z, World world) {
         if (world == null) {
             return;
         }
@@ -365,23 +613,21 @@ public class HashChunkManager implements ChunkManager {
         int ix = Math.abs(x) % 16;
         int iz = Math.abs(z) % 16;
 
-        String key = world.getName() + "," + cx + "," + cz;
-
-        if (!store.containsKey(key)) {
-            loadChunk(cx, cz, world, null);
-        }
-
-        ChunkStore cStore = store.get(key);
+        ChunkStore cStore = store.get(getWorldIndex(world), cx, cz);
 
         if (cStore == null) {
-            return; // No need to make a store for something we will be setting to false
+            cStore = loadChunkStore(cx, cz, world);
+
+            if (cStore == null) {
+                return; // No need to make a store for something we will be setting to false
+            }
         }
 
         cStore.setFalse(ix, y, iz);
     }
 
     @Override
-    public synchronized void setFalse(Block block) {
+    public void setFalse(Block block) {
         if (block == null) {
             return;
         }
@@ -390,7 +636,7 @@ public class HashChunkManager implements ChunkManager {
     }
 
     @Override
-    public synchronized void setFalse(BlockState blockState) {
+    public void setFalse(BlockState blockState) {
         if (blockState == null) {
             return;
         }
@@ -398,6 +644,29 @@ public class HashChunkManager implements ChunkManager {
         setFalse(blockState.getX(), blockState.getY(), blockState.getZ(), blockState.getWorld());
     }
 
+    /**
+     * Slow path of the block lookups, for chunks whose store isn't loaded yet.
+     * Waits for a prefetch that is still running, as a block can't be assumed to be natural until its store is read.
+     *
+     * @return the chunk store, or null if there is none
+     */
+    private synchronized ChunkStore loadChunkStore(int cx, int cz, World world) {
+        loadChunk(cx, cz, world, null);
+        return store.get(getWorldIndex(world), cx, cz);
+    }
+
+    private synchronized ChunkStore createChunkStore(int cx, int cz, World world) {
+        int worldIndex = getWorldIndex(world);
+        ChunkStore cStore = store.get(worldIndex, cx, cz);
+
+        if (cStore == null) {
+            cStore = ChunkStoreFactory.getChunkStore(world, cx, cz);
+            store.put(worldIndex, cx, cz, cStore);
+        }
+
+        return cStore;
+    }
+
     @Override
     public synchronized void cleanUp() {}
 
@@ -444,4 +713,59 @@ public class HashChunkManager implements ChunkManager {
 
         return true;
     }
+
+    /**
+     * @return the number of chunk stores waiting to be read by the I/O thread
+     */
+    public int getQueuedReads() {
+        return queuedReads.get();
+    }
+
+    /**
+     * @return the number of chunk stores waiting to be written by the I/O thread
+     */
+    public int getQueuedWrites() {
+        synchronized (pendingWrites) {
+            return pendingWrites.size();
+        }
+    }
+
+    public long getAsyncReads() {
+        return asyncReads.get();
+    }
+
+    public long getSyncReads() {
+        return syncReads.get();
+    }
+
+    public long getWrittenChunks() {
+        return writtenChunks.get();
+    }
+
+    /**
+     * @return how many times the I/O backlog was full and a chunk store had to be read or written on the calling thread
+     */
+    public long getSyncFallbacks() {
+        return syncFallbacks.get();
+    }
+
+    public long getLastFlushMillis() {
+        return lastFlushMillis;
+    }
+
+    private static final class PendingChunkWrite {
+        private final String key;
+        private final World world;
+        private final int cx;
+        private final int cz;
+        private final byte[] data;
+
+        private PendingChunkWrite(String key, World world, int cx, int cz, byte[] data) {
+            this.key = key;
+            this.world = world;
+            this.cx = cx;
+            this.cz = cz;
+            this.data = data;
+        }
+    }
 }
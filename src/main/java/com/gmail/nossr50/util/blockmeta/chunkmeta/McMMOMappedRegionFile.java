@@ -0,0 +1,421 @@
+package com.gmail.nossr50.util.blockmeta.chunkmeta;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Region file accessed through a memory mapping, in the same format as {@link McMMOSimpleRegionFile}.
+ * <p>
+ * Chunks are decoded straight from the mapping instead of being copied out of the file first, and the allocation table
+ * is only updated in memory, being forced to disk at the end of every batch and when the file is closed.
+ * <p>
+ * In crash consistent mode chunks are never written over their previous copy, and every chunk is forced to disk before
+ * the allocation table entry pointing at it. As the start and the length of a chunk are kept on different pages of the
+ * table, the new entry is first logged to a checksummed journal slot in the unused part of the third header page and
+ * forced, and only then written to the table. An entry whose table update was cut short by a crash is replayed when
+ * the file is next opened, a torn journal write fails its checksum and leaves the table as it was.
+ */
+public class McMMOMappedRegionFile implements McMMORegionFile {
+    private static final int HEADER_SIZE = 4096 * 3;
+    private static final int LENGTHS_OFFSET = 4096;
+    private static final int SEGMENT_SIZE_OFFSET = 4096 * 2;
+    private static final int MIN_GROWTH = 1 << 16;
+    private static final long TIMEOUT_TIME = 300000; // 5 min
+    private static final int UNCOMPRESSED = 0;
+    private static final int JOURNAL_OFFSET = SEGMENT_SIZE_OFFSET + 64; // Index, start, length and checksum of the entry being written
+    private static final int JOURNAL_MAGIC = 0x6D634A45; // mcJE
+
+    private final File parent;
+    private final int rx;
+    private final int rz;
+    private final int defaultSegmentSize;
+    private final boolean crashConsistent;
+    private final int[] dataStart = new int[1024];
+    private final int[] dataActualLength = new int[1024];
+    private final int[] dataLength = new int[1024];
+    private final BitSet inuse = new BitSet();
+    private int segmentSize;
+    private FileChannel channel;
+    private MappedByteBuffer header;
+    private MappedByteBuffer data;
+    private int batchDepth;
+    private boolean dirty;
+    private long lastAccessTime = System.currentTimeMillis();
+
+    public McMMOMappedRegionFile(File f, int rx, int rz, boolean crashConsistent) {
+        this(f, rx, rz, 10, crashConsistent);
+    }
+
+    public McMMOMappedRegionFile(File f, int rx, int rz, int defaultSegmentSize, boolean crashConsistent) {
+        this.parent = f;
+        this.rx = rx;
+        this.rz = rz;
+        this.defaultSegmentSize = defaultSegmentSize;
+        this.crashConsistent = crashConsistent;
+
+        open();
+    }
+
+    private synchronized void open() {
+        lastAccessTime = System.currentTimeMillis();
+
+        if (channel != null) {
+            return;
+        }
+
+        try {
+            channel = FileChannel.open(parent.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+
+            if (channel.size() < HEADER_SIZE) {
+                ByteBuffer emptyHeader = ByteBuffer.allocate(HEADER_SIZE);
+                emptyHeader.putInt(SEGMENT_SIZE_OFFSET, defaultSegmentSize);
+                channel.write(emptyHeader, 0);
+            }
+
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            data = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            segmentSize = header.getInt(SEGMENT_SIZE_OFFSET);
+
+            replayJournal();
+
+            inuse.clear();
+            inuse.set(0, sizeToSegments(HEADER_SIZE));
+
+            for (int i = 0; i < 1024; i++) {
+                dataStart[i] = header.getInt(i * 4);
+                dataActualLength[i] = header.getInt(LENGTHS_OFFSET + i * 4);
+                dataLength[i] = sizeToSegments(dataActualLength[i]);
+                setInUse(i, true);
+            }
+        }
+        catch (IOException e) {
+            close();
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public synchronized boolean testCloseTimeout() {
+        if (batchDepth == 0 && System.currentTimeMillis() - TIMEOUT_TIME > lastAccessTime) {
+            close();
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public synchronized DataOutputStream getOutputStream(int x, int z, boolean compress) {
+        ChunkBuffer buffer = new ChunkBuffer(getChunkIndex(x, z));
+
+        if (!compress) {
+            buffer.write(UNCOMPRESSED);
+            return new DataOutputStream(buffer);
+        }
+
+        return new DataOutputStream(new DeflaterOutputStream(buffer));
+    }
+
+    /**
+     * The stream reads the mapping directly, it has to be read before the chunk is written again
+     */
+    @Override
+    public synchronized DataInputStream getInputStream(int x, int z) throws IOException {
+        int index = getChunkIndex(x, z);
+        int actualLength = dataActualLength[index];
+
+        if (actualLength == 0) {
+            return null;
+        }
+
+        open();
+
+        long start = (long) dataStart[index] << segmentSize;
+
+        if (start + actualLength > data.capacity()) {
+            throw new IOException("Chunk " + x + ", " + z + " lies past the end of " + parent);
+        }
+
+        ByteBuffer chunk = data.duplicate();
+        chunk.limit((int) start + actualLength);
+        chunk.position((int) start);
+
+        // A zlib header never starts with 0, so the marker can't be mistaken for compressed data
+        if (chunk.get(chunk.position()) == UNCOMPRESSED) {
+            chunk.position(chunk.position() + 1);
+            return new DataInputStream(new ByteBufferInputStream(chunk));
+        }
+
+        return new DataInputStream(new InflaterInputStream(new ByteBufferInputStream(chunk)));
+    }
+
+    private synchronized void writeChunk(int index, byte[] buffer, int size) throws IOException {
+        open();
+
+        // Old segments stay allocated until the new copy is safely on disk
+        if (!crashConsistent) {
+            setInUse(index, false);
+        }
+
+        int start = findSpace(crashConsistent || dataActualLength[index] == 0 ? -1 : dataStart[index], size);
+        long position = (long) start << segmentSize;
+
+        ensureCapacity(position + size);
+
+        ByteBuffer target = data.duplicate();
+        target.position((int) position);
+        target.put(buffer, 0, size);
+
+        if (crashConsistent) {
+            data.force();
+            setInUse(index, false);
+        }
+
+        dataStart[index] = start;
+        dataActualLength[index] = size;
+        dataLength[index] = sizeToSegments(size);
+        setInUse(index, true);
+
+        if (crashConsistent) {
+            writeJournal(index, start, size);
+            header.force();
+        }
+
+        header.putInt(index * 4, start);
+        header.putInt(LENGTHS_OFFSET + index * 4, size);
+        dirty = true;
+
+        if (crashConsistent) {
+            header.force();
+            // Replaying the entry again would be harmless, so clearing it doesn't need to be forced
+            clearJournal();
+        }
+
+        if (crashConsistent || batchDepth == 0) {
+            checkpoint();
+        }
+    }
+
+    @Override
+    public synchronized void beginBatch() {
+        batchDepth++;
+    }
+
+    @Override
+    public synchronized void endBatch() {
+        if (--batchDepth == 0) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Forces everything written so far to disk
+     */
+    public synchronized void checkpoint() {
+        if (!dirty || channel == null) {
+            return;
+        }
+
+        data.force();
+        header.force();
+        dirty = false;
+    }
+
+    /**
+     * Closes the file, the mappings themselves are only released once they are garbage collected
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            checkpoint();
+
+            if (channel != null) {
+                channel.close();
+            }
+        }
+        catch (IOException ioe) {
+            throw new RuntimeException("Unable to close file", ioe);
+        }
+        finally {
+            channel = null;
+            header = null;
+            data = null;
+        }
+    }
+
+    private void writeJournal(int index, int start, int size) {
+        header.putInt(JOURNAL_OFFSET, index);
+        header.putInt(JOURNAL_OFFSET + 4, start);
+        header.putInt(JOURNAL_OFFSET + 8, size);
+        header.putInt(JOURNAL_OFFSET + 12, journalChecksum(index, start, size));
+    }
+
+    private void clearJournal() {
+        header.putInt(JOURNAL_OFFSET + 12, 0);
+    }
+
+    /**
+     * Writes the logged entry to the allocation table, in case a crash cut its update short
+     */
+    private void replayJournal() {
+        int index = header.getInt(JOURNAL_OFFSET);
+        int start = header.getInt(JOURNAL_OFFSET + 4);
+        int size = header.getInt(JOURNAL_OFFSET + 8);
+
+        if (header.getInt(JOURNAL_OFFSET + 12) != journalChecksum(index, start, size) || index < 0 || index >= 1024) {
+            return;
+        }
+
+        header.putInt(index * 4, start);
+        header.putInt(LENGTHS_OFFSET + index * 4, size);
+        header.force();
+        clearJournal();
+        header.force();
+    }
+
+    private static int journalChecksum(int index, int start, int size) {
+        CRC32 crc = new CRC32();
+
+        crc.update(ByteBuffer.allocate(16).putInt(JOURNAL_MAGIC).putInt(index).putInt(start).putInt(size).array());
+        return (int) crc.getValue() | 1; // Never 0, which marks an empty journal
+    }
+
+    private void ensureCapacity(long end) throws IOException {
+        if (end <= data.capacity()) {
+            return;
+        }
+
+        // Grown ahead of time, so a run of new chunks doesn't remap the file for every one of them
+        long size = Math.max(end, data.capacity() + Math.max(MIN_GROWTH, data.capacity() >> 1));
+        long segmentMask = (1L << segmentSize) - 1;
+        size = (size + segmentMask) & ~segmentMask;
+
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException(parent + " is too large to be mapped");
+        }
+
+        data = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private void setInUse(int index, boolean used) {
+        if (dataActualLength[index] == 0) {
+            return;
+        }
+
+        int start = dataStart[index];
+        int end = start + dataLength[index];
+
+        if (used ? inuse.nextSetBit(start) != -1 && inuse.nextSetBit(start) < end : inuse.nextClearBit(start) < end) {
+            throw new IllegalStateException(used ? "Attempting to overwrite an in-use segment" : "Attempting to delete empty segment");
+        }
+
+        inuse.set(start, end, used);
+    }
+
+    /**
+     * @param oldStart the segment the chunk used to start at, reused if there is enough room there, or -1
+     */
+    private int findSpace(int oldStart, int size) {
+        int segments = sizeToSegments(size);
+
+        if (oldStart >= 0) {
+            int nextUsed = inuse.nextSetBit(oldStart);
+
+            if (nextUsed == -1 || nextUsed >= oldStart + segments) {
+                return oldStart;
+            }
+        }
+
+        int start = inuse.nextClearBit(0);
+
+        while (true) {
+            int nextUsed = inuse.nextSetBit(start);
+
+            if (nextUsed == -1 || nextUsed - start >= segments) {
+                return start;
+            }
+
+            start = inuse.nextClearBit(nextUsed);
+        }
+    }
+
+    private int sizeToSegments(int size) {
+        if (size <= 0) {
+            return 1;
+        }
+
+        return ((size - 1) >> segmentSize) + 1;
+    }
+
+    private int getChunkIndex(int x, int z) {
+        if (rx != (x >> 5) || rz != (z >> 5)) {
+            throw new RuntimeException(x + ", " + z + " not in region " + rx + ", " + rz);
+        }
+
+        x = x & 0x1F;
+        z = z & 0x1F;
+
+        return (x << 5) + z;
+    }
+
+    private class ChunkBuffer extends ByteArrayOutputStream {
+        private final int index;
+
+        private ChunkBuffer(int index) {
+            super(1024);
+            this.index = index;
+        }
+
+        @Override
+        public void close() throws IOException {
+            writeChunk(index, buf, count);
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+
+            int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
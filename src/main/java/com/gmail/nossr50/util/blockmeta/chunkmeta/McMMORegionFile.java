@@ -0,0 +1,37 @@
+package com.gmail.nossr50.util.blockmeta.chunkmeta;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A file holding the chunk stores of a 32x32 chunk region.
+ */
+public interface McMMORegionFile {
+    /**
+     * @return a stream over the data of the chunk, or null if nothing was written for it
+     */
+    DataInputStream getInputStream(int x, int z) throws IOException;
+
+    /**
+     * @param compress false to store the chunk as is, for data that doesn't shrink enough to be worth deflating
+     * @return a stream replacing the data of the chunk once it is closed
+     */
+    DataOutputStream getOutputStream(int x, int z, boolean compress);
+
+    /**
+     * Defers writing the allocation table until the matching {@link #endBatch()}, so several chunks can be written with a single table update
+     */
+    void beginBatch();
+
+    void endBatch() throws IOException;
+
+    /**
+     * Closes the file if it hasn't been accessed for a while
+     *
+     * @return true if the file was closed
+     */
+    boolean testCloseTimeout();
+
+    void close();
+}
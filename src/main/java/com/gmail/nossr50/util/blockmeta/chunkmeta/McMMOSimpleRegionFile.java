@@ -24,7 +24,7 @@ import java.util.ArrayList;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.InflaterInputStream;
 
-public class McMMOSimpleRegionFile {
+public class McMMOSimpleRegionFile implements McMMORegionFile {
     private RandomAccessFile file;
     private final int[] dataStart = new int[1024];
     private final int[] dataActualLength = new int[1024];
@@ -36,10 +36,11 @@ public class McMMOSimpleRegionFile {
     private final int rz;
     private final int defaultSegmentSize;
     private final File parent;
-    @SuppressWarnings("unused")
+    private int batchDepth;
+    private boolean fatDirty;
     private long lastAccessTime = System.currentTimeMillis();
-    @SuppressWarnings("unused")
     private static final long TIMEOUT_TIME = 300000; // 5 min
+    private static final int UNCOMPRESSED = 0;
 
     public McMMOSimpleRegionFile(File f, int rx, int rz) {
         this(f, rx, rz, 10);
@@ -148,18 +149,24 @@ public class McMMOSimpleRegionFile {
     }
 
     public synchronized boolean testCloseTimeout() {
-        /*
-        if (System.currentTimeMillis() - TIMEOUT_TIME > lastAccessTime) {
+        if (batchDepth == 0 && System.currentTimeMillis() - TIMEOUT_TIME > lastAccessTime) {
             close();
             return true;
         }
-         */
+
         return false;
     }
 
-    public synchronized DataOutputStream getOutputStream(int x, int z) {
+    public synchronized DataOutputStream getOutputStream(int x, int z, boolean compress) {
         int index = getChunkIndex(x, z);
-        return new DataOutputStream(new DeflaterOutputStream(new McMMOSimpleChunkBuffer(this, index)));
+        McMMOSimpleChunkBuffer buffer = new McMMOSimpleChunkBuffer(this, index);
+
+        if (!compress) {
+            buffer.write(UNCOMPRESSED);
+            return new DataOutputStream(buffer);
+        }
+
+        return new DataOutputStream(new DeflaterOutputStream(buffer));
     }
 
     public synchronized DataInputStream getInputStream(int x, int z) throws IOException {
@@ -174,6 +181,12 @@ public class McMMOSimpleRegionFile {
 
         getFile().seek(dataStart[index] << segmentSize);
         getFile().readFully(data);
+
+        // A zlib header never starts with 0, so the marker can't be mistaken for compressed data
+        if (data[0] == UNCOMPRESSED) {
+            return new DataInputStream(new ByteArrayInputStream(data, 1, data.length - 1));
+        }
+
         return new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)));
     }
 
@@ -186,7 +199,24 @@ public class McMMOSimpleRegionFile {
         dataActualLength[index] = size;
         dataLength[index] = sizeToSegments(size);
         setInUse(index, true);
-        saveFAT();
+
+        if (batchDepth > 0) {
+            fatDirty = true;
+        }
+        else {
+            saveFAT();
+        }
+    }
+
+    public synchronized void beginBatch() {
+        batchDepth++;
+    }
+
+    public synchronized void endBatch() throws IOException {
+        if (--batchDepth == 0 && fatDirty) {
+            fatDirty = false;
+            saveFAT();
+        }
     }
 
     public synchronized void close() {
@@ -0,0 +1,203 @@
+package com.gmail.nossr50.util.blockmeta.chunkmeta;
+
+import com.gmail.nossr50.config.HiddenConfig;
+import org.bukkit.World;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded set of open region files.
+ * <p>
+ * Region files are handed out through reference counted {@link Handle}s, a region file is only closed once nobody
+ * holds a handle to it anymore. Past {@link #MAX_OPEN_REGION_FILES} the least recently used ones are closed, and
+ * {@link #closeIdle()} closes the ones that haven't been used for a while.
+ * Only one instance is ever open per file, as every instance keeps its own copy of the allocation table.
+ */
+public final class RegionFileCache {
+    private static final int MAX_OPEN_REGION_FILES = 256;
+
+    private final LinkedHashMap<RegionKey, Handle> regionFiles = new LinkedHashMap<>(64, 0.75f, true);
+    private final boolean memoryMapped = HiddenConfig.getInstance().getMemoryMappedRegionFiles();
+    private final boolean crashConsistent = HiddenConfig.getInstance().getCrashConsistentRegionFiles();
+
+    /* Metrics */
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong idleCloses = new AtomicLong();
+
+    /**
+     * Opens the region file holding a chunk, or reuses it if it is already open
+     *
+     * @param world the world of the chunk
+     * @param cx the x coordinate of the chunk
+     * @param cz the z coordinate of the chunk
+     * @return a handle to the region file, to be closed once done with it
+     */
+    public synchronized Handle acquire(World world, int cx, int cz) {
+        int rx = cx >> 5;
+        int rz = cz >> 5;
+        RegionKey key = new RegionKey(world.getUID(), rx, rz);
+        Handle handle = regionFiles.get(key);
+
+        if (handle == null) {
+            misses.incrementAndGet();
+
+            // Room is made before the new file is added, so it can't be the one evicted
+            evictLeastRecentlyUsed();
+
+            File directory = new File(world.getWorldFolder(), "mcmmo_regions");
+            directory.mkdirs();
+
+            File file = new File(directory, "mcmmo_" + rx + "_" + rz + "_.mcm");
+            McMMORegionFile regionFile = memoryMapped ? new McMMOMappedRegionFile(file, rx, rz, crashConsistent) : new McMMOSimpleRegionFile(file, rx, rz);
+
+            handle = new Handle(key, regionFile);
+            regionFiles.put(key, handle);
+        }
+        else {
+            hits.incrementAndGet();
+        }
+
+        handle.references++;
+        handle.closeWhenReleased = false;
+        return handle;
+    }
+
+    private synchronized void release(Handle handle) {
+        if (--handle.references == 0 && handle.closeWhenReleased) {
+            close(handle);
+        }
+    }
+
+    /**
+     * Closes the region file holding a chunk, or once it is released if it is in use
+     */
+    public synchronized void close(World world, int cx, int cz) {
+        Handle handle = regionFiles.get(new RegionKey(world.getUID(), cx >> 5, cz >> 5));
+
+        if (handle != null) {
+            closeOrDefer(handle);
+        }
+    }
+
+    /**
+     * Closes every region file, the ones in use being closed once released
+     */
+    public synchronized void closeAll() {
+        for (Handle handle : regionFiles.values().toArray(new Handle[0])) {
+            closeOrDefer(handle);
+        }
+    }
+
+    /**
+     * Closes the region files that aren't in use and haven't been accessed for a while
+     */
+    public synchronized void closeIdle() {
+        for (Iterator<Handle> iterator = regionFiles.values().iterator(); iterator.hasNext(); ) {
+            Handle handle = iterator.next();
+
+            if (handle.references == 0 && handle.regionFile.testCloseTimeout()) {
+                iterator.remove();
+                idleCloses.incrementAndGet();
+            }
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        for (Iterator<Handle> iterator = regionFiles.values().iterator(); iterator.hasNext() && regionFiles.size() >= MAX_OPEN_REGION_FILES; ) {
+            Handle handle = iterator.next();
+
+            if (handle.references == 0) {
+                handle.regionFile.close();
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private void closeOrDefer(Handle handle) {
+        if (handle.references > 0) {
+            handle.closeWhenReleased = true;
+        }
+        else {
+            close(handle);
+        }
+    }
+
+    private void close(Handle handle) {
+        handle.regionFile.close();
+        regionFiles.remove(handle.key, handle);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getIdleCloses() {
+        return idleCloses.get();
+    }
+
+    public synchronized int getOpenRegionFiles() {
+        return regionFiles.size();
+    }
+
+    public final class Handle implements AutoCloseable {
+        private final RegionKey key;
+        private final McMMORegionFile regionFile;
+        private int references;
+        private boolean closeWhenReleased;
+
+        private Handle(RegionKey key, McMMORegionFile regionFile) {
+            this.key = key;
+            this.regionFile = regionFile;
+        }
+
+        public McMMORegionFile getRegionFile() {
+            return regionFile;
+        }
+
+        @Override
+        public void close() {
+            release(this);
+        }
+    }
+
+    private static final class RegionKey {
+        private final UUID worldUid;
+        private final int rx;
+        private final int rz;
+
+        private RegionKey(UUID worldUid, int rx, int rz) {
+            this.worldUid = worldUid;
+            this.rx = rx;
+            this.rz = rz;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            RegionKey regionKey = (RegionKey) o;
+            return rx == regionKey.rx && rz == regionKey.rz && worldUid.equals(regionKey.worldUid);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(worldUid, rx, rz);
+        }
+    }
+}
@@ -6,7 +6,7 @@ import com.gmail.nossr50.util.blockmeta.HashChunkletManager;
 import com.gmail.nossr50.util.blockmeta.PrimitiveChunkletStore;
 import com.gmail.nossr50.util.blockmeta.PrimitiveExChunkletStore;
 import com.gmail.nossr50.util.blockmeta.chunkmeta.HashChunkManager;
-import com.gmail.nossr50.util.blockmeta.chunkmeta.PrimitiveChunkStore;
+import com.gmail.nossr50.util.blockmeta.chunkmeta.ChunkStore;
 import org.bukkit.scheduler.BukkitScheduler;
 
 import java.io.File;
@@ -22,8 +22,8 @@ public class BlockStoreConversionZDirectory implements Runnable {
     private ChunkletStore tempChunklet;
     private PrimitiveChunkletStore primitiveChunklet = null;
     private PrimitiveExChunkletStore primitiveExChunklet = null;
-    private PrimitiveChunkStore currentChunk;
-    private boolean[] oldArray, newArray;
+    private ChunkStore currentChunk;
+    private boolean[] oldArray;
 
     public BlockStoreConversionZDirectory() {
         this.taskID = -1;
@@ -96,7 +96,7 @@ public class BlockStoreConversionZDirectory implements Runnable {
             }
 
             this.chunkName = this.world.getName() + "," + this.cx + "," + this.cz;
-            this.currentChunk = (PrimitiveChunkStore) this.newManager.store.get(this.chunkName);
+            this.currentChunk = this.newManager.getLoadedChunkStore(this.world, this.cx, this.cz);
 
             if (this.currentChunk != null) {
                 this.xPos = this.cx * 16;
@@ -125,7 +125,7 @@ public class BlockStoreConversionZDirectory implements Runnable {
 
             this.newManager.setTrue(this.cx * 16, 0, this.cz * 16, this.world);
             this.newManager.setFalse(this.cx * 16, 0, this.cz * 16, this.world);
-            this.currentChunk = (PrimitiveChunkStore) this.newManager.store.get(this.chunkName);
+            this.currentChunk = this.newManager.getLoadedChunkStore(this.world, this.cx, this.cz);
 
             for (this.x = 0; this.x < 16; this.x++) {
                 for (this.z = 0; this.z < 16; this.z++) {
@@ -140,16 +140,18 @@ public class BlockStoreConversionZDirectory implements Runnable {
                         return;
                     }
 
-                    this.newArray = this.currentChunk.store[x][z];
-
                     if (this.oldArray.length < 64) {
                         return;
                     }
-                    else if (this.newArray.length < ((this.y * 64) + 64)) {
+                    else if (this.world.getMaxHeight() < ((this.y * 64) + 64)) {
                         return;
                     }
 
-                    System.arraycopy(this.oldArray, 0, this.newArray, (this.y * 64), 64);
+                    for (this.y2 = 0; this.y2 < 64; this.y2++) {
+                        if (this.oldArray[this.y2]) {
+                            this.currentChunk.setTrue(x, (this.y * 64) + this.y2, z);
+                        }
+                    }
                 }
             }
         }
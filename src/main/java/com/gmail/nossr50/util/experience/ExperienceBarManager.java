@@ -69,16 +69,22 @@ public class ExperienceBarManager {
             experienceBarHideTaskHashMap.get(primarySkillType).cancel();
         }
 
-        scheduleHideTask(primarySkillType, plugin);
+        scheduleHideTask(primarySkillType);
     }
 
-    private void scheduleHideTask(PrimarySkillType primarySkillType, Plugin plugin) {
+    private void scheduleHideTask(PrimarySkillType primarySkillType) {
         if(alwaysVisible.contains(primarySkillType))
             return;
 
-        ExperienceBarHideTask experienceBarHideTask = new ExperienceBarHideTask(this, mcMMOPlayer, primarySkillType);
-        experienceBarHideTask.runTaskLater(plugin, 20* delaySeconds);
-        experienceBarHideTaskHashMap.put(primarySkillType, experienceBarHideTask);
+        //Reuse the pending task, scheduling it again only moves it
+        ExperienceBarHideTask experienceBarHideTask = experienceBarHideTaskHashMap.get(primarySkillType);
+
+        if(experienceBarHideTask == null) {
+            experienceBarHideTask = new ExperienceBarHideTask(this, mcMMOPlayer, primarySkillType);
+            experienceBarHideTaskHashMap.put(primarySkillType, experienceBarHideTask);
+        }
+
+        experienceBarHideTask.schedule(20* delaySeconds);
     }
 
     public void hideExperienceBar(PrimarySkillType primarySkillType)
@@ -30,6 +30,7 @@ public class NotificationManager {
     /**
      * Sends players notifications from mcMMO
      * Does so by sending out an event so other plugins can cancel it
+     * Notifications are queued and sent on the next tick, see {@link NotificationQueue}
      * @param player target player
      * @param notificationType notifications defined type
      * @param key the locale key for the notifications defined message
@@ -39,12 +40,7 @@ public class NotificationManager {
         if(UserManager.getPlayer(player) == null || !UserManager.getPlayer(player).useChatNotifications())
             return;
 
-        McMMOMessageType destination = AdvancedConfig.getInstance().doesNotificationUseActionBar(notificationType) ? McMMOMessageType.ACTION_BAR : McMMOMessageType.SYSTEM;
-
-        Component message = TextComponentFactory.getNotificationTextComponentFromLocale(key);
-        McMMOPlayerNotificationEvent customEvent = checkNotificationEvent(player, notificationType, destination, message);
-
-        sendNotification(player, customEvent);
+        mcMMO.getNotificationQueue().enqueue(player, notificationType, key, null);
     }
 
 
@@ -94,9 +90,21 @@ public class NotificationManager {
         if(UserManager.getPlayer(player) == null || !UserManager.getPlayer(player).useChatNotifications())
             return;
 
+        mcMMO.getNotificationQueue().enqueue(player, notificationType, key, values);
+    }
+
+    /**
+     * Sends a notification queued by the {@link NotificationQueue}, firing its event first
+     * @param player target player
+     * @param notificationType notifications defined type
+     * @param key the locale key for the notifications defined message
+     * @param values values to be injected into the locale string, or null if it has none
+     */
+    static void deliverPlayerInformation(Player player, NotificationType notificationType, String key, String[] values)
+    {
         McMMOMessageType destination = AdvancedConfig.getInstance().doesNotificationUseActionBar(notificationType) ? McMMOMessageType.ACTION_BAR : McMMOMessageType.SYSTEM;
 
-        Component message = TextComponentFactory.getNotificationMultipleValues(key, values);
+        Component message = values == null ? TextComponentFactory.getNotificationTextComponentFromLocale(key) : TextComponentFactory.getNotificationMultipleValues(key, values);
         McMMOPlayerNotificationEvent customEvent = checkNotificationEvent(player, notificationType, destination, message);
 
         sendNotification(player, customEvent);
@@ -0,0 +1,208 @@
+package com.gmail.nossr50.util.player;
+
+import com.gmail.nossr50.config.AdvancedConfig;
+import com.gmail.nossr50.datatypes.interactions.NotificationType;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the notifications sent to players during a tick, and sends them all at once on the next tick.
+ * <p>
+ * The same notification (type, locale key and values) is only sent once to a player within
+ * {@link AdvancedConfig#getDuplicateNotificationWindow()} ticks, and only the latest action bar message of a tick is sent,
+ * as it would replace the ones before it anyway. Action bar messages also copied to chat are never merged.
+ * Every notification that is sent still fires its {@link com.gmail.nossr50.events.skills.McMMOPlayerNotificationEvent}.
+ * Flushed by {@link com.gmail.nossr50.runnables.player.NotificationFlushTask} once per tick, notifications sent from
+ * other threads are sent right away.
+ */
+public final class NotificationQueue {
+    private final Map<UUID, PlayerNotifications> queues = new HashMap<>();
+    private long currentTick;
+
+    /* Metrics, also counted from other threads */
+    private final LongAdder sentNotifications = new LongAdder();
+    private final LongAdder suppressedNotifications = new LongAdder();
+
+    /**
+     * Queue a notification for a player
+     *
+     * @param player target player
+     * @param notificationType type of notification
+     * @param key the locale key of the message
+     * @param values values to be injected into the locale string, or null if it has none
+     */
+    public void enqueue(@NotNull Player player, @NotNull NotificationType notificationType, @NotNull String key, @Nullable String[] values) {
+        if (!Bukkit.isPrimaryThread()) {
+            sentNotifications.increment();
+            NotificationManager.deliverPlayerInformation(player, notificationType, key, values);
+            return;
+        }
+
+        PlayerNotifications notifications = queues.get(player.getUniqueId());
+
+        if (notifications == null || notifications.player != player) {
+            notifications = new PlayerNotifications(player);
+            queues.put(player.getUniqueId(), notifications);
+        }
+
+        QueuedNotification notification = new QueuedNotification(notificationType, key, values);
+        int window = AdvancedConfig.getInstance().getDuplicateNotificationWindow();
+
+        if (window > 0) {
+            Long lastSent = notifications.lastSent.get(notification);
+
+            if ((lastSent != null && currentTick - lastSent < window) || notifications.pending.contains(notification)) {
+                suppressedNotifications.increment();
+                return;
+            }
+        }
+
+        AdvancedConfig advancedConfig = AdvancedConfig.getInstance();
+
+        // Only the last action bar message of a tick would be seen
+        if (advancedConfig.doesNotificationUseActionBar(notificationType) && !advancedConfig.doesNotificationSendCopyToChat(notificationType)) {
+            if (notifications.actionBar != null) {
+                suppressedNotifications.increment();
+                notifications.pending.remove(notifications.actionBar);
+            }
+
+            notifications.actionBar = notification;
+        }
+
+        notifications.pending.add(notification);
+    }
+
+    /**
+     * Send the notifications queued since the last flush
+     */
+    public void flush() {
+        // Forget duplicates once the window is over, checked once per window
+        int window = AdvancedConfig.getInstance().getDuplicateNotificationWindow();
+        boolean expire = window == 0 || currentTick % window == 0;
+
+        for (Iterator<PlayerNotifications> iterator = queues.values().iterator(); iterator.hasNext(); ) {
+            PlayerNotifications notifications = iterator.next();
+
+            if (!notifications.pending.isEmpty()) {
+                sendPending(notifications);
+            }
+
+            if (expire) {
+                notifications.lastSent.values().removeIf(lastSent -> currentTick - lastSent >= window);
+            }
+
+            if (!notifications.player.isOnline() || (notifications.pending.isEmpty() && notifications.lastSent.isEmpty())) {
+                iterator.remove();
+            }
+        }
+
+        currentTick++;
+    }
+
+    private void sendPending(PlayerNotifications notifications) {
+        Player player = notifications.player;
+
+        // Listeners may send more notifications while these are sent, they go out on the next flush
+        List<QueuedNotification> pending = notifications.pending;
+        notifications.pending = new ArrayList<>(4);
+        notifications.actionBar = null;
+
+        if (!player.isOnline()) {
+            return;
+        }
+
+        boolean deduplicate = AdvancedConfig.getInstance().getDuplicateNotificationWindow() > 0;
+
+        for (QueuedNotification notification : pending) {
+            sentNotifications.increment();
+
+            // Only notifications actually sent hold back their duplicates, not the ones replaced before being sent
+            if (deduplicate) {
+                notifications.lastSent.put(notification, currentTick);
+            }
+
+            try {
+                NotificationManager.deliverPlayerInformation(player, notification.notificationType, notification.key, notification.values);
+            }
+            catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * @return the number of notifications waiting for the next flush
+     */
+    public int getQueuedNotifications() {
+        int queued = 0;
+
+        for (PlayerNotifications notifications : queues.values()) {
+            queued += notifications.pending.size();
+        }
+
+        return queued;
+    }
+
+    public long getSentNotifications() {
+        return sentNotifications.sum();
+    }
+
+    public long getSuppressedNotifications() {
+        return suppressedNotifications.sum();
+    }
+
+    private static final class PlayerNotifications {
+        private final Player player;
+        private final Map<QueuedNotification, Long> lastSent = new HashMap<>();
+        private List<QueuedNotification> pending = new ArrayList<>(4);
+        private QueuedNotification actionBar;
+
+        private PlayerNotifications(Player player) {
+            this.player = player;
+        }
+    }
+
+    private static final class QueuedNotification {
+        private final NotificationType notificationType;
+        private final String key;
+        private final String[] values;
+        private final int hash;
+
+        private QueuedNotification(NotificationType notificationType, String key, String[] values) {
+            this.notificationType = notificationType;
+            this.key = key;
+            this.values = values;
+            this.hash = 31 * (31 * notificationType.hashCode() + key.hashCode()) + Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof QueuedNotification)) {
+                return false;
+            }
+
+            QueuedNotification other = (QueuedNotification) o;
+            return hash == other.hash && notificationType == other.notificationType && key.equals(other.key) && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -11,10 +11,14 @@ import org.bukkit.metadata.FixedMetadataValue;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class UserManager {
 
     private static HashSet<McMMOPlayer> playerDataSet; //Used to track players for sync saves on shutdown
+    private static final Map<UUID, McMMOPlayer> loadedPlayers = new ConcurrentHashMap<>(); //Used for lookups on hot paths, metadata lookups build a new key string every time
 
     private UserManager() {}
 
@@ -30,11 +34,14 @@ public final class UserManager {
             playerDataSet = new HashSet<>();
 
         playerDataSet.add(mcMMOPlayer); //for sync saves on shutdown
+        loadedPlayers.put(mcMMOPlayer.getPlayer().getUniqueId(), mcMMOPlayer);
     }
 
     public static void cleanupPlayer(McMMOPlayer mcMMOPlayer) {
         if(playerDataSet != null)
             playerDataSet.remove(mcMMOPlayer);
+
+        loadedPlayers.remove(mcMMOPlayer.getPlayer().getUniqueId(), mcMMOPlayer);
     }
 
     /**
@@ -46,6 +53,7 @@ public final class UserManager {
         McMMOPlayer mcMMOPlayer = getPlayer(player);
         mcMMOPlayer.cleanup();
         player.removeMetadata(mcMMO.playerDataKey, mcMMO.p);
+        loadedPlayers.remove(player.getUniqueId(), mcMMOPlayer);
 
         if(playerDataSet != null) {
             playerDataSet.remove(mcMMOPlayer); //Clear sync save tracking
@@ -62,6 +70,8 @@ public final class UserManager {
 
         if(playerDataSet != null)
             playerDataSet.clear(); //Clear sync save tracking
+
+        loadedPlayers.clear();
     }
 
     /**
@@ -78,8 +88,7 @@ public final class UserManager {
         for (McMMOPlayer playerData : trackedSyncData) {
             try
             {
-                mcMMO.p.getLogger().info("Saving data for player: "+playerData.getPlayerName());
-                playerData.getProfile().save(true);
+                playerData.getProfile().save(false);
             }
             catch (Exception e)
             {
@@ -87,6 +96,8 @@ public final class UserManager {
             }
         }
 
+        mcMMO.getProfileSaveQueue().drain();
+
         mcMMO.p.getLogger().info("Finished save operation for "+trackedSyncData.size()+" players!");
     }
 
@@ -137,6 +148,21 @@ public final class UserManager {
             return null;
     }
 
+    /**
+     * Gets the McMMOPlayer object for a player without going through its metadata, for use on hot paths.
+     * @param player target player
+     * @return McMMOPlayer object for this player, null if Player has not been loaded
+     */
+    public static McMMOPlayer getLoadedPlayer(Player player) {
+        McMMOPlayer mcMMOPlayer = loadedPlayers.get(player.getUniqueId());
+
+        //A stale entry for a previous login of the same player
+        if(mcMMOPlayer == null || mcMMOPlayer.getPlayer() != player)
+            return null;
+
+        return mcMMOPlayer;
+    }
+
     private static McMMOPlayer retrieveMcMMOPlayer(String playerName, boolean offlineValid) {
         Player player = mcMMO.p.getServer().getPlayerExact(playerName);
 
@@ -0,0 +1,106 @@
+package com.gmail.nossr50.util.random;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Weighted random choice among a fixed set of outcomes in constant time, built with Vose's alias method.
+ * <p>
+ * Weights are chances out of a total, whatever part of the total they don't cover is a miss. Weights going past the
+ * total are cut off in order, like they would be by walking the outcomes and subtracting their chances from a roll.
+ *
+ * @param <T> the type of the outcomes
+ */
+public final class AliasTable<T> {
+    private final Object[] outcomes;
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    /**
+     * @param outcomes the possible outcomes
+     * @param weights the chance of each outcome, in the same order
+     * @param total the total the chances are out of
+     */
+    public AliasTable(@NotNull List<T> outcomes, @NotNull double[] weights, double total) {
+        double[] clippedWeights = new double[outcomes.size() + 1];
+        double remaining = Math.max(total, 0);
+
+        for (int i = 0; i < outcomes.size(); i++) {
+            clippedWeights[i] = Math.min(Math.max(weights[i], 0), remaining);
+            remaining -= clippedWeights[i];
+        }
+
+        // The miss, only kept if it can happen
+        clippedWeights[outcomes.size()] = remaining;
+        int size = total <= 0 ? 0 : remaining > 0 ? outcomes.size() + 1 : outcomes.size();
+
+        this.outcomes = outcomes.toArray(new Object[size]);
+        this.probabilities = new double[size];
+        this.aliases = new int[size];
+
+        if (size == 0) {
+            return;
+        }
+
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            scaled[i] = clippedWeights[i] * size / total;
+
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            }
+            else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            }
+            else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Whatever is left is only off from 1 by rounding errors
+        while (largeCount > 0) {
+            probabilities[large[--largeCount]] = 1;
+        }
+
+        while (smallCount > 0) {
+            probabilities[small[--smallCount]] = 1;
+        }
+    }
+
+    /**
+     * @param random the source of randomness
+     * @return a random outcome, or null for a miss
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable T sample(@NotNull Random random) {
+        if (probabilities.length == 0) {
+            return null;
+        }
+
+        double roll = random.nextDouble() * probabilities.length;
+        int column = (int) roll;
+
+        return (T) outcomes[roll - column < probabilities[column] ? column : aliases[column]];
+    }
+}
@@ -0,0 +1,15 @@
+package com.gmail.nossr50.util.scheduler;
+
+/**
+ * What a {@link WheelTimer} is for, used to count pending timers
+ */
+public enum TimerType {
+    ABILITY_DISABLE,
+    ABILITY_COOLDOWN,
+    TOOL_LOWER,
+    MOB_HEALTH_DISPLAY,
+    CROP_REPLANT,
+    EXPERIENCE_BAR_HIDE,
+    SCOREBOARD_REVERT,
+    SCOREBOARD_UPDATE
+}
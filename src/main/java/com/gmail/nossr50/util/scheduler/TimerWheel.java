@@ -0,0 +1,204 @@
+package com.gmail.nossr50.util.scheduler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.UUID;
+
+/**
+ * Hashed timing wheel running mcMMO's short lived delayed tasks from a single repeating task.
+ * <p>
+ * Timers are kept in one of {@link #WHEEL_SIZE} slots by the tick they are due on, longer delays going around the wheel
+ * more than once, so scheduling and cancelling don't depend on how many timers are pending.
+ * Advanced by {@link com.gmail.nossr50.runnables.TimerWheelTask} once per tick, only meant to be used from the main thread.
+ */
+public final class TimerWheel {
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final WheelTimer[] slots = new WheelTimer[WHEEL_SIZE];
+    private final ArrayDeque<WheelTimer> expired = new ArrayDeque<>();
+    private final int[] pendingTimers = new int[TimerType.values().length];
+    private long currentTick;
+
+    /* Metrics */
+    private long scheduledTimers;
+    private long firedTimers;
+    private long cancelledTimers;
+
+    /**
+     * Run a timer after a delay, replacing the previous delay if it is already pending
+     *
+     * @param timer the timer to run
+     * @param delayTicks the delay in ticks, at least one tick
+     */
+    public void schedule(@NotNull WheelTimer timer, long delayTicks) {
+        if (timer.pending) {
+            unlink(timer);
+        }
+        else {
+            timer.pending = true;
+            pendingTimers[timer.getType().ordinal()]++;
+        }
+
+        scheduledTimers++;
+        timer.deadline = currentTick + Math.max(delayTicks, 1);
+        link(timer);
+    }
+
+    /**
+     * Stop a timer from running
+     *
+     * @param timer the timer to cancel
+     * @return true if the timer was pending
+     */
+    public boolean cancel(@NotNull WheelTimer timer) {
+        if (!timer.pending) {
+            return false;
+        }
+
+        unlink(timer);
+        timer.pending = false;
+        pendingTimers[timer.getType().ordinal()]--;
+        cancelledTimers++;
+        return true;
+    }
+
+    /**
+     * Stop every timer of a player from running, used when they quit
+     *
+     * @param owner the player the timers belong to
+     * @return the number of timers cancelled
+     */
+    public int cancelAll(@NotNull UUID owner) {
+        int cancelled = 0;
+
+        for (WheelTimer head : slots) {
+            for (WheelTimer timer = head; timer != null; ) {
+                WheelTimer next = timer.next;
+
+                if (owner.equals(timer.getOwner()) && cancel(timer)) {
+                    cancelled++;
+                }
+
+                timer = next;
+            }
+        }
+
+        // Due this tick but not run yet
+        for (WheelTimer timer : expired) {
+            if (owner.equals(timer.getOwner()) && cancel(timer)) {
+                cancelled++;
+            }
+        }
+
+        return cancelled;
+    }
+
+    /**
+     * Advance the wheel by a tick, running the timers due
+     */
+    public void tick() {
+        currentTick++;
+
+        for (WheelTimer timer = slots[(int) (currentTick & WHEEL_MASK)]; timer != null; ) {
+            WheelTimer next = timer.next;
+
+            if (timer.deadline <= currentTick) {
+                unlink(timer);
+                expired.add(timer);
+            }
+
+            timer = next;
+        }
+
+        WheelTimer timer;
+
+        while ((timer = expired.poll()) != null) {
+            // Cancelled or scheduled again by a timer that ran before it
+            if (!timer.pending || timer.slot != -1) {
+                continue;
+            }
+
+            timer.pending = false;
+            pendingTimers[timer.getType().ordinal()]--;
+            firedTimers++;
+
+            try {
+                timer.run();
+            }
+            catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void link(WheelTimer timer) {
+        int slot = (int) (timer.deadline & WHEEL_MASK);
+        WheelTimer head = slots[slot];
+
+        timer.slot = slot;
+        timer.previous = null;
+        timer.next = head;
+
+        if (head != null) {
+            head.previous = timer;
+        }
+
+        slots[slot] = timer;
+    }
+
+    private void unlink(WheelTimer timer) {
+        if (timer.slot == -1) {
+            return;
+        }
+
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        }
+        else {
+            slots[timer.slot] = timer.next;
+        }
+
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+
+        timer.previous = null;
+        timer.next = null;
+        timer.slot = -1;
+    }
+
+    /**
+     * @return the number of ticks the wheel has advanced by
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int getPendingTimers(@NotNull TimerType type) {
+        return pendingTimers[type.ordinal()];
+    }
+
+    public int getPendingTimers() {
+        int total = 0;
+
+        for (int pending : pendingTimers) {
+            total += pending;
+        }
+
+        return total;
+    }
+
+    public long getScheduledTimers() {
+        return scheduledTimers;
+    }
+
+    public long getFiredTimers() {
+        return firedTimers;
+    }
+
+    public long getCancelledTimers() {
+        return cancelledTimers;
+    }
+}
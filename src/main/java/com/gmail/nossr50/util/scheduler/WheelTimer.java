@@ -0,0 +1,61 @@
+package com.gmail.nossr50.util.scheduler;
+
+import com.gmail.nossr50.mcMMO;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * A delayed task run by the {@link TimerWheel}, which can be cancelled and scheduled again any number of times
+ */
+public abstract class WheelTimer implements Runnable {
+    private final @NotNull TimerType type;
+    private final @Nullable UUID owner;
+
+    /* Managed by the TimerWheel */
+    WheelTimer previous;
+    WheelTimer next;
+    int slot = -1;
+    long deadline;
+    boolean pending;
+
+    /**
+     * @param type what the timer is for
+     * @param owner the player the timer belongs to, cancelled when they quit, or null
+     */
+    protected WheelTimer(@NotNull TimerType type, @Nullable UUID owner) {
+        this.type = type;
+        this.owner = owner;
+    }
+
+    /**
+     * Run this timer after a delay, replacing the previous delay if it is already pending
+     *
+     * @param delayTicks the delay in ticks, at least one tick
+     */
+    public void schedule(long delayTicks) {
+        mcMMO.getTimerWheel().schedule(this, delayTicks);
+    }
+
+    /**
+     * Stop this timer from running, if it is pending
+     */
+    public void cancel() {
+        if (pending) {
+            mcMMO.getTimerWheel().cancel(this);
+        }
+    }
+
+    public boolean isPending() {
+        return pending;
+    }
+
+    public @NotNull TimerType getType() {
+        return type;
+    }
+
+    public @Nullable UUID getOwner() {
+        return owner;
+    }
+}
@@ -136,7 +136,8 @@ public class ScoreboardManager {
         abilityLabelsSkill = abilityLabelSkillBuilder.build();
     }
 
-    private static final List<String> dirtyPowerLevels = new ArrayList<>();
+    private static final Set<String> dirtyPowerLevels = new LinkedHashSet<>();
+    private static ShadowObjective mainPowerScores;
 
     public enum SidebarType {
         NONE,
@@ -198,6 +199,7 @@ public class ScoreboardManager {
             if(wrapper.revertTask != null) {
                 wrapper.revertTask.cancel();
             }
+            wrapper.updateTask.cancel();
         }
     }
 
@@ -217,6 +219,8 @@ public class ScoreboardManager {
         if (wrapper.revertTask != null) {
             wrapper.revertTask.cancel();
         }
+
+        wrapper.updateTask.cancel();
     }
 
     // Called by internal level-up event listener
@@ -238,12 +242,12 @@ public class ScoreboardManager {
             String playerName = player.getName();
 
             for (ScoreboardWrapper iWrapper : PLAYER_SCOREBOARDS.values()) {
-                if (iWrapper.isStatsScoreboard() && playerName.equals(iWrapper.targetPlayer) && wrapper.isBoardShown()) {
-                    wrapper.doSidebarUpdateSoon();
+                if (iWrapper.isStatsScoreboard() && playerName.equals(iWrapper.targetPlayer) && iWrapper.isBoardShown()) {
+                    iWrapper.doSidebarUpdateSoon();
                 }
             }
 
-            if (Config.getInstance().getPowerLevelTagsEnabled() && !dirtyPowerLevels.contains(playerName)) {
+            if (Config.getInstance().getPowerLevelTagsEnabled()) {
                 dirtyPowerLevels.add(playerName);
             }
 
@@ -448,6 +452,22 @@ public class ScoreboardManager {
             return false; // indicates
         }
 
+        if (dirtyPowerLevels.isEmpty()) {
+            return true;
+        }
+
+        if (mainPowerScores == null) {
+            mainPowerScores = new ShadowObjective(mainObjective);
+        }
+        else {
+            mainPowerScores.setObjective(mainObjective);
+        }
+
+        // Read every changed power level once, then hand them all to each board in a single pass
+        String[] playerNames = new String[dirtyPowerLevels.size()];
+        int[] powerLevels = new int[playerNames.length];
+        int count = 0;
+
         for (String playerName : dirtyPowerLevels) {
             McMMOPlayer mcMMOPlayer = UserManager.getPlayer(playerName);
 
@@ -455,17 +475,22 @@ public class ScoreboardManager {
                 continue;
             }
 
-            Player player = mcMMOPlayer.getPlayer();
             int power = mcMMOPlayer.getPowerLevel();
 
-            mainObjective.getScore(playerName).setScore(power);
+            mainPowerScores.setScore(playerName, power);
+            playerNames[count] = playerName;
+            powerLevels[count] = power;
+            count++;
+        }
+
+        dirtyPowerLevels.clear();
 
-            for (ScoreboardWrapper wrapper : PLAYER_SCOREBOARDS.values()) {
-                wrapper.updatePowerLevel(player, power);
+        for (ScoreboardWrapper wrapper : PLAYER_SCOREBOARDS.values()) {
+            for (int i = 0; i < count; i++) {
+                wrapper.updatePowerLevel(playerNames[i], powerLevels[i]);
             }
         }
 
-        dirtyPowerLevels.clear();
         return true;
     }
 
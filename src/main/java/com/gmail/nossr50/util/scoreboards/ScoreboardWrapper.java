@@ -15,6 +15,8 @@ import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.skills.child.FamilyTree;
 import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.player.UserManager;
+import com.gmail.nossr50.util.scheduler.TimerType;
+import com.gmail.nossr50.util.scheduler.WheelTimer;
 import com.gmail.nossr50.util.scoreboards.ScoreboardManager.SidebarType;
 import org.apache.commons.lang.Validate;
 import org.bukkit.ChatColor;
@@ -23,7 +25,6 @@ import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.scoreboard.DisplaySlot;
 import org.bukkit.scoreboard.Objective;
-import org.bukkit.scoreboard.Score;
 import org.bukkit.scoreboard.Scoreboard;
 
 import java.util.List;
@@ -43,6 +44,8 @@ public class ScoreboardWrapper {
     private SidebarType sidebarType;
     private Objective sidebarObjective;
     private final Objective powerObjective;
+    private final ShadowObjective sidebarScores;
+    private final ShadowObjective powerScores;
 
     // Parameter variables (May be null / invalid)
     private Scoreboard oldBoard = null;
@@ -58,30 +61,41 @@ public class ScoreboardWrapper {
         sidebarType = SidebarType.NONE;
         sidebarObjective = this.scoreboard.registerNewObjective(ScoreboardManager.SIDEBAR_OBJECTIVE, "dummy", SIDE_OBJECTIVE);
         powerObjective = this.scoreboard.registerNewObjective(ScoreboardManager.POWER_OBJECTIVE, "dummy", POWER_OBJECTIVE);
+        sidebarScores = new ShadowObjective(sidebarObjective);
+        powerScores = new ShadowObjective(powerObjective);
+        updateTask = new ScoreboardQuickUpdate();
 
         if (Config.getInstance().getPowerLevelTagsEnabled()) {
             powerObjective.setDisplayName(ScoreboardManager.TAG_POWER_LEVEL);
             powerObjective.setDisplaySlot(DisplaySlot.BELOW_NAME);
 
             for (McMMOPlayer mcMMOPlayer : UserManager.getPlayers()) {
-                powerObjective.getScore(mcMMOPlayer.getProfile().getPlayerName()).setScore(mcMMOPlayer.getPowerLevel());
+                powerScores.setScore(mcMMOPlayer.getProfile().getPlayerName(), mcMMOPlayer.getPowerLevel());
             }
         }
     }
 
-    public BukkitTask updateTask = null;
+    public final WheelTimer updateTask;
+    private long lastSidebarUpdate = Long.MIN_VALUE / 2;
+
+    private class ScoreboardQuickUpdate extends WheelTimer {
+        private ScoreboardQuickUpdate() {
+            super(TimerType.SCOREBOARD_UPDATE, player.getUniqueId());
+        }
 
-    private class ScoreboardQuickUpdate extends BukkitRunnable {
         @Override
         public void run() {
             updateSidebar();
-            updateTask = null;
         }
     }
 
-    public BukkitTask revertTask = null;
+    public WheelTimer revertTask = null;
+
+    private class ScoreboardChangeTask extends WheelTimer {
+        private ScoreboardChangeTask() {
+            super(TimerType.SCOREBOARD_REVERT, player.getUniqueId());
+        }
 
-    private class ScoreboardChangeTask extends BukkitRunnable {
         @Override
         public void run() {
             tryRevertBoard();
@@ -106,10 +120,13 @@ public class ScoreboardWrapper {
 
 
     public void doSidebarUpdateSoon() {
-        if (updateTask == null) {
-            // To avoid spamming the scheduler, store the instance and run 2 ticks later
-            updateTask = new ScoreboardQuickUpdate().runTaskLater(mcMMO.p, 2L);
+        if (updateTask.isPending()) {
+            return;
         }
+
+        // Changes are shown together, at most once per update interval and at least 2 ticks later
+        long sinceLastUpdate = mcMMO.getTimerWheel().getCurrentTick() - lastSidebarUpdate;
+        updateTask.schedule(Math.max(2L, Config.getInstance().getScoreboardUpdateInterval() - sinceLastUpdate));
     }
 
     private void startCooldownUpdating() {
@@ -198,7 +215,8 @@ public class ScoreboardWrapper {
         }
 
         player.setScoreboard(scoreboard);
-        revertTask = new ScoreboardChangeTask().runTaskLater(mcMMO.p, ticks);
+        revertTask = new ScoreboardChangeTask();
+        revertTask.schedule(ticks);
 
         // TODO is there any way to do the time that looks acceptable?
         // player.sendMessage(LocaleLoader.getString("Commands.Scoreboard.Timer", StringUtils.capitalize(sidebarType.toString().toLowerCase(Locale.ENGLISH)), ticks / 20F));
@@ -398,6 +416,7 @@ public class ScoreboardWrapper {
             displayName = displayName.substring(0, 32);
         }
 
+        sidebarScores.reset(sidebarObjective);
         sidebarObjective.setDisplayName(displayName);
 
         updateSidebar();
@@ -415,13 +434,8 @@ public class ScoreboardWrapper {
      * Load new values into the sidebar.
      */
     private void updateSidebar() {
-        try {
-            updateTask.cancel();
-        }
-        catch (Throwable ignored) {
-        } // catch NullPointerException and IllegalStateException and any Error; don't care
-
-        updateTask = null;
+        updateTask.cancel();
+        lastSidebarUpdate = mcMMO.getTimerWheel().getCurrentTick();
 
         if (sidebarType == SidebarType.NONE) {
             return;
@@ -449,38 +463,35 @@ public class ScoreboardWrapper {
                 if (!targetSkill.isChildSkill()) {
                     int currentXP = mcMMOPlayer.getSkillXpLevel(targetSkill);
 
-                    sidebarObjective.getScore(ScoreboardManager.LABEL_CURRENT_XP).setScore(currentXP);
-                    sidebarObjective.getScore(ScoreboardManager.LABEL_REMAINING_XP).setScore(mcMMOPlayer.getXpToLevel(targetSkill) - currentXP);
+                    sidebarScores.setScore(ScoreboardManager.LABEL_CURRENT_XP, currentXP);
+                    sidebarScores.setScore(ScoreboardManager.LABEL_REMAINING_XP, mcMMOPlayer.getXpToLevel(targetSkill) - currentXP);
                 }
                 else {
                     for (PrimarySkillType parentSkill : FamilyTree.getParents(targetSkill)) {
-                        sidebarObjective.getScore(ScoreboardManager.skillLabels.get(parentSkill)).setScore(mcMMOPlayer.getSkillLevel(parentSkill));
+                        sidebarScores.setScore(ScoreboardManager.skillLabels.get(parentSkill), mcMMOPlayer.getSkillLevel(parentSkill));
                     }
                 }
 
-                sidebarObjective.getScore(ScoreboardManager.LABEL_LEVEL).setScore(mcMMOPlayer.getSkillLevel(targetSkill));
+                sidebarScores.setScore(ScoreboardManager.LABEL_LEVEL, mcMMOPlayer.getSkillLevel(targetSkill));
 
                 if (targetSkill.getAbility() != null) {
                     boolean stopUpdating;
 
                     if (targetSkill == PrimarySkillType.MINING) {
                         // Special-Case: Mining has two abilities, both with cooldowns
-                        Score cooldownSB = sidebarObjective.getScore(ScoreboardManager.abilityLabelsSkill.get(SuperAbilityType.SUPER_BREAKER));
-                        Score cooldownBM = sidebarObjective.getScore(ScoreboardManager.abilityLabelsSkill.get(SuperAbilityType.BLAST_MINING));
                         int secondsSB = Math.max(mcMMOPlayer.calculateTimeRemaining(SuperAbilityType.SUPER_BREAKER), 0);
                         int secondsBM = Math.max(mcMMOPlayer.calculateTimeRemaining(SuperAbilityType.BLAST_MINING), 0);
 
-                        cooldownSB.setScore(secondsSB);
-                        cooldownBM.setScore(secondsBM);
+                        sidebarScores.setScore(ScoreboardManager.abilityLabelsSkill.get(SuperAbilityType.SUPER_BREAKER), secondsSB);
+                        sidebarScores.setScore(ScoreboardManager.abilityLabelsSkill.get(SuperAbilityType.BLAST_MINING), secondsBM);
 
                         stopUpdating = (secondsSB == 0 && secondsBM == 0);
                     }
                     else {
                         SuperAbilityType ability = targetSkill.getAbility();
-                        Score cooldown = sidebarObjective.getScore(ScoreboardManager.abilityLabelsSkill.get(ability));
                         int seconds = Math.max(mcMMOPlayer.calculateTimeRemaining(ability), 0);
 
-                        cooldown.setScore(seconds);
+                        sidebarScores.setScore(ScoreboardManager.abilityLabelsSkill.get(ability), seconds);
 
                         stopUpdating = seconds == 0;
                     }
@@ -504,7 +515,7 @@ public class ScoreboardWrapper {
                         anyCooldownsActive = true;
                     }
 
-                    sidebarObjective.getScore(ScoreboardManager.abilityLabelsColored.get(ability)).setScore(seconds);
+                    sidebarScores.setScore(ScoreboardManager.abilityLabelsColored.get(ability), seconds);
                 }
 
                 if (anyCooldownsActive) {
@@ -541,10 +552,10 @@ public class ScoreboardWrapper {
                         continue;
                     }
 
-                    sidebarObjective.getScore(ScoreboardManager.skillLabels.get(skill)).setScore(level);
+                    sidebarScores.setScore(ScoreboardManager.skillLabels.get(skill), level);
                 }
 
-                sidebarObjective.getScore(ScoreboardManager.LABEL_POWER_LEVEL).setScore(powerLevel);
+                sidebarScores.setScore(ScoreboardManager.LABEL_POWER_LEVEL, powerLevel);
                 break;
 
             case RANK_BOARD:
@@ -572,14 +583,14 @@ public class ScoreboardWrapper {
             rank = rankData.get(skill);
 
             if (rank != null) {
-                sidebarObjective.getScore(ScoreboardManager.skillLabels.get(skill)).setScore(rank);
+                sidebarScores.setScore(ScoreboardManager.skillLabels.get(skill), rank);
             }
         }
 
         rank = rankData.get(null);
 
         if (rank != null) {
-            sidebarObjective.getScore(ScoreboardManager.LABEL_POWER_LEVEL).setScore(rank);
+            sidebarScores.setScore(ScoreboardManager.LABEL_POWER_LEVEL, rank);
         }
     }
 
@@ -591,11 +602,15 @@ public class ScoreboardWrapper {
                 name = ChatColor.GOLD + "--You--";
             }
 
-            sidebarObjective.getScore(name).setScore(stat.statVal);
+            sidebarScores.setScore(name, stat.statVal);
         }
     }
 
     public void updatePowerLevel(Player player, int newPowerLevel) {
-        powerObjective.getScore(player.getName()).setScore(newPowerLevel);
+        updatePowerLevel(player.getName(), newPowerLevel);
+    }
+
+    void updatePowerLevel(String playerName, int newPowerLevel) {
+        powerScores.setScore(playerName, newPowerLevel);
     }
 }
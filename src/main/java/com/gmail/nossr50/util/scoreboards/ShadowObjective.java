@@ -0,0 +1,58 @@
+package com.gmail.nossr50.util.scoreboards;
+
+import org.bukkit.scoreboard.Objective;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The scores last sent to the players for an objective, so the scores that didn't change aren't sent again.
+ * Every score set on the objective by mcMMO goes through here, other plugins changing it aren't noticed.
+ */
+final class ShadowObjective {
+    private final Map<String, Integer> scores = new HashMap<>();
+    private Objective objective;
+
+    ShadowObjective(Objective objective) {
+        this.objective = objective;
+    }
+
+    /**
+     * Use another objective, forgetting the scores of the previous one unless it is the same objective
+     *
+     * @param objective the objective scores are set on from now on
+     */
+    void setObjective(Objective objective) {
+        if (!objective.equals(this.objective)) {
+            scores.clear();
+        }
+
+        this.objective = objective;
+    }
+
+    /**
+     * Use a newly registered objective, which has no scores yet
+     *
+     * @param objective the objective scores are set on from now on
+     */
+    void reset(Objective objective) {
+        scores.clear();
+        this.objective = objective;
+    }
+
+    /**
+     * Set the score of an entry, if it changed since it was last set
+     *
+     * @param entry the entry of the line
+     * @param score the score to show
+     */
+    void setScore(String entry, int score) {
+        Integer previous = scores.put(entry, score);
+
+        if (previous != null && previous == score) {
+            return;
+        }
+
+        objective.getScore(entry).setScore(score);
+    }
+}
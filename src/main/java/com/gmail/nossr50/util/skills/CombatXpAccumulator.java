@@ -0,0 +1,187 @@
+package com.gmail.nossr50.util.skills;
+
+import com.gmail.nossr50.datatypes.experience.XPGainReason;
+import com.gmail.nossr50.datatypes.experience.XPGainSource;
+import com.gmail.nossr50.datatypes.player.McMMOPlayer;
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import org.bukkit.entity.LivingEntity;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Combat XP waiting for the damage it is based on to be dealt.
+ * <p>
+ * Hits are recorded with the health of their target before the damage, and awarded once per tick by
+ * {@link com.gmail.nossr50.runnables.skills.AwardCombatXpTask} based on how much health the target has lost since.
+ * Hits of a player on the same target for the same skill are awarded as a single XP gain, which still goes through
+ * {@link McMMOPlayer#beginXpGain(PrimarySkillType, float, XPGainReason, XPGainSource)} and its events and diminished returns.
+ * Only meant to be used from the main thread.
+ */
+public final class CombatXpAccumulator {
+    private static final int MAX_POOLED_GAINS = 256;
+
+    private Map<PendingGain, PendingGain> pending = new HashMap<>();
+    private Map<PendingGain, PendingGain> awarding = new HashMap<>();
+    private final ArrayDeque<PendingGain> pool = new ArrayDeque<>();
+    private final PendingGain lookup = new PendingGain();
+
+    /* Metrics */
+    private long recordedHits;
+    private long mergedHits;
+    private long awardedGains;
+
+    /**
+     * Record a hit, to be awarded XP for on the next tick
+     *
+     * @param mcMMOPlayer the attacking player
+     * @param primarySkillType the skill to award XP in
+     * @param baseXp the XP per point of damage
+     * @param target the entity being hit, before the damage is dealt
+     * @param xpGainReason the reason for the XP gain
+     */
+    public void record(@NotNull McMMOPlayer mcMMOPlayer, @NotNull PrimarySkillType primarySkillType, double baseXp, @NotNull LivingEntity target, @NotNull XPGainReason xpGainReason) {
+        recordedHits++;
+        lookup.set(mcMMOPlayer, primarySkillType, baseXp, target, xpGainReason);
+
+        PendingGain gain = pending.get(lookup);
+
+        if (gain == null) {
+            gain = pool.isEmpty() ? new PendingGain() : pool.poll();
+            gain.set(mcMMOPlayer, primarySkillType, baseXp, target, xpGainReason);
+            pending.put(gain, gain);
+        }
+        else {
+            mergedHits++;
+        }
+
+        gain.addHit(target.getHealth());
+        lookup.clear();
+    }
+
+    /**
+     * Award the XP of every hit recorded so far
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Hits recorded while awarding, by listeners of the XP events, are kept for the next flush
+        Map<PendingGain, PendingGain> gains = pending;
+        pending = awarding;
+        awarding = gains;
+
+        for (PendingGain gain : gains.values()) {
+            try {
+                gain.award();
+            }
+            catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+
+            gain.clear();
+
+            if (pool.size() < MAX_POOLED_GAINS) {
+                pool.add(gain);
+            }
+        }
+
+        gains.clear();
+    }
+
+    /**
+     * @return the number of hits recorded, each of which used to be its own scheduled task
+     */
+    public long getTasksAvoided() {
+        return recordedHits;
+    }
+
+    public long getMergedHits() {
+        return mergedHits;
+    }
+
+    public long getAwardedGains() {
+        return awardedGains;
+    }
+
+    private final class PendingGain {
+        private McMMOPlayer mcMMOPlayer;
+        private PrimarySkillType primarySkillType;
+        private double baseXp;
+        private LivingEntity target;
+        private XPGainReason xpGainReason;
+        private double[] baseHealths = new double[4];
+        private int hits;
+
+        private void set(McMMOPlayer mcMMOPlayer, PrimarySkillType primarySkillType, double baseXp, LivingEntity target, XPGainReason xpGainReason) {
+            this.mcMMOPlayer = mcMMOPlayer;
+            this.primarySkillType = primarySkillType;
+            this.baseXp = baseXp;
+            this.target = target;
+            this.xpGainReason = xpGainReason;
+        }
+
+        private void addHit(double baseHealth) {
+            if (hits == baseHealths.length) {
+                baseHealths = Arrays.copyOf(baseHealths, hits * 2);
+            }
+
+            baseHealths[hits++] = baseHealth;
+        }
+
+        private void award() {
+            double health = target.getHealth();
+            int xp = 0;
+
+            // Every hit is worth the health lost since it was recorded, like when each was awarded on its own
+            for (int i = 0; i < hits; i++) {
+                double damage = baseHealths[i] - health;
+
+                // May avoid negative xp, we don't know what other plugins do with the entity health
+                if (damage <= 0) {
+                    continue;
+                }
+
+                // Don't reward the player for overkills
+                if (health < 0) {
+                    damage += health;
+                }
+
+                xp += (int) (damage * baseXp);
+            }
+
+            if (xp > 0) {
+                awardedGains++;
+                mcMMOPlayer.beginXpGain(primarySkillType, xp, xpGainReason, XPGainSource.SELF);
+            }
+        }
+
+        private void clear() {
+            mcMMOPlayer = null;
+            target = null;
+            hits = 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PendingGain)) return false;
+            PendingGain that = (PendingGain) o;
+            return mcMMOPlayer == that.mcMMOPlayer && target == that.target && primarySkillType == that.primarySkillType
+                    && xpGainReason == that.xpGainReason && Double.compare(baseXp, that.baseXp) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(mcMMOPlayer);
+            result = 31 * result + System.identityHashCode(target);
+            result = 31 * result + primarySkillType.ordinal();
+            result = 31 * result + xpGainReason.ordinal();
+            return 31 * result + Double.hashCode(baseXp);
+        }
+    }
+}
@@ -48,7 +48,7 @@ public class TextComponentFactory {
 
     public static Component getNotificationTextComponentFromLocale(String localeKey)
     {
-        return getNotificationTextComponent(LocaleLoader.getString(localeKey));
+        return LocaleLoader.getStringComponent(localeKey);
     }
 
     public static Component getNotificationLevelUpTextComponent(PrimarySkillType skill, int levelsGained, int currentLevel)
@@ -56,12 +56,6 @@ public class TextComponentFactory {
         return Component.text(LocaleLoader.getString("Overhaul.Levelup", LocaleLoader.getString("Overhaul.Name."+ StringUtils.getCapitalized(skill.toString())), levelsGained, currentLevel));
     }
 
-    private static TextComponent getNotificationTextComponent(String text)
-    {
-        //textComponent.setColor(getNotificationColor(notificationType));
-        return Component.text(text);
-    }
-
     public static void sendPlayerSubSkillWikiLink(Player player, String subskillformatted)
     {
         if(!Config.getInstance().getUrlLinksEnabled())
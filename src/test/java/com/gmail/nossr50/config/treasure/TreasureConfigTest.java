@@ -0,0 +1,175 @@
+package com.gmail.nossr50.config.treasure;
+
+import com.gmail.nossr50.datatypes.treasure.Rarity;
+import com.gmail.nossr50.datatypes.treasure.ShakeTreasure;
+import com.gmail.nossr50.util.random.AliasTable;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Samples the fishing, enchantment and shake tables compiled from the default treasures.yml with a fixed seed, and
+ * compares how often every outcome comes up to the chance given by the configured rates.
+ */
+public class TreasureConfigTest {
+    private static final int SAMPLES = 200000;
+
+    private final YamlConfiguration treasures = YamlConfiguration.loadConfiguration(new File("src/main/resources/treasures.yml"));
+    private final double lureModifier = YamlConfiguration.loadConfiguration(new File("src/main/resources/config.yml")).getDouble("Skills.Fishing.Lure_Modifier", 4.0D);
+    private final Random random = new Random(42);
+
+    @Test
+    public void compilesATableForEveryLevelOfLuckThatMatters() {
+        assertEquals(26, TreasureConfig.getCompiledLuckLevels(4.0D));
+        assertEquals(256, TreasureConfig.getCompiledLuckLevels(0.1D));
+        assertEquals(1, TreasureConfig.getCompiledLuckLevels(0));
+    }
+
+    @Test
+    public void fishingTablesMatchTheConfiguredRates() {
+        int luckLevels = TreasureConfig.getCompiledLuckLevels(lureModifier);
+        List<Rarity> rarities = Arrays.asList(Rarity.values());
+
+        for (String tier : getTiers("Item_Drop_Rates")) {
+            double[] rates = getRates("Item_Drop_Rates." + tier, rarities);
+
+            // Without luck, with some, and with enough of it for every roll to land on the first rarity
+            for (int luck : new int[] {0, 1, 3, luckLevels / 2, luckLevels - 1}) {
+                double range = 100 * (1.0 - luck * lureModifier / 100);
+                AliasTable<Rarity> table = TreasureConfig.buildFishingRarityTable(rates, luck, lureModifier);
+
+                assertDistribution(tier + " luck " + luck, table, rarities, getExpectedChances(rates, range));
+            }
+        }
+    }
+
+    @Test
+    public void enchantmentTablesMatchTheConfiguredRates() {
+        List<Rarity> rarities = new ArrayList<>(Arrays.asList(Rarity.values()));
+        rarities.remove(Rarity.RECORD);
+
+        for (String tier : getTiers("Enchantment_Drop_Rates")) {
+            double[] rates = new double[Rarity.values().length];
+
+            for (Rarity rarity : rarities) {
+                rates[rarity.ordinal()] = treasures.getDouble("Enchantment_Drop_Rates." + tier + "." + rarity.toString());
+            }
+
+            AliasTable<Rarity> table = TreasureConfig.buildEnchantmentRarityTable(rates);
+
+            assertDistribution(tier, table, rarities, getExpectedChances(getRates("Enchantment_Drop_Rates." + tier, rarities), 100));
+        }
+    }
+
+    @Test
+    public void shakeTablesMatchTheConfiguredRates() {
+        ConfigurationSection shake = treasures.getConfigurationSection("Shake");
+        assertNotNull(shake);
+
+        for (String entity : shake.getKeys(false)) {
+            ConfigurationSection drops = shake.getConfigurationSection(entity);
+            List<ShakeTreasure> treasures = new ArrayList<>();
+            double[] chances = new double[drops.getKeys(false).size()];
+
+            for (String drop : drops.getKeys(false)) {
+                chances[treasures.size()] = drops.getDouble(drop + ".Drop_Chance");
+                treasures.add(new ShakeTreasure(null, 0, chances[treasures.size()], 0));
+            }
+
+            AliasTable<ShakeTreasure> table = TreasureConfig.buildShakeTable(treasures);
+
+            assertDistribution(entity, table, treasures, getExpectedChances(chances, 100));
+        }
+    }
+
+    private List<String> getTiers(String path) {
+        ConfigurationSection section = treasures.getConfigurationSection(path);
+        assertNotNull(section);
+
+        List<String> tiers = new ArrayList<>(section.getKeys(false));
+        assertFalse(tiers.isEmpty());
+        return tiers;
+    }
+
+    private double[] getRates(String path, List<Rarity> rarities) {
+        double[] rates = new double[rarities.size()];
+
+        for (int i = 0; i < rarities.size(); i++) {
+            rates[i] = treasures.getDouble(path + "." + rarities.get(i).toString());
+        }
+
+        return rates;
+    }
+
+    /**
+     * The chance of every outcome when a roll in [0, range) is walked through the rates in order, each outcome
+     * covering the part of the roll its rate spans
+     */
+    private static double[] getExpectedChances(double[] rates, double range) {
+        double[] chances = new double[rates.length];
+
+        if (range <= 0) {
+            chances[0] = 1;
+            return chances;
+        }
+
+        double covered = 0;
+
+        for (int i = 0; i < rates.length; i++) {
+            double end = Math.min(covered + rates[i], range);
+            chances[i] = Math.max(end - Math.min(covered, range), 0) / range;
+            covered += rates[i];
+        }
+
+        return chances;
+    }
+
+    private <T> void assertDistribution(String name, AliasTable<T> table, List<T> outcomes, double[] expected) {
+        int[] counts = new int[outcomes.size()];
+        int misses = 0;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            T outcome = table.sample(random);
+
+            if (outcome == null) {
+                misses++;
+            }
+            else {
+                // Compared by identity, distinct treasures may well be equal
+                int index = -1;
+
+                for (int j = 0; j < outcomes.size() && index == -1; j++) {
+                    if (outcomes.get(j) == outcome) {
+                        index = j;
+                    }
+                }
+
+                counts[index]++;
+            }
+        }
+
+        double expectedMisses = 1;
+
+        for (int i = 0; i < outcomes.size(); i++) {
+            assertFrequency(name + " " + outcomes.get(i), expected[i], counts[i]);
+            expectedMisses -= expected[i];
+        }
+
+        assertFrequency(name + " miss", Math.max(expectedMisses, 0), misses);
+    }
+
+    private static void assertFrequency(String outcome, double expected, int count) {
+        // Five standard deviations, plus a little room for the rounding of the rates
+        double tolerance = 5 * Math.sqrt(expected * (1 - expected) / SAMPLES) + 1e-4;
+
+        assertEquals(outcome, expected, (double) count / SAMPLES, tolerance);
+    }
+}
@@ -0,0 +1,298 @@
+package com.gmail.nossr50.skills.woodcutting;
+
+import com.gmail.nossr50.util.blockmeta.chunkmeta.ChunkManager;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Searches synthetic trees, built in a world backed by a map of positions, and times the searches.
+ */
+public class TreeFellerSearchTest {
+    private static final int THRESHOLD = 1000; // Default of Abilities.Limits.Tree_Feller_Threshold
+    private static final int TIMED_SEARCHES = 200;
+
+    /**
+     * The x/z offsets searched around a log, the same cylinder as the search itself uses
+     */
+    private static final int[][] RING = {
+            {-2, -1}, {-2, 0}, {-2, 1},
+            {-1, -2}, {-1, -1}, {-1, 0}, {-1, 1}, {-1, 2},
+            {0, -2}, {0, -1}, {0, 1}, {0, 2},
+            {1, -2}, {1, -1}, {1, 0}, {1, 1}, {1, 2},
+            {2, -1}, {2, 0}, {2, 1},
+    };
+
+    @Test
+    public void findsEveryBlockOfASmallTree() {
+        SyntheticWorld world = new SyntheticWorld();
+        Set<Long> tree = world.tree(new int[][] {{0, 0}}, 64, 6, Material.OAK_LOG, Material.OAK_LEAVES);
+
+        // Neither a log placed by a player next to the trunk nor a tree further away are part of it
+        world.set(1, 65, 0, Material.OAK_LOG);
+        world.placed.add(TreeFellerSearch.pack(1, 65, 0));
+        world.tree(new int[][] {{20, 20}}, 64, 6, Material.OAK_LOG, Material.OAK_LEAVES);
+
+        TreeFellerSearch search = world.search();
+
+        assertTrue(search.search(world.getBlockAt(0, 64, 0)));
+
+        // The block being broken is only part of the result when the search comes back to it from another log
+        tree.remove(TreeFellerSearch.pack(0, 64, 0));
+        assertEquals(5, search.getLogCount());
+        assertEquals(tree, positionsOf(search));
+    }
+
+    @Test
+    public void findsEveryBlockOfAJungleTree() {
+        SyntheticWorld world = new SyntheticWorld();
+        int[][] trunk = {{0, 0}, {1, 0}, {0, 1}, {1, 1}};
+        Set<Long> tree = world.tree(trunk, 64, 24, Material.JUNGLE_LOG, Material.JUNGLE_LEAVES);
+
+        // A branch sticking out of the trunk, with a leaf at its end
+        for (int x = 2; x <= 5; x++) {
+            world.set(x, 75, 0, Material.JUNGLE_LOG);
+            tree.add(TreeFellerSearch.pack(x, 75, 0));
+        }
+
+        world.set(6, 76, 0, Material.JUNGLE_LEAVES);
+        tree.add(TreeFellerSearch.pack(6, 76, 0));
+
+        TreeFellerSearch search = world.search();
+
+        assertTrue(search.search(world.getBlockAt(0, 64, 0)));
+        assertEquals(4 * 24 + 4, search.getLogCount());
+        assertEquals(tree, positionsOf(search));
+    }
+
+    @Test
+    public void stopsPastTheThreshold() {
+        SyntheticWorld world = new SyntheticWorld();
+        world.tree(new int[][] {{0, 0}, {1, 0}, {0, 1}, {1, 1}}, 0, 300, Material.JUNGLE_LOG, Material.JUNGLE_LEAVES);
+
+        TreeFellerSearch search = world.search();
+
+        assertFalse(search.search(world.getBlockAt(0, 0, 0)));
+        // The search gives up right after going past the threshold instead of looking at the whole tree
+        assertTrue(search.getBlocks().size() <= THRESHOLD + RING.length);
+    }
+
+    @Test
+    public void timesSearches() {
+        SyntheticWorld oak = new SyntheticWorld();
+        oak.tree(new int[][] {{0, 0}}, 64, 6, Material.OAK_LOG, Material.OAK_LEAVES);
+
+        SyntheticWorld jungle = new SyntheticWorld();
+        jungle.tree(new int[][] {{0, 0}, {1, 0}, {0, 1}, {1, 1}}, 64, 30, Material.JUNGLE_LOG, Material.JUNGLE_LEAVES);
+
+        SyntheticWorld giant = new SyntheticWorld();
+        giant.tree(new int[][] {{0, 0}, {1, 0}, {0, 1}, {1, 1}}, 0, 300, Material.JUNGLE_LOG, Material.JUNGLE_LEAVES);
+
+        time("oak", oak, 64, true);
+        time("2x2 jungle", jungle, 64, true);
+        time("past the threshold", giant, 0, false);
+    }
+
+    @Test
+    public void packedPositionsRoundTrip() {
+        int[] horizontal = {0, 1, -1, 15, -16, 29999984, -29999984, (1 << 25) - 1, -(1 << 25)};
+        int[] vertical = {0, 1, -1, -64, 255, 319, 2047, -2048};
+
+        for (int x : horizontal) {
+            for (int y : vertical) {
+                for (int z : horizontal) {
+                    long position = TreeFellerSearch.pack(x, y, z);
+
+                    assertEquals(x, TreeFellerSearch.unpackX(position));
+                    assertEquals(y, TreeFellerSearch.unpackY(position));
+                    assertEquals(z, TreeFellerSearch.unpackZ(position));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void positionSetGrows() {
+        TreeFellerSearch.PositionSet set = new TreeFellerSearch.PositionSet();
+        int initialCapacity = set.capacity();
+        int count = 0;
+
+        for (int x = -12; x < 12; x++) {
+            for (int y = -8; y < 8; y++) {
+                for (int z = -12; z < 12; z++) {
+                    assertTrue(set.add(TreeFellerSearch.pack(x, y, z)));
+                    count++;
+                }
+            }
+        }
+
+        assertEquals(count, set.size());
+        assertTrue(set.capacity() > initialCapacity);
+        assertTrue(set.size() * 2 <= set.capacity());
+
+        // Every position is still found after the table was rebuilt
+        for (int x = -12; x < 12; x++) {
+            for (int y = -8; y < 8; y++) {
+                for (int z = -12; z < 12; z++) {
+                    assertFalse(set.add(TreeFellerSearch.pack(x, y, z)));
+                }
+            }
+        }
+
+        assertEquals(count, set.size());
+    }
+
+    private static void time(String name, SyntheticWorld world, int y, boolean expected) {
+        // Warm up before measuring
+        for (int i = 0; i < TIMED_SEARCHES; i++) {
+            world.search().search(world.getBlockAt(0, y, 0));
+        }
+
+        long start = System.nanoTime();
+        int blocks = 0;
+
+        for (int i = 0; i < TIMED_SEARCHES; i++) {
+            TreeFellerSearch search = world.search();
+
+            assertEquals(expected, search.search(world.getBlockAt(0, y, 0)));
+            blocks = search.getBlocks().size();
+        }
+
+        long micros = (System.nanoTime() - start) / 1000 / TIMED_SEARCHES;
+        System.out.println("Tree Feller search, " + name + ": " + blocks + " blocks in " + micros + "us");
+    }
+
+    private static Set<Long> positionsOf(TreeFellerSearch search) {
+        Set<Long> positions = new HashSet<>();
+
+        for (Block block : search.getBlocks()) {
+            assertTrue("Block found twice", positions.add(TreeFellerSearch.pack(block.getX(), block.getY(), block.getZ())));
+        }
+
+        return positions;
+    }
+
+    /**
+     * World made of the blocks that were set, everything else being air
+     */
+    private static final class SyntheticWorld {
+        private final Map<Long, Material> blocks = new HashMap<>();
+        private final Set<Long> placed = new HashSet<>();
+        private final World world = (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[] {World.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getBlockAt":
+                    return getBlockAt((int) args[0], (int) args[1], (int) args[2]);
+
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+
+                case "equals":
+                    return proxy == args[0];
+
+                case "toString":
+                    return "SyntheticWorld";
+
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        private final ChunkManager placeStore = (ChunkManager) Proxy.newProxyInstance(ChunkManager.class.getClassLoader(), new Class<?>[] {ChunkManager.class}, (proxy, method, args) -> {
+            if (method.getName().equals("isTrue") && args.length == 4) {
+                return placed.contains(TreeFellerSearch.pack((int) args[0], (int) args[1], (int) args[2]));
+            }
+
+            throw new UnsupportedOperationException(method.getName());
+        });
+
+        private void set(int x, int y, int z, Material material) {
+            blocks.put(TreeFellerSearch.pack(x, y, z), material);
+        }
+
+        /**
+         * Builds a tree with a trunk made of the given columns and leaves around its top
+         *
+         * @return the positions of the blocks of the tree
+         */
+        private Set<Long> tree(int[][] trunk, int baseY, int height, Material log, Material leaves) {
+            Set<Long> tree = new HashSet<>();
+            int topY = baseY + height - 1;
+
+            for (int[] column : trunk) {
+                for (int y = baseY; y <= topY; y++) {
+                    set(column[0], y, column[1], log);
+                    tree.add(TreeFellerSearch.pack(column[0], y, column[1]));
+                }
+            }
+
+            for (int[] column : trunk) {
+                for (int y = topY - 2; y <= topY + 1; y++) {
+                    for (int[] offset : RING) {
+                        long position = TreeFellerSearch.pack(column[0] + offset[0], y, column[1] + offset[1]);
+
+                        if (!blocks.containsKey(position)) {
+                            blocks.put(position, leaves);
+                            tree.add(position);
+                        }
+                    }
+                }
+
+                if (!blocks.containsKey(TreeFellerSearch.pack(column[0], topY + 1, column[1]))) {
+                    set(column[0], topY + 1, column[1], leaves);
+                    tree.add(TreeFellerSearch.pack(column[0], topY + 1, column[1]));
+                }
+            }
+
+            return tree;
+        }
+
+        private TreeFellerSearch search() {
+            return new TreeFellerSearch(world, THRESHOLD, placeStore,
+                    block -> block.getType().name().endsWith("_LOG"),
+                    material -> material.name().endsWith("_LEAVES"));
+        }
+
+        private Block getBlockAt(int x, int y, int z) {
+            Material material = blocks.getOrDefault(TreeFellerSearch.pack(x, y, z), Material.AIR);
+
+            return (Block) Proxy.newProxyInstance(Block.class.getClassLoader(), new Class<?>[] {Block.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getX":
+                        return x;
+
+                    case "getY":
+                        return y;
+
+                    case "getZ":
+                        return z;
+
+                    case "getType":
+                        return material;
+
+                    case "getWorld":
+                        return world;
+
+                    case "hashCode":
+                        return Long.hashCode(TreeFellerSearch.pack(x, y, z));
+
+                    case "equals":
+                        return proxy == args[0];
+
+                    case "toString":
+                        return material + " at " + x + ", " + y + ", " + z;
+
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        }
+    }
+}
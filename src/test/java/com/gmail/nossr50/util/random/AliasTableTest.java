@@ -0,0 +1,103 @@
+package com.gmail.nossr50.util.random;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Samples alias tables with a fixed seed and compares how often every outcome comes up to its chance.
+ */
+public class AliasTableTest {
+    private static final int SAMPLES = 1000000;
+
+    @Test
+    public void missesWhatTheWeightsDontCover() {
+        List<String> outcomes = Arrays.asList("a", "b", "c");
+        AliasTable<String> table = new AliasTable<>(outcomes, new double[] {10, 25, 0.5}, 100);
+
+        assertDistribution(table, outcomes, new double[] {0.10, 0.25, 0.005}, new Random(1));
+    }
+
+    @Test
+    public void cutsOffWeightsPastTheTotal() {
+        List<String> outcomes = Arrays.asList("a", "b", "c", "d");
+        // Like walking the outcomes and subtracting their chances from the roll, c only keeps what a and b left over
+        AliasTable<String> table = new AliasTable<>(outcomes, new double[] {30, 50, 40, 10}, 100);
+
+        assertDistribution(table, outcomes, new double[] {0.30, 0.50, 0.20, 0}, new Random(2));
+    }
+
+    @Test
+    public void handlesManyOutcomes() {
+        List<Integer> outcomes = Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        double[] weights = new double[outcomes.size()];
+        double[] expected = new double[outcomes.size()];
+
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = i + 1;
+            expected[i] = (i + 1) / 60.0;
+        }
+
+        assertDistribution(new AliasTable<>(outcomes, weights, 60), outcomes, expected, new Random(3));
+    }
+
+    @Test
+    public void alwaysMissesWithoutATotal() {
+        AliasTable<String> table = new AliasTable<>(Collections.singletonList("a"), new double[] {50}, 0);
+        Random random = new Random(4);
+
+        for (int i = 0; i < 1000; i++) {
+            assertNull(table.sample(random));
+        }
+    }
+
+    @Test
+    public void alwaysHitsAFullWeight() {
+        AliasTable<String> table = new AliasTable<>(Collections.singletonList("a"), new double[] {100}, 100);
+        Random random = new Random(5);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("a", table.sample(random));
+        }
+    }
+
+    /**
+     * Checks that every outcome comes up at its expected frequency, and a miss at whatever frequency is left
+     */
+    static <T> void assertDistribution(AliasTable<T> table, List<T> outcomes, double[] expected, Random random) {
+        int[] counts = new int[outcomes.size()];
+        int misses = 0;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            T outcome = table.sample(random);
+
+            if (outcome == null) {
+                misses++;
+            }
+            else {
+                counts[outcomes.indexOf(outcome)]++;
+            }
+        }
+
+        double expectedMisses = 1;
+
+        for (int i = 0; i < outcomes.size(); i++) {
+            assertFrequency(String.valueOf(outcomes.get(i)), expected[i], counts[i]);
+            expectedMisses -= expected[i];
+        }
+
+        assertFrequency("miss", Math.max(expectedMisses, 0), misses);
+    }
+
+    private static void assertFrequency(String outcome, double expected, int count) {
+        // Five standard deviations, plus a little room for the rounding of the weights
+        double tolerance = 5 * Math.sqrt(expected * (1 - expected) / SAMPLES) + 1e-4;
+
+        assertEquals(outcome, expected, (double) count / SAMPLES, tolerance);
+    }
+}